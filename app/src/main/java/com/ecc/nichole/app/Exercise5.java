@@ -1,10 +1,12 @@
 package com.ecc.nichole.app;
 
 import com.ecc.nichole.model.Board;
+import com.ecc.nichole.model.SortOrder;
 import com.ecc.nichole.service.BoardService;
 import com.ecc.nichole.service.CellService;
 import com.ecc.nichole.service.RowService;
 import com.ecc.nichole.service.FileService;
+import com.ecc.nichole.service.PagedBoard;
 import com.ecc.nichole.util.Utils;
 
 /**
@@ -12,12 +14,24 @@ import com.ecc.nichole.util.Utils;
  */
 public class Exercise5 {
 
-    private static final int MAX_CHOICES = 7; // Maximum menu choices
+    private static final int MAX_CHOICES = 8; // Maximum menu choices
+    private static final String KEEP_SORTED_OPTION = "--keep-sorted";
+    private static final String JOURNAL_OPTION = "--journal";
+    private static final String WRITE_BEHIND_OPTION = "--write-behind";
+    private static final String PAGED_OPTION = "--paged";
+    private static final String DELTA_SAVE_OPTION = "--delta-save";
+    private static final String SEED_OPTION = "--seed=";
 
     /**
      * Main method for starting the application.
      * 
-     * @param args Command-line arguments.
+     * @param args Command-line arguments: the board file name, optionally followed by
+     *             --keep-sorted or --keep-sorted=descending to keep the board sorted,
+     *             --journal to append changes to a journal instead of rewriting the file,
+     *             --write-behind to save in the background, --paged to open the board
+     *             without loading every row, --delta-save to write only changed rows, and
+     *             --seed=N to generate new boards and rows from the seed N. Without a
+     *             seed the current time is used and printed, so a session can be repeated.
      */
     public static void main(final String[] args) {
         FileService fileService = new FileService();
@@ -26,18 +40,53 @@ public class Exercise5 {
         BoardService boardService = new BoardService(cellService, rowService, fileService);
 
         String fileName = args.length > 0 ? args[0] : "file.txt";
+        long seed = System.currentTimeMillis();
+        boolean seeded = false;
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].equals(KEEP_SORTED_OPTION) || args[i].equals(KEEP_SORTED_OPTION + "=ascending")) {
+                boardService.setKeepSorted(SortOrder.ASCENDING);
+            } else if (args[i].equals(KEEP_SORTED_OPTION + "=descending")) {
+                boardService.setKeepSorted(SortOrder.DESCENDING);
+            } else if (args[i].equals(JOURNAL_OPTION)) {
+                fileService.setJournaling(true);
+            } else if (args[i].equals(WRITE_BEHIND_OPTION)) {
+                fileService.setWriteBehind(true);
+            } else if (args[i].equals(PAGED_OPTION)) {
+                fileService.setPagedLoading(true);
+            } else if (args[i].equals(DELTA_SAVE_OPTION)) {
+                fileService.setDeltaSaving(true);
+            } else if (args[i].startsWith(SEED_OPTION)) {
+                try {
+                    seed = Long.parseLong(args[i].substring(SEED_OPTION.length()));
+                    seeded = true;
+                } catch (NumberFormatException e) {
+                    System.out.println("Ignoring invalid seed: " + args[i]);
+                }
+            } else {
+                System.out.println("Ignoring unknown option: " + args[i]);
+            }
+        }
 
-        Board board = fileService.loadBoardFromTextFile(fileName);
+        if (!seeded) {
+            System.out.println("Using seed " + seed + "; run with " + SEED_OPTION + seed + " to repeat it.");
+        }
+        boardService.setSeed(seed);
+
+        Board board = boardService.loadBoard(fileName);
 
         if (board == null) {
             System.out.println("Creating a new board.");
             int rows = Utils.getIntegerInput("Rows: ");
             int columns = Utils.getIntegerInput("Columns: ");
-            board = boardService.createBoard(rowService, rows, columns);
+            board = boardService.createBoard(seed, rows, columns);
             fileService.saveBoardToTextFile(board, fileName);
         }
 
-        boardService.print(board);
+        if (board instanceof PagedBoard) {
+            System.out.println("Opened " + board.getRowCount() + " rows without loading them. Choose Print to show the board.");
+        } else {
+            boardService.print(board);
+        }
 
         boolean exit = false;
 
@@ -51,7 +100,8 @@ public class Exercise5 {
             System.out.println("4. Sort      - Sorts the board");
             System.out.println("5. Print     - Print item details");
             System.out.println("6. Reset     - Reset the system");
-            System.out.println("7. Exit      - Exit the application");
+            System.out.println("7. Batch     - Search for several items at once");
+            System.out.println("8. Exit      - Exit the application");
             System.out.println("****************************************");
 
             int choice = Utils.getIntegerInput("Please enter your choice (1-" + MAX_CHOICES + "): ");
@@ -63,7 +113,8 @@ public class Exercise5 {
                 case 4 -> boardService.sort(board, fileName);
                 case 5 -> boardService.print(board);
                 case 6 -> board = boardService.reset(fileName);
-                case 7 -> exit = Utils.terminate();
+                case 7 -> boardService.batchSearch(board);
+                case 8 -> exit = Utils.terminate();
                 default -> System.out.println("Invalid choice. Please try again.");
             }
         }
@@ -1,6 +1,7 @@
 package com.ecc.nichole.model;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.List;
 
@@ -9,6 +10,11 @@ import java.util.List;
  */
 public class Board {
     private List<Row> rows;
+    private volatile long version;
+    private SortOrder sortOrder;
+    private final BitSet dirtyRows = new BitSet();
+    private boolean allRowsDirty = true;
+    private long cleanVersion = -1;
 
     /**
      * Returns a list of rows in the board.
@@ -20,12 +26,139 @@ public class Board {
     }
 
     /**
-     * Sets the list of rows for the board.
+     * Sets the list of rows for the board. Passing the board's own row list keeps it as it is
+     * instead of copying it.
      *
      * @param rows the new list of rows
      */
     public void setRows(List<Row> rows) {
-        this.rows = new ArrayList<>(rows);
+        if (rows != this.rows) {
+            this.rows = newRowList(rows);
+        }
+        sortOrder = null;
+        markModified();
+    }
+
+    /**
+     * Creates the list that holds the board's rows, filled with the given rows. Subclasses can
+     * override this to store rows in a different list implementation.
+     *
+     * @param rows the initial rows
+     * @return a new modifiable list of rows
+     */
+    protected List<Row> newRowList(List<Row> rows) {
+        return new ArrayList<>(rows);
+    }
+
+    /**
+     * Returns the order the board is known to be sorted in. Replacing the rows clears it.
+     *
+     * @return the sort order, or null if the board is not known to be sorted
+     */
+    public SortOrder getSortOrder() {
+        return sortOrder;
+    }
+
+    /**
+     * Records the order the board is sorted in.
+     *
+     * @param sortOrder the sort order, or null if the board is no longer sorted
+     */
+    public void setSortOrder(SortOrder sortOrder) {
+        this.sortOrder = sortOrder;
+    }
+
+    /**
+     * Returns the modification counter of the board. It changes whenever the rows are replaced or
+     * the board is marked as modified, so results derived from the board can be tied to a version.
+     * The board is modified by one thread, but its version may be read from any thread.
+     *
+     * @return the current version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Marks the board as modified by advancing its version. As the change is not tied to any
+     * row, every row counts as dirty until the dirty rows are cleared.
+     */
+    public void markModified() {
+        allRowsDirty = true;
+        version++;
+    }
+
+    /**
+     * Marks one row as dirty and advances the board's version.
+     *
+     * @param rowIndex the index of the changed row
+     */
+    public void markRowDirty(int rowIndex) {
+        markRowsDirty(rowIndex, rowIndex + 1);
+    }
+
+    /**
+     * Marks a range of rows as dirty and advances the board's version. A row inserted or removed
+     * at an index moves every row after it, so the range should then run to the end of the board.
+     *
+     * @param fromRow the first changed row, inclusive
+     * @param toRow   the last changed row, exclusive
+     */
+    public void markRowsDirty(int fromRow, int toRow) {
+        if (fromRow < 0 || fromRow > toRow) {
+            throw new IndexOutOfBoundsException("Rows: " + fromRow + "-" + toRow);
+        }
+        dirtyRows.set(fromRow, toRow);
+        version++;
+    }
+
+    /**
+     * Returns whether any row changed since the dirty rows were last cleared. A new board, and
+     * a board whose rows were replaced, counts as changed.
+     *
+     * @return true if there are dirty rows
+     */
+    public boolean hasDirtyRows() {
+        return allRowsDirty || !dirtyRows.isEmpty();
+    }
+
+    /**
+     * Returns whether the board changed in a way not tied to single rows, so every row must be
+     * treated as dirty.
+     *
+     * @return true if every row is dirty
+     */
+    public boolean areAllRowsDirty() {
+        return allRowsDirty;
+    }
+
+    /**
+     * Returns the rows marked dirty since the dirty rows were last cleared. Indexes may lie past
+     * the last row if rows were removed since.
+     *
+     * @return a copy of the set of dirty row indexes
+     */
+    public BitSet getDirtyRows() {
+        return (BitSet) dirtyRows.clone();
+    }
+
+    /**
+     * Clears the dirty rows, typically once the board was saved, and records the current
+     * version as the clean version.
+     */
+    public void clearDirtyRows() {
+        dirtyRows.clear();
+        allRowsDirty = false;
+        cleanVersion = version;
+    }
+
+    /**
+     * Returns the version of the board when the dirty rows were last cleared.
+     *
+     * @return the clean version, or -1 if the dirty rows were never cleared
+     */
+    public long getCleanVersion() {
+        return cleanVersion;
     }
 
     /**
@@ -0,0 +1,55 @@
+package com.ecc.nichole.model;
+
+/**
+ * Flat byte storage used by {@link PackedBoard} to hold fixed-width cell data.
+ */
+abstract class CellStorage implements AutoCloseable {
+
+    /**
+     * Returns the byte at the given position.
+     */
+    abstract byte get(long position);
+
+    /**
+     * Stores a byte at the given position.
+     */
+    abstract void put(long position, byte value);
+
+    /**
+     * Copies bytes from this storage into an array.
+     */
+    abstract void read(long position, byte[] target, int offset, int length);
+
+    /**
+     * Copies bytes within this storage. Overlapping ranges are handled like {@code System.arraycopy}.
+     */
+    abstract void move(long from, long to, long length);
+
+    /**
+     * Copies bytes from this storage into another storage of the same kind.
+     */
+    abstract void copyTo(long from, CellStorage target, long to, long length);
+
+    /**
+     * Returns the number of bytes this storage can hold.
+     */
+    abstract long capacity();
+
+    /**
+     * Returns a storage of the given capacity holding the content of this one. This storage must
+     * not be used afterwards.
+     */
+    abstract CellStorage resize(long capacity);
+
+    /**
+     * Returns a new, empty storage of the same kind.
+     */
+    abstract CellStorage allocate(long capacity);
+
+    /**
+     * Releases the memory held by this storage.
+     */
+    @Override
+    public void close() {
+    }
+}
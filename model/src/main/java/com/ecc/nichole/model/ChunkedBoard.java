@@ -0,0 +1,33 @@
+package com.ecc.nichole.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Board whose rows are kept in a {@link ChunkedList}, so inserting or removing a row anywhere in
+ * a large board costs amortized O(log n) instead of shifting every following row. Boards that are
+ * created or loaded from text and compressed files are chunked boards.
+ */
+public class ChunkedBoard extends Board {
+
+    /**
+     * Creates an empty chunked board.
+     */
+    public ChunkedBoard() {
+        setRows(new ArrayList<>());
+    }
+
+    /**
+     * Creates a chunked board holding the given rows.
+     *
+     * @param rows the rows of the board
+     */
+    public ChunkedBoard(List<Row> rows) {
+        setRows(rows);
+    }
+
+    @Override
+    protected List<Row> newRowList(List<Row> rows) {
+        return new ChunkedList<>(rows);
+    }
+}
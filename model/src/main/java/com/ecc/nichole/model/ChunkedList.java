@@ -0,0 +1,248 @@
+package com.ecc.nichole.model;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * List stored as a sequence of small chunks, with a Fenwick tree over the chunk sizes to find the
+ * chunk holding a position. Positional access costs O(log n). Insertion and removal cost
+ * amortized O(log n) plus a shift within one chunk: a chunk that splits or merges rebuilds the
+ * tree in O(number of chunks), and a split chunk is only half full, so that cost is spread over
+ * the many insertions and removals between splits and merges. Inserting at the head of a large
+ * list is about as cheap as appending.
+ *
+ * @param <E> the type of the elements
+ */
+public class ChunkedList<E> extends AbstractList<E> {
+    private static final int MAXIMUM_CHUNK_SIZE = 1024;
+    private static final int INITIAL_CHUNK_SIZE = MAXIMUM_CHUNK_SIZE / 2;
+
+    private final List<ArrayList<E>> chunks = new ArrayList<>();
+    private int[] tree = new int[1];
+    private int size;
+
+    /**
+     * Creates an empty list.
+     */
+    public ChunkedList() {
+    }
+
+    /**
+     * Creates a list holding the elements of the given collection, in iteration order.
+     *
+     * @param elements the elements to copy
+     */
+    public ChunkedList(Collection<? extends E> elements) {
+        ArrayList<E> chunk = new ArrayList<>(INITIAL_CHUNK_SIZE);
+        for (E element : elements) {
+            if (chunk.size() == INITIAL_CHUNK_SIZE) {
+                chunks.add(chunk);
+                chunk = new ArrayList<>(INITIAL_CHUNK_SIZE);
+            }
+            chunk.add(element);
+        }
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+        size = elements.size();
+        rebuildTree();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public E get(int index) {
+        checkIndex(index, size);
+        long location = locate(index);
+        return chunks.get((int) (location >>> 32)).get((int) location);
+    }
+
+    @Override
+    public E set(int index, E element) {
+        checkIndex(index, size);
+        long location = locate(index);
+        return chunks.get((int) (location >>> 32)).set((int) location, element);
+    }
+
+    @Override
+    public void add(int index, E element) {
+        checkIndex(index, size + 1);
+        int chunkIndex;
+        int offset;
+        if (index == size) {
+            if (chunks.isEmpty() || chunks.get(chunks.size() - 1).size() >= MAXIMUM_CHUNK_SIZE) {
+                chunks.add(new ArrayList<>(INITIAL_CHUNK_SIZE));
+                rebuildTree();
+            }
+            chunkIndex = chunks.size() - 1;
+            offset = chunks.get(chunkIndex).size();
+        } else {
+            long location = locate(index);
+            chunkIndex = (int) (location >>> 32);
+            offset = (int) location;
+        }
+
+        ArrayList<E> chunk = chunks.get(chunkIndex);
+        chunk.add(offset, element);
+        size++;
+        modCount++;
+        if (chunk.size() > MAXIMUM_CHUNK_SIZE) {
+            List<E> tail = chunk.subList(chunk.size() / 2, chunk.size());
+            chunks.add(chunkIndex + 1, new ArrayList<>(tail));
+            tail.clear();
+            rebuildTree();
+        } else {
+            updateTree(chunkIndex, 1);
+        }
+    }
+
+    @Override
+    public E remove(int index) {
+        checkIndex(index, size);
+        long location = locate(index);
+        int chunkIndex = (int) (location >>> 32);
+        ArrayList<E> chunk = chunks.get(chunkIndex);
+        E removed = chunk.remove((int) location);
+        size--;
+        modCount++;
+        if (chunk.isEmpty()) {
+            chunks.remove(chunkIndex);
+            rebuildTree();
+        } else if (chunkIndex + 1 < chunks.size() && chunk.size() + chunks.get(chunkIndex + 1).size() <= INITIAL_CHUNK_SIZE) {
+            chunk.addAll(chunks.remove(chunkIndex + 1));
+            rebuildTree();
+        } else {
+            updateTree(chunkIndex, -1);
+        }
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        chunks.clear();
+        size = 0;
+        modCount++;
+        rebuildTree();
+    }
+
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        int expectedModCount = modCount;
+        for (ArrayList<E> chunk : chunks) {
+            chunk.forEach(action);
+        }
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new ChunkIterator();
+    }
+
+    /**
+     * Returns the chunk holding a position in the upper 32 bits and the offset within that chunk
+     * in the lower 32 bits.
+     */
+    private long locate(int index) {
+        int chunkIndex = 0;
+        int remaining = index;
+        for (int step = Integer.highestOneBit(chunks.size()); step > 0; step >>= 1) {
+            int next = chunkIndex + step;
+            if (next <= chunks.size() && tree[next] <= remaining) {
+                chunkIndex = next;
+                remaining -= tree[next];
+            }
+        }
+        return ((long) chunkIndex << 32) | remaining;
+    }
+
+    private void updateTree(int chunkIndex, int delta) {
+        for (int i = chunkIndex + 1; i <= chunks.size(); i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    private void rebuildTree() {
+        int chunkCount = chunks.size();
+        if (tree.length < chunkCount + 1 || tree.length > 4 * (chunkCount + 1)) {
+            tree = new int[2 * chunkCount + 1];
+        }
+        for (int i = 1; i <= chunkCount; i++) {
+            tree[i] = chunks.get(i - 1).size();
+        }
+        for (int i = 1; i <= chunkCount; i++) {
+            int parent = i + (i & -i);
+            if (parent <= chunkCount) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+
+    private static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    /**
+     * Iterator walking the chunks directly instead of locating every position.
+     */
+    private class ChunkIterator implements Iterator<E> {
+        private int cursor;
+        private int chunkIndex;
+        private int offset;
+        private int lastReturned = -1;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size;
+        }
+
+        @Override
+        public E next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (cursor >= size) {
+                throw new NoSuchElementException();
+            }
+            while (offset >= chunks.get(chunkIndex).size()) {
+                chunkIndex++;
+                offset = 0;
+            }
+            lastReturned = cursor++;
+            return chunks.get(chunkIndex).get(offset++);
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned < 0) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            ChunkedList.this.remove(lastReturned);
+            cursor = lastReturned;
+            lastReturned = -1;
+            expectedModCount = modCount;
+            if (cursor < size) {
+                long location = locate(cursor);
+                chunkIndex = (int) (location >>> 32);
+                offset = (int) location;
+            }
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.ecc.nichole.model;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+
+/**
+ * Cell storage backed by direct (off-heap) byte buffers. Capacity is split into chunks so the
+ * storage is not limited to the 2 GB addressable by a single buffer.
+ */
+class DirectCellStorage extends CellStorage {
+    static final int DEFAULT_CHUNK_SHIFT = 30;
+    private static final Method INVOKE_CLEANER;
+    private static final Object UNSAFE;
+
+    static {
+        Method invokeCleaner = null;
+        Object unsafe = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafe = field.get(null);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Memory is then released when the buffers are garbage collected.
+        }
+        INVOKE_CLEANER = invokeCleaner;
+        UNSAFE = unsafe;
+    }
+
+    private final long capacity;
+    private final int chunkShift;
+    private final int chunkSize;
+    private final int chunkMask;
+    private ByteBuffer[] chunks;
+
+    DirectCellStorage(long capacity) {
+        this(capacity, DEFAULT_CHUNK_SHIFT);
+    }
+
+    DirectCellStorage(long capacity, int chunkShift) {
+        this.capacity = capacity;
+        this.chunkShift = chunkShift;
+        this.chunkSize = 1 << chunkShift;
+        this.chunkMask = chunkSize - 1;
+        int chunkCount = (int) ((capacity + chunkSize - 1) >>> chunkShift);
+        this.chunks = new ByteBuffer[chunkCount];
+        for (int i = 0; i < chunkCount; i++) {
+            long remaining = capacity - ((long) i << chunkShift);
+            chunks[i] = ByteBuffer.allocateDirect((int) Math.min(chunkSize, remaining));
+        }
+    }
+
+    /**
+     * Creates a storage over existing buffers, each holding {@code 1 << chunkShift} bytes except
+     * possibly the last.
+     */
+    DirectCellStorage(ByteBuffer[] chunks, long capacity, int chunkShift) {
+        this.capacity = capacity;
+        this.chunkShift = chunkShift;
+        this.chunkSize = 1 << chunkShift;
+        this.chunkMask = chunkSize - 1;
+        this.chunks = chunks;
+    }
+
+    @Override
+    byte get(long position) {
+        return chunks()[(int) (position >>> chunkShift)].get((int) (position & chunkMask));
+    }
+
+    @Override
+    void put(long position, byte value) {
+        chunks()[(int) (position >>> chunkShift)].put((int) (position & chunkMask), value);
+    }
+
+    @Override
+    void read(long position, byte[] target, int offset, int length) {
+        int copied = 0;
+        while (copied < length) {
+            long current = position + copied;
+            int span = (int) Math.min(length - copied, spanAfter(current));
+            chunks()[(int) (current >>> chunkShift)].get((int) (current & chunkMask), target, offset + copied, span);
+            copied += span;
+        }
+    }
+
+    @Override
+    void move(long from, long to, long length) {
+        if (to > from && to < from + length) {
+            long remaining = length;
+            while (remaining > 0) {
+                long sourceEnd = from + remaining;
+                long targetEnd = to + remaining;
+                int span = (int) Math.min(remaining, Math.min(spanBefore(sourceEnd), spanBefore(targetEnd)));
+                copySpan(this, sourceEnd - span, this, targetEnd - span, span);
+                remaining -= span;
+            }
+        } else {
+            copyTo(from, this, to, length);
+        }
+    }
+
+    @Override
+    void copyTo(long from, CellStorage target, long to, long length) {
+        DirectCellStorage direct = (DirectCellStorage) target;
+        long copied = 0;
+        while (copied < length) {
+            int span = (int) Math.min(length - copied, Math.min(spanAfter(from + copied), direct.spanAfter(to + copied)));
+            copySpan(this, from + copied, direct, to + copied, span);
+            copied += span;
+        }
+    }
+
+    @Override
+    long capacity() {
+        return capacity;
+    }
+
+    @Override
+    CellStorage resize(long newCapacity) {
+        DirectCellStorage resized = new DirectCellStorage(newCapacity, chunkShift);
+        copyTo(0, resized, 0, Math.min(capacity, newCapacity));
+        close();
+        return resized;
+    }
+
+    @Override
+    CellStorage allocate(long newCapacity) {
+        return new DirectCellStorage(newCapacity, chunkShift);
+    }
+
+    /**
+     * Frees the off-heap memory immediately when the JDK allows it, otherwise leaves it to the
+     * buffers' cleaners. Any further access fails with an {@link IllegalStateException}.
+     */
+    @Override
+    public void close() {
+        ByteBuffer[] released = chunks;
+        chunks = null;
+        if (released == null || INVOKE_CLEANER == null) {
+            return;
+        }
+        for (ByteBuffer chunk : released) {
+            try {
+                INVOKE_CLEANER.invoke(UNSAFE, chunk);
+            } catch (ReflectiveOperationException e) {
+                return;
+            }
+        }
+    }
+
+    private ByteBuffer[] chunks() {
+        ByteBuffer[] current = chunks;
+        if (current == null) {
+            throw new IllegalStateException("Off-heap storage has been closed");
+        }
+        return current;
+    }
+
+    private long spanAfter(long position) {
+        return chunkSize - (position & chunkMask);
+    }
+
+    private long spanBefore(long end) {
+        long offset = end & chunkMask;
+        return offset == 0 ? chunkSize : offset;
+    }
+
+    private static void copySpan(DirectCellStorage source, long from, DirectCellStorage target, long to, int length) {
+        ByteBuffer sourceChunk = source.chunks()[(int) (from >>> source.chunkShift)];
+        ByteBuffer targetChunk = target.chunks()[(int) (to >>> target.chunkShift)];
+        targetChunk.put((int) (to & target.chunkMask), sourceChunk, (int) (from & source.chunkMask), length);
+    }
+}
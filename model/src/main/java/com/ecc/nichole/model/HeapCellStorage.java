@@ -0,0 +1,67 @@
+package com.ecc.nichole.model;
+
+import java.util.Arrays;
+
+/**
+ * Cell storage backed by a single on-heap byte array.
+ */
+class HeapCellStorage extends CellStorage {
+    private static final int MAXIMUM_CAPACITY = Integer.MAX_VALUE - 8;
+
+    private final byte[] data;
+
+    HeapCellStorage(long capacity) {
+        this.data = new byte[checkCapacity(capacity)];
+    }
+
+    private HeapCellStorage(byte[] data) {
+        this.data = data;
+    }
+
+    @Override
+    byte get(long position) {
+        return data[(int) position];
+    }
+
+    @Override
+    void put(long position, byte value) {
+        data[(int) position] = value;
+    }
+
+    @Override
+    void read(long position, byte[] target, int offset, int length) {
+        System.arraycopy(data, (int) position, target, offset, length);
+    }
+
+    @Override
+    void move(long from, long to, long length) {
+        System.arraycopy(data, (int) from, data, (int) to, (int) length);
+    }
+
+    @Override
+    void copyTo(long from, CellStorage target, long to, long length) {
+        System.arraycopy(data, (int) from, ((HeapCellStorage) target).data, (int) to, (int) length);
+    }
+
+    @Override
+    long capacity() {
+        return data.length;
+    }
+
+    @Override
+    CellStorage resize(long capacity) {
+        return new HeapCellStorage(Arrays.copyOf(data, checkCapacity(capacity)));
+    }
+
+    @Override
+    CellStorage allocate(long capacity) {
+        return new HeapCellStorage(capacity);
+    }
+
+    private static int checkCapacity(long capacity) {
+        if (capacity > MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("Heap board cannot hold more than " + MAXIMUM_CAPACITY + " bytes of cell data");
+        }
+        return (int) capacity;
+    }
+}
@@ -0,0 +1,243 @@
+package com.ecc.nichole.model;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Packed board mapped from a binary board file. Opening the file maps its cells instead of
+ * parsing them, and changing a key or value writes the cell's bytes directly into the file.
+ *
+ * <p>The binary format is a 16-byte header (magic number, format version, row count and cell
+ * width), the index of the first cell of every row followed by the total cell count as 4-byte
+ * integers, and then every cell as {@link #CELL_WIDTH} bytes: the key followed by the value.
+ * Integers are big-endian. Keys and values must be exactly {@link #KEY_LENGTH} single-byte
+ * characters, as in any packed board.</p>
+ *
+ * <p>Adding, removing or moving rows or cells changes where cells live, so the board is then no
+ * longer in step with its file; {@link #isInSyncWithFile()} reports this and {@link #save()}
+ * rewrites the file and maps it again.</p>
+ */
+public class MappedBoard extends PackedBoard implements AutoCloseable {
+    public static final int MAGIC = 0x4E425244;     // "NBRD"
+    public static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path file;
+    private int mappedLayoutVersion;
+
+    private MappedBoard(Path file, CellStorage storage, int[] rowOffsets) {
+        super(storage, rowOffsets);
+        this.file = file;
+        this.mappedLayoutVersion = getLayoutVersion();
+    }
+
+    /**
+     * Maps a binary board file for reading and writing.
+     *
+     * @param fileName the binary board file
+     * @return the mapped board, which must be closed to release the file
+     * @throws IOException if the file cannot be read or is not a valid binary board file
+     */
+    public static MappedBoard open(String fileName) throws IOException {
+        Path file = Paths.get(fileName).toAbsolutePath();
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            readFully(channel, header, 0);
+            header.flip();
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not a binary board file: " + file);
+            }
+            int version = header.getInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported binary board format version " + version + ": " + file);
+            }
+            int rowCount = header.getInt();
+            int cellWidth = header.getInt();
+            if (rowCount < 0 || cellWidth != CELL_WIDTH) {
+                throw new IOException("Corrupt binary board file header: " + file);
+            }
+
+            int[] rowOffsets = new int[rowCount + 1];
+            channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES, (long) rowOffsets.length * Integer.BYTES)
+                    .asIntBuffer().get(rowOffsets);
+            long cellsPosition = cellsPosition(rowCount);
+            checkRowOffsets(rowOffsets, channel.size() - cellsPosition, file);
+
+            CellStorage storage = MappedCellStorage.map(channel, cellsPosition, (long) rowOffsets[rowCount] * CELL_WIDTH);
+            return new MappedBoard(file, storage, rowOffsets);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Writes a board to a binary board file, replacing the file once it is complete.
+     *
+     * @param board    the board to write
+     * @param fileName the binary board file
+     * @throws IOException              if the file cannot be written
+     * @throws IllegalArgumentException if a key or value is not exactly {@link #KEY_LENGTH}
+     *                                  single-byte characters
+     */
+    public static void write(Board board, String fileName) throws IOException {
+        Path file = Paths.get(fileName).toAbsolutePath();
+        Path temporaryFile = Files.createTempFile(file.getParent(), "board", ".tmp");
+        try {
+            writeTo(board, temporaryFile);
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    /**
+     * Returns whether a file starts with the binary board magic number.
+     *
+     * @param fileName the file to check
+     * @return true for a binary board file
+     * @throws IOException if the file cannot be read
+     */
+    public static boolean isBinaryBoardFile(String fileName) throws IOException {
+        Path file = Paths.get(fileName);
+        if (!Files.isRegularFile(file)) {
+            return false;
+        }
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] magic = in.readNBytes(Integer.BYTES);
+            return magic.length == Integer.BYTES && ByteBuffer.wrap(magic).getInt() == MAGIC;
+        }
+    }
+
+    /**
+     * Returns the file the board was mapped from.
+     *
+     * @return the absolute path of the file
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Returns whether every cell of the board still lives at its mapped position in the file, so
+     * that the file holds the board as it is without being saved.
+     *
+     * @return true if no rows or cells were added, removed or moved since the file was mapped
+     */
+    public boolean isInSyncWithFile() {
+        return storage() instanceof MappedCellStorage && getLayoutVersion() == mappedLayoutVersion;
+    }
+
+    /**
+     * Brings the file up to date with the board. A board in step with its file only has its
+     * changed cells written to the storage device; otherwise the file is rewritten and mapped
+     * again.
+     *
+     * @throws IOException if the file cannot be written or mapped
+     */
+    public void save() throws IOException {
+        if (isInSyncWithFile()) {
+            ((MappedCellStorage) storage()).force();
+            return;
+        }
+        write(this, file.toString());
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            replaceStorage(MappedCellStorage.map(channel, cellsPosition(getRowCount()), (long) getCellCount() * CELL_WIDTH));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        mappedLayoutVersion = getLayoutVersion();
+    }
+
+    /**
+     * Unmaps the file. The board must not be used afterwards.
+     */
+    @Override
+    public void close() {
+        closeStorage();
+    }
+
+    private static void writeTo(Board board, Path target) throws IOException {
+        List<Row> rows = board.getRows();
+        int rowCount = rows.size();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(target), BUFFER_SIZE))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(rowCount);
+            out.writeInt(CELL_WIDTH);
+            long cellIndex = 0;
+            for (Row row : rows) {
+                out.writeInt((int) cellIndex);
+                cellIndex += row.getColumnCount();
+                if (cellIndex > Integer.MAX_VALUE) {
+                    throw new IllegalStateException("Board cannot hold more than " + Integer.MAX_VALUE + " cells");
+                }
+            }
+            out.writeInt((int) cellIndex);
+
+            if (board instanceof PackedBoard packed) {
+                byte[] buffer = new byte[BUFFER_SIZE / CELL_WIDTH * CELL_WIDTH];
+                int cellsPerBuffer = buffer.length / CELL_WIDTH;
+                for (int from = 0; from < packed.getCellCount(); from += cellsPerBuffer) {
+                    int count = Math.min(cellsPerBuffer, packed.getCellCount() - from);
+                    packed.readCellBytes(from, count, buffer, 0);
+                    out.write(buffer, 0, count * CELL_WIDTH);
+                }
+            } else {
+                for (Row row : rows) {
+                    for (Cell cell : row.getCells()) {
+                        writeText(out, cell.getKey());
+                        writeText(out, cell.getValue());
+                    }
+                }
+            }
+        }
+    }
+
+    private static void writeText(DataOutputStream out, String text) throws IOException {
+        checkText(text);
+        for (int i = 0; i < text.length(); i++) {
+            out.write(text.charAt(i));
+        }
+    }
+
+    private static long cellsPosition(int rowCount) {
+        return HEADER_BYTES + (long) (rowCount + 1) * Integer.BYTES;
+    }
+
+    private static void checkRowOffsets(int[] rowOffsets, long cellBytes, Path file) throws IOException {
+        if (rowOffsets[0] != 0) {
+            throw new IOException("Corrupt binary board file row table: " + file);
+        }
+        for (int i = 1; i < rowOffsets.length; i++) {
+            if (rowOffsets[i] < rowOffsets[i - 1]) {
+                throw new IOException("Corrupt binary board file row table: " + file);
+            }
+        }
+        if ((long) rowOffsets[rowOffsets.length - 1] * CELL_WIDTH != cellBytes) {
+            throw new IOException("Binary board file size does not match its row table: " + file);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of binary board file");
+            }
+        }
+    }
+}
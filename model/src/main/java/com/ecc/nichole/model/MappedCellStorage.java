@@ -0,0 +1,71 @@
+package com.ecc.nichole.model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Cell storage backed by a memory-mapped region of a file, so writes to a cell go straight to the
+ * file. Growing or reallocating the storage produces ordinary off-heap storage that is no longer
+ * connected to the file.
+ */
+class MappedCellStorage extends DirectCellStorage {
+    private final FileChannel channel;
+    private final ByteBuffer[] mappedChunks;
+    private boolean closed;
+
+    private MappedCellStorage(FileChannel channel, ByteBuffer[] chunks, long capacity) {
+        super(chunks, capacity, DEFAULT_CHUNK_SHIFT);
+        this.channel = channel;
+        this.mappedChunks = chunks;
+    }
+
+    /**
+     * Maps a region of a file for reading and writing. The storage takes ownership of the channel
+     * and closes it together with the mapping.
+     *
+     * @param channel  the channel of the file, opened for reading and writing
+     * @param position the position of the first cell byte in the file
+     * @param capacity the number of cell bytes
+     * @return the mapped storage
+     * @throws IOException if the region cannot be mapped
+     */
+    static MappedCellStorage map(FileChannel channel, long position, long capacity) throws IOException {
+        int chunkSize = 1 << DEFAULT_CHUNK_SHIFT;
+        int chunkCount = (int) ((capacity + chunkSize - 1) >>> DEFAULT_CHUNK_SHIFT);
+        ByteBuffer[] chunks = new ByteBuffer[chunkCount];
+        for (int i = 0; i < chunkCount; i++) {
+            long offset = (long) i << DEFAULT_CHUNK_SHIFT;
+            chunks[i] = channel.map(FileChannel.MapMode.READ_WRITE, position + offset, Math.min(chunkSize, capacity - offset));
+        }
+        return new MappedCellStorage(channel, chunks, capacity);
+    }
+
+    /**
+     * Writes modified cells back to the file on the storage device.
+     */
+    void force() {
+        if (closed) {
+            throw new IllegalStateException("Mapped storage has been closed");
+        }
+        for (ByteBuffer chunk : mappedChunks) {
+            ((MappedByteBuffer) chunk).force();
+        }
+    }
+
+    /**
+     * Unmaps the file when the JDK allows it and closes its channel.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        super.close();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.ecc.nichole.model;
+
+import java.util.List;
+
+/**
+ * Packed board whose cell bytes live in off-heap memory, outside the reach of the garbage
+ * collector. Only the row offset table stays on the heap, so collection pauses no longer grow
+ * with the number of cells.
+ *
+ * <p>The off-heap memory is bounded by {@code -XX:MaxDirectMemorySize} (which defaults to the
+ * maximum heap size) rather than by {@code -Xmx}. It is released by {@link #close()}; a closed
+ * board throws {@link IllegalStateException} on any cell access.</p>
+ */
+public class OffHeapBoard extends PackedBoard implements AutoCloseable {
+
+    /**
+     * Creates an empty off-heap board.
+     */
+    public OffHeapBoard() {
+        super(new DirectCellStorage(0));
+    }
+
+    /**
+     * Creates an off-heap board holding a copy of the given rows.
+     *
+     * @param rows the rows to copy off-heap
+     */
+    public OffHeapBoard(List<Row> rows) {
+        this();
+        setRows(rows);
+    }
+
+    /**
+     * Releases the off-heap memory held by the board.
+     */
+    @Override
+    public void close() {
+        closeStorage();
+    }
+}
@@ -0,0 +1,654 @@
+package com.ecc.nichole.model;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Board implementation that stores every cell as fixed-width bytes in one flat array instead of
+ * a Row, a Cell and two Strings per cell. Rows and cells are exposed through lightweight views,
+ * so code written against {@link Board}, {@link Row} and {@link Cell} keeps working unchanged.
+ *
+ * <p>Views are positional: a row view always refers to the row currently at its index and a cell
+ * view to the cell currently at its row and column. Keys and values must be exactly
+ * {@link #KEY_LENGTH} single-byte (ISO-8859-1) characters.</p>
+ */
+public class PackedBoard extends Board {
+    public static final int KEY_LENGTH = 3;
+    public static final int VALUE_LENGTH = 3;
+    public static final int CELL_WIDTH = KEY_LENGTH + VALUE_LENGTH;
+    private static final int INITIAL_ROW_CAPACITY = 16;
+
+    private CellStorage storage;
+    private int[] rowOffsets = new int[INITIAL_ROW_CAPACITY + 1];
+    private int rowCount;
+    private int layoutVersion;
+    private final List<Row> rowView = new RowList();
+
+    /**
+     * Creates an empty packed board.
+     */
+    public PackedBoard() {
+        this(new HeapCellStorage(0));
+    }
+
+    /**
+     * Creates an empty packed board using the given storage.
+     *
+     * @param storage the storage holding the cell bytes
+     */
+    PackedBoard(CellStorage storage) {
+        this.storage = storage;
+    }
+
+    /**
+     * Creates a packed board over storage that already holds cells, laid out by the given row
+     * offsets.
+     *
+     * @param storage    the storage holding the cell bytes
+     * @param rowOffsets the index of the first cell of each row, followed by the cell count
+     */
+    PackedBoard(CellStorage storage, int[] rowOffsets) {
+        this.storage = storage;
+        this.rowCount = rowOffsets.length - 1;
+        this.rowOffsets = Arrays.copyOf(rowOffsets, Math.max(rowCount, INITIAL_ROW_CAPACITY) + 1);
+    }
+
+    /**
+     * Creates a packed board holding a copy of the given rows.
+     *
+     * @param rows the rows to pack
+     */
+    public PackedBoard(List<Row> rows) {
+        this();
+        setRows(rows);
+    }
+
+    /**
+     * Returns a live view of the rows in the board.
+     *
+     * @return the list of rows
+     */
+    @Override
+    public List<Row> getRows() {
+        return rowView;
+    }
+
+    /**
+     * Replaces the content of the board with a packed copy of the given rows.
+     *
+     * @param rows the new list of rows
+     */
+    @Override
+    public void setRows(List<Row> rows) {
+        if (rows == rowView) {
+            return;
+        }
+        List<Row> source = new ArrayList<>(rows.size());
+        int cellCount = 0;
+        for (Row row : rows) {
+            source.add(row);
+            cellCount += row.getColumnCount();
+        }
+
+        CellStorage newStorage = storage.allocate((long) cellCount * CELL_WIDTH);
+        int[] newOffsets = new int[Math.max(source.size(), INITIAL_ROW_CAPACITY) + 1];
+        int cellIndex = 0;
+        try {
+            for (int rowIndex = 0; rowIndex < source.size(); rowIndex++) {
+                newOffsets[rowIndex] = cellIndex;
+                for (Cell cell : source.get(rowIndex).getCells()) {
+                    encode(cell, newStorage, (long) cellIndex++ * CELL_WIDTH);
+                }
+            }
+        } catch (RuntimeException e) {
+            newStorage.close();
+            throw e;
+        }
+        newOffsets[source.size()] = cellIndex;
+
+        storage.close();
+        storage = newStorage;
+        rowOffsets = newOffsets;
+        rowCount = source.size();
+        layoutVersion++;
+        setSortOrder(null);
+        markModified();
+    }
+
+    /**
+     * Returns the number of rows in the board.
+     *
+     * @return the number of rows
+     */
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Returns the number of columns in the first row of the board.
+     *
+     * @return the number of columns
+     */
+    @Override
+    public int getColumnCount() {
+        return rowCount == 0 ? 0 : columnCount(0);
+    }
+
+    /**
+     * Returns the total number of cells stored in the board.
+     *
+     * @return the number of cells
+     */
+    public int getCellCount() {
+        return rowOffsets[rowCount];
+    }
+
+    /**
+     * Returns the number of bytes used to hold cell data and row offsets.
+     *
+     * @return the storage footprint in bytes
+     */
+    public long getStorageBytes() {
+        return storage.capacity() + (long) rowOffsets.length * Integer.BYTES;
+    }
+
+    /**
+     * Returns the position of the first cell of a row within the packed cell sequence. Passing the
+     * row count returns the total number of cells.
+     *
+     * @param rowIndex the row index, from 0 to the row count inclusive
+     * @return the index of the row's first cell
+     */
+    public int getFirstCellIndex(int rowIndex) {
+        checkIndex(rowIndex, rowCount + 1);
+        return rowOffsets[rowIndex];
+    }
+
+    /**
+     * Copies the raw bytes of consecutive cells into an array, {@link #CELL_WIDTH} bytes per cell
+     * with the key followed by the value.
+     *
+     * @param fromCell     the index of the first cell to copy
+     * @param cellCount    the number of cells to copy
+     * @param target       the array receiving the bytes
+     * @param targetOffset the position in the array of the first copied byte
+     */
+    public void readCellBytes(int fromCell, int cellCount, byte[] target, int targetOffset) {
+        if (fromCell < 0 || cellCount < 0 || fromCell + cellCount > getCellCount()) {
+            throw new IndexOutOfBoundsException("Cells: " + fromCell + "-" + (fromCell + cellCount) + ", Size: " + getCellCount());
+        }
+        storage.read((long) fromCell * CELL_WIDTH, target, targetOffset, cellCount * CELL_WIDTH);
+    }
+
+    /**
+     * Reorders the rows so that row {@code i} becomes the row previously at {@code order[i]}.
+     *
+     * @param order a permutation of the row indexes
+     * @throws IllegalArgumentException if the order is not a permutation of the rows
+     */
+    public void reorderRows(int[] order) {
+        checkPermutation(order, rowCount);
+        permuteRows(order);
+    }
+
+    /**
+     * Reorders the cells of a row so that column {@code i} becomes the cell previously at
+     * {@code order[i]}.
+     *
+     * @param rowIndex the row whose cells are reordered
+     * @param order    a permutation of the row's column indexes
+     * @throws IllegalArgumentException if the order is not a permutation of the row's columns
+     */
+    public void reorderCells(int rowIndex, int[] order) {
+        checkIndex(rowIndex, rowCount);
+        int width = columnCount(rowIndex);
+        checkPermutation(order, width);
+        byte[] cells = new byte[width * CELL_WIDTH];
+        long position = (long) rowOffsets[rowIndex] * CELL_WIDTH;
+        storage.read(position, cells, 0, cells.length);
+        for (int column = 0; column < width; column++) {
+            int source = order[column] * CELL_WIDTH;
+            for (int i = 0; i < CELL_WIDTH; i++) {
+                storage.put(position + (long) column * CELL_WIDTH + i, cells[source + i]);
+            }
+        }
+    }
+
+    /**
+     * Releases the storage holding the cell bytes. The board must not be used afterwards.
+     */
+    void closeStorage() {
+        storage.close();
+    }
+
+    /**
+     * Returns the storage currently holding the cell bytes.
+     */
+    CellStorage storage() {
+        return storage;
+    }
+
+    /**
+     * Replaces the storage with one holding the same cells at the same positions, releasing the
+     * current one.
+     */
+    void replaceStorage(CellStorage newStorage) {
+        storage.close();
+        storage = newStorage;
+    }
+
+    /**
+     * Returns a counter that changes whenever rows or cells are added, removed or moved, or the
+     * storage is reallocated, so that the position of a cell may have changed.
+     */
+    int getLayoutVersion() {
+        return layoutVersion;
+    }
+
+    int columnCount(int rowIndex) {
+        return rowOffsets[rowIndex + 1] - rowOffsets[rowIndex];
+    }
+
+    private int cellIndex(int rowIndex, int columnIndex) {
+        checkIndex(rowIndex, rowCount);
+        checkIndex(columnIndex, columnCount(rowIndex));
+        return rowOffsets[rowIndex] + columnIndex;
+    }
+
+    private String read(int cellIndex, int offset, int length) {
+        char[] characters = new char[length];
+        long position = (long) cellIndex * CELL_WIDTH + offset;
+        for (int i = 0; i < length; i++) {
+            characters[i] = (char) (storage.get(position + i) & 0xFF);
+        }
+        return new String(characters);
+    }
+
+    private void write(int cellIndex, int offset, String text) {
+        checkText(text);
+        long position = (long) cellIndex * CELL_WIDTH + offset;
+        for (int i = 0; i < text.length(); i++) {
+            storage.put(position + i, (byte) text.charAt(i));
+        }
+    }
+
+    private Cell detach(int cellIndex) {
+        Cell cell = new Cell();
+        cell.setKey(read(cellIndex, 0, KEY_LENGTH));
+        cell.setValue(read(cellIndex, KEY_LENGTH, VALUE_LENGTH));
+        return cell;
+    }
+
+    private Row detachRow(int rowIndex) {
+        Row row = new Row();
+        for (int cellIndex = rowOffsets[rowIndex]; cellIndex < rowOffsets[rowIndex + 1]; cellIndex++) {
+            row.addCell(detach(cellIndex));
+        }
+        return row;
+    }
+
+    /**
+     * Inserts empty cells at the given cell index, shifting the following cells and row offsets.
+     */
+    private void insertCells(int rowIndex, int cellIndex, int count) {
+        int cellCount = getCellCount();
+        if ((long) cellCount + count > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Board cannot hold more than " + Integer.MAX_VALUE + " cells");
+        }
+        long required = (long) (cellCount + count) * CELL_WIDTH;
+        long capacity = storage.capacity();
+        if (required > capacity) {
+            storage = storage.resize(Math.max(required, capacity + (capacity >> 1)));
+        }
+        storage.move((long) cellIndex * CELL_WIDTH, (long) (cellIndex + count) * CELL_WIDTH, (long) (cellCount - cellIndex) * CELL_WIDTH);
+        for (int i = rowIndex + 1; i <= rowCount; i++) {
+            rowOffsets[i] += count;
+        }
+        layoutVersion++;
+    }
+
+    private void removeCells(int rowIndex, int cellIndex, int count) {
+        int cellCount = getCellCount();
+        storage.move((long) (cellIndex + count) * CELL_WIDTH, (long) cellIndex * CELL_WIDTH, (long) (cellCount - cellIndex - count) * CELL_WIDTH);
+        for (int i = rowIndex + 1; i <= rowCount; i++) {
+            rowOffsets[i] -= count;
+        }
+        layoutVersion++;
+    }
+
+    private void insertRow(int rowIndex, Row row) {
+        checkIndex(rowIndex, rowCount + 1);
+        Cell[] cells = row.getCells().toArray(new Cell[0]);
+        for (Cell cell : cells) {
+            checkCell(cell);
+        }
+        if (rowCount + 2 > rowOffsets.length) {
+            rowOffsets = Arrays.copyOf(rowOffsets, rowOffsets.length + (rowOffsets.length >> 1) + 1);
+        }
+        System.arraycopy(rowOffsets, rowIndex, rowOffsets, rowIndex + 1, rowCount + 1 - rowIndex);
+        rowCount++;
+        layoutVersion++;
+
+        int cellIndex = rowOffsets[rowIndex];
+        insertCells(rowIndex, cellIndex, cells.length);
+        for (Cell cell : cells) {
+            encode(cell, storage, (long) cellIndex++ * CELL_WIDTH);
+        }
+    }
+
+    private void deleteRow(int rowIndex) {
+        checkIndex(rowIndex, rowCount);
+        removeCells(rowIndex, rowOffsets[rowIndex], columnCount(rowIndex));
+        System.arraycopy(rowOffsets, rowIndex + 1, rowOffsets, rowIndex, rowCount - rowIndex);
+        rowCount--;
+        layoutVersion++;
+    }
+
+    /**
+     * Reorders the rows so that row {@code i} becomes the row previously at {@code order[i]}.
+     */
+    private void permuteRows(int[] order) {
+        CellStorage newStorage = storage.allocate(storage.capacity());
+        int[] newOffsets = new int[rowOffsets.length];
+        int cellIndex = 0;
+        for (int rowIndex = 0; rowIndex < rowCount; rowIndex++) {
+            int sourceRow = order[rowIndex];
+            int width = columnCount(sourceRow);
+            newOffsets[rowIndex] = cellIndex;
+            storage.copyTo((long) rowOffsets[sourceRow] * CELL_WIDTH, newStorage, (long) cellIndex * CELL_WIDTH, (long) width * CELL_WIDTH);
+            cellIndex += width;
+        }
+        newOffsets[rowCount] = cellIndex;
+        storage.close();
+        storage = newStorage;
+        rowOffsets = newOffsets;
+        layoutVersion++;
+    }
+
+    private static void encode(Cell cell, CellStorage target, long position) {
+        checkCell(cell);
+        String key = cell.getKey();
+        String value = cell.getValue();
+        for (int i = 0; i < KEY_LENGTH; i++) {
+            target.put(position + i, (byte) key.charAt(i));
+        }
+        for (int i = 0; i < VALUE_LENGTH; i++) {
+            target.put(position + KEY_LENGTH + i, (byte) value.charAt(i));
+        }
+    }
+
+    private static void checkCell(Cell cell) {
+        if (cell == null) {
+            throw new IllegalArgumentException("Cell cannot be null");
+        }
+        checkText(cell.getKey());
+        checkText(cell.getValue());
+    }
+
+    static void checkText(String text) {
+        if (text == null || text.length() != KEY_LENGTH) {
+            throw new IllegalArgumentException("Cell text must be exactly " + KEY_LENGTH + " characters: " + text);
+        }
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > 0xFF) {
+                throw new IllegalArgumentException("Cell text must only contain single-byte characters: " + text);
+            }
+        }
+    }
+
+    private static void checkPermutation(int[] order, int size) {
+        if (order.length != size) {
+            throw new IllegalArgumentException("Order must have " + size + " entries but has " + order.length);
+        }
+        boolean[] seen = new boolean[size];
+        for (int index : order) {
+            if (index < 0 || index >= size || seen[index]) {
+                throw new IllegalArgumentException("Order is not a permutation: " + Arrays.toString(order));
+            }
+            seen[index] = true;
+        }
+    }
+
+    private static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    /**
+     * Live list of row views.
+     */
+    private class RowList extends AbstractList<Row> implements RandomAccess {
+        @Override
+        public Row get(int index) {
+            checkIndex(index, rowCount);
+            return new PackedRow(index);
+        }
+
+        @Override
+        public int size() {
+            return rowCount;
+        }
+
+        @Override
+        public Row set(int index, Row row) {
+            Row previous = detachRow(index);
+            if (row instanceof PackedRow packedRow && packedRow.board() == PackedBoard.this && packedRow.rowIndex == index) {
+                return previous;
+            }
+            insertRow(index, row);
+            deleteRow(index + 1);
+            return previous;
+        }
+
+        @Override
+        public void add(int index, Row row) {
+            insertRow(index, row);
+            modCount++;
+        }
+
+        @Override
+        public Row remove(int index) {
+            Row previous = detachRow(index);
+            deleteRow(index);
+            modCount++;
+            return previous;
+        }
+
+        @Override
+        public Object[] toArray() {
+            Object[] rows = new Object[rowCount];
+            for (int i = 0; i < rowCount; i++) {
+                rows[i] = detachRow(i);
+            }
+            return rows;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T[] toArray(T[] array) {
+            T[] rows = array.length >= rowCount ? array : Arrays.copyOf(array, rowCount);
+            for (int i = 0; i < rowCount; i++) {
+                rows[i] = (T) detachRow(i);
+            }
+            if (rows.length > rowCount) {
+                rows[rowCount] = null;
+            }
+            return rows;
+        }
+
+        @Override
+        public void sort(Comparator<? super Row> comparator) {
+            Integer[] order = new Integer[rowCount];
+            Row[] rows = new Row[rowCount];
+            for (int i = 0; i < rowCount; i++) {
+                order[i] = i;
+                rows[i] = new PackedRow(i);
+            }
+            Arrays.sort(order, (a, b) -> comparator.compare(rows[a], rows[b]));
+            permuteRows(Arrays.stream(order).mapToInt(Integer::intValue).toArray());
+            modCount++;
+        }
+    }
+
+    /**
+     * View of a single row of the board.
+     */
+    private class PackedRow extends Row {
+        private final int rowIndex;
+        private final List<Cell> cellView;
+
+        PackedRow(int rowIndex) {
+            this.rowIndex = rowIndex;
+            this.cellView = new CellList(rowIndex);
+        }
+
+        PackedBoard board() {
+            return PackedBoard.this;
+        }
+
+        @Override
+        public List<Cell> getCells() {
+            return cellView;
+        }
+
+        @Override
+        public int getColumnCount() {
+            return columnCount(rowIndex);
+        }
+
+        @Override
+        public void addCell(Cell cell) {
+            cellView.add(cell);
+        }
+
+        @Override
+        public void removeCell(int index) {
+            cellView.remove(index);
+        }
+    }
+
+    /**
+     * Live list of the cell views of one row.
+     */
+    private class CellList extends AbstractList<Cell> implements RandomAccess {
+        private final int rowIndex;
+
+        CellList(int rowIndex) {
+            this.rowIndex = rowIndex;
+        }
+
+        @Override
+        public Cell get(int index) {
+            cellIndex(rowIndex, index);
+            return new PackedCell(rowIndex, index);
+        }
+
+        @Override
+        public int size() {
+            return columnCount(rowIndex);
+        }
+
+        @Override
+        public Cell set(int index, Cell cell) {
+            int cellIndex = cellIndex(rowIndex, index);
+            Cell previous = detach(cellIndex);
+            encode(cell, storage, (long) cellIndex * CELL_WIDTH);
+            return previous;
+        }
+
+        @Override
+        public void add(int index, Cell cell) {
+            checkIndex(index, size() + 1);
+            checkCell(cell);
+            String key = cell.getKey();
+            String value = cell.getValue();
+            int cellIndex = rowOffsets[rowIndex] + index;
+            insertCells(rowIndex, cellIndex, 1);
+            write(cellIndex, 0, key);
+            write(cellIndex, KEY_LENGTH, value);
+            modCount++;
+        }
+
+        @Override
+        public Cell remove(int index) {
+            int cellIndex = cellIndex(rowIndex, index);
+            Cell previous = detach(cellIndex);
+            removeCells(rowIndex, cellIndex, 1);
+            modCount++;
+            return previous;
+        }
+
+        @Override
+        public Object[] toArray() {
+            return toArray(new Cell[0]);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T[] toArray(T[] array) {
+            int size = size();
+            T[] cells = array.length >= size ? array : Arrays.copyOf(array, size);
+            for (int i = 0; i < size; i++) {
+                cells[i] = (T) detach(rowOffsets[rowIndex] + i);
+            }
+            if (cells.length > size) {
+                cells[size] = null;
+            }
+            return cells;
+        }
+
+        @Override
+        public void sort(Comparator<? super Cell> comparator) {
+            Cell[] cells = toArray(new Cell[0]);
+            Arrays.sort(cells, comparator);
+            for (int i = 0; i < cells.length; i++) {
+                encode(cells[i], storage, (long) (rowOffsets[rowIndex] + i) * CELL_WIDTH);
+            }
+            modCount++;
+        }
+    }
+
+    /**
+     * View of a single cell of the board.
+     */
+    private class PackedCell extends Cell {
+        private final int rowIndex;
+        private final int columnIndex;
+
+        PackedCell(int rowIndex, int columnIndex) {
+            this.rowIndex = rowIndex;
+            this.columnIndex = columnIndex;
+        }
+
+        @Override
+        public String getKey() {
+            return read(cellIndex(rowIndex, columnIndex), 0, KEY_LENGTH);
+        }
+
+        @Override
+        public void setKey(String key) {
+            write(cellIndex(rowIndex, columnIndex), 0, key);
+        }
+
+        @Override
+        public String getValue() {
+            return read(cellIndex(rowIndex, columnIndex), KEY_LENGTH, VALUE_LENGTH);
+        }
+
+        @Override
+        public void setValue(String value) {
+            write(cellIndex(rowIndex, columnIndex), KEY_LENGTH, value);
+        }
+
+        @Override
+        public String toString() {
+            return "Key: " + getKey() + ", Value: " + getValue();
+        }
+    }
+}
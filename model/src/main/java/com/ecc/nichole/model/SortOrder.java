@@ -0,0 +1,9 @@
+package com.ecc.nichole.model;
+
+/**
+ * Order in which the cells and rows of a board are sorted.
+ */
+public enum SortOrder {
+    ASCENDING,
+    DESCENDING
+}
@@ -0,0 +1,83 @@
+package com.ecc.nichole.model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+public class ChunkedListTest {
+
+    @ParameterizedTest
+    @CsvSource({
+        "0, 2000",
+        "10, 5000",
+        "5000, 20000"
+    })
+    @DisplayName("Test chunked list behaves like an array list under random edits")
+    public void shouldMatchArrayList(int initialSize, int operations) {
+        Random random = new Random(initialSize + operations);
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < initialSize; i++) {
+            expected.add(i);
+        }
+        List<Integer> list = new ChunkedList<>(expected);
+
+        for (int i = 0; i < operations; i++) {
+            int operation = random.nextInt(10);
+            if (operation < 5 || expected.isEmpty()) {
+                int index = random.nextInt(expected.size() + 1);
+                expected.add(index, i);
+                list.add(index, i);
+            } else if (operation < 8) {
+                int index = random.nextInt(expected.size());
+                Assertions.assertEquals(expected.remove(index), list.remove(index), "Removed element should match");
+            } else {
+                int index = random.nextInt(expected.size());
+                Assertions.assertEquals(expected.set(index, -i), list.set(index, -i), "Replaced element should match");
+            }
+        }
+
+        Assertions.assertEquals(expected, list, "Chunked list should equal the array list");
+        Assertions.assertEquals(new ArrayList<>(list), expected, "Iteration order should match");
+    }
+
+    @Test
+    @DisplayName("Test head inserts and iterator removal")
+    public void shouldInsertAtHeadAndRemoveWhileIterating() {
+        List<Integer> list = new ChunkedList<>();
+        for (int i = 0; i < 5000; i++) {
+            list.add(0, i);
+        }
+        for (int i = 0; i < 5000; i++) {
+            Assertions.assertEquals(4999 - i, list.get(i), "Head inserts should reverse the order");
+        }
+
+        Iterator<Integer> iterator = list.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next() % 2 == 0) {
+                iterator.remove();
+            }
+        }
+        Assertions.assertEquals(2500, list.size(), "Even elements should be removed");
+        Assertions.assertTrue(list.stream().allMatch(element -> element % 2 == 1), "Only odd elements should remain");
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.get(2500), "Access past the end should fail");
+    }
+
+    @Test
+    @DisplayName("Test chunked board keeps its own row list when it is set again")
+    public void shouldKeepOwnRowList() {
+        Board board = new ChunkedBoard();
+        List<Row> rows = board.getRows();
+        rows.add(new Row());
+        board.setRows(rows);
+
+        Assertions.assertSame(rows, board.getRows(), "Setting the board's own rows should not copy them");
+        Assertions.assertTrue(rows instanceof ChunkedList, "Chunked board should store rows in a chunked list");
+    }
+}
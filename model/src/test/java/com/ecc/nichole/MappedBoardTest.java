@@ -0,0 +1,113 @@
+package com.ecc.nichole.model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class MappedBoardTest {
+
+    @TempDir
+    Path directory;
+
+    private static List<Row> createRows(int rows, int columns) {
+        List<Row> rowList = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            Row row = new Row();
+            for (int j = 0; j < columns + i % 2; j++) {
+                Cell cell = new Cell();
+                cell.setKey(String.format("%03d", i % 1000));
+                cell.setValue(String.format("%03d", j % 1000));
+                row.addCell(cell);
+            }
+            rowList.add(row);
+        }
+        return rowList;
+    }
+
+    private static Board createBoard(List<Row> rows) {
+        Board board = new Board();
+        board.setRows(rows);
+        return board;
+    }
+
+    private static void assertSameCells(List<Row> expected, Board actual) {
+        Assertions.assertEquals(expected.size(), actual.getRowCount(), "Row count should match");
+        for (int i = 0; i < expected.size(); i++) {
+            List<Cell> cells = actual.getRows().get(i).getCells();
+            Assertions.assertEquals(expected.get(i).getCells().size(), cells.size(), "Column count should match");
+            for (int j = 0; j < cells.size(); j++) {
+                Assertions.assertEquals(expected.get(i).getCells().get(j).getKey(), cells.get(j).getKey(), "Cell key should match");
+                Assertions.assertEquals(expected.get(i).getCells().get(j).getValue(), cells.get(j).getValue(), "Cell value should match");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test cell changes are written straight to the mapped file")
+    public void shouldWriteCellChangesInPlace() throws IOException {
+        String fileName = directory.resolve("board.bin").toString();
+        List<Row> rows = createRows(20, 4);
+        MappedBoard.write(createBoard(rows), fileName);
+        byte[] before = Files.readAllBytes(Path.of(fileName));
+
+        try (MappedBoard board = MappedBoard.open(fileName)) {
+            assertSameCells(rows, board);
+            board.getRows().get(3).getCells().get(2).setValue("xyz");
+            Assertions.assertTrue(board.isInSyncWithFile(), "Changing a value should keep the file in step");
+        }
+        rows.get(3).getCells().get(2).setValue("xyz");
+
+        byte[] after = Files.readAllBytes(Path.of(fileName));
+        Assertions.assertEquals(before.length, after.length, "File size should not change");
+        try (MappedBoard board = MappedBoard.open(fileName)) {
+            assertSameCells(rows, board);
+        }
+    }
+
+    @Test
+    @DisplayName("Test structural changes are saved by rewriting and remapping the file")
+    public void shouldRewriteAfterStructuralChange() throws IOException {
+        String fileName = directory.resolve("board.bin").toString();
+        List<Row> rows = createRows(10, 3);
+        MappedBoard.write(new PackedBoard(rows), fileName);
+
+        try (MappedBoard board = MappedBoard.open(fileName)) {
+            board.getRows().remove(4);
+            board.getRows().add(0, createRows(1, 5).get(0));
+            Assertions.assertFalse(board.isInSyncWithFile(), "Moving cells should leave the file out of step");
+            board.save();
+            Assertions.assertTrue(board.isInSyncWithFile(), "Saving should map the rewritten file");
+            board.getRows().get(0).getCells().get(4).setValue("abc");
+        }
+        rows.remove(4);
+        rows.add(0, createRows(1, 5).get(0));
+        rows.get(0).getCells().get(4).setValue("abc");
+
+        try (MappedBoard board = MappedBoard.open(fileName)) {
+            assertSameCells(rows, board);
+        }
+    }
+
+    @Test
+    @DisplayName("Test files that are not binary boards are rejected")
+    public void shouldRejectInvalidFiles() throws IOException {
+        Path text = directory.resolve("board.txt");
+        Files.writeString(text, "abc\u001Ddef\u001F\n");
+        Assertions.assertFalse(MappedBoard.isBinaryBoardFile(text.toString()), "Text file should not be detected as binary");
+        Assertions.assertThrows(IOException.class, () -> MappedBoard.open(text.toString()));
+
+        String fileName = directory.resolve("board.bin").toString();
+        MappedBoard.write(createBoard(createRows(3, 3)), fileName);
+        byte[] bytes = Files.readAllBytes(Path.of(fileName));
+        Files.write(Path.of(fileName), Arrays.copyOf(bytes, bytes.length - 1));
+        Assertions.assertThrows(IOException.class, () -> MappedBoard.open(fileName));
+    }
+}
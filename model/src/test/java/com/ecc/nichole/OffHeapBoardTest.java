@@ -0,0 +1,82 @@
+package com.ecc.nichole.model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class OffHeapBoardTest {
+
+    private static List<Row> createRows(int rows, int columns) {
+        List<Row> rowList = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            Row row = new Row();
+            for (int j = 0; j < columns; j++) {
+                Cell cell = new Cell();
+                cell.setKey(String.format("%03d", i % 1000));
+                cell.setValue(String.format("%03d", j % 1000));
+                row.addCell(cell);
+            }
+            rowList.add(row);
+        }
+        return rowList;
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "1, 3",
+        "50, 20"
+    })
+    @DisplayName("Test off-heap board keeps the content of the copied rows")
+    public void shouldCopyRowsOffHeap(int rows, int columns) {
+        List<Row> expected = createRows(rows, columns);
+        try (OffHeapBoard board = new OffHeapBoard(expected)) {
+            Assertions.assertEquals(rows, board.getRowCount(), "Row count should match");
+            for (int i = 0; i < rows; i++) {
+                for (int j = 0; j < columns; j++) {
+                    Cell cell = board.getRows().get(i).getCells().get(j);
+                    Assertions.assertEquals(expected.get(i).getCells().get(j).getKey(), cell.getKey(), "Cell key should match");
+                    Assertions.assertEquals(expected.get(i).getCells().get(j).getValue(), cell.getValue(), "Cell value should match");
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test closed off-heap board rejects access")
+    public void shouldRejectAccessAfterClose() {
+        OffHeapBoard board = new OffHeapBoard(createRows(2, 2));
+        board.close();
+
+        Assertions.assertThrows(IllegalStateException.class, () -> board.getRows().get(0).getCells().get(0).getKey());
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "0, 10, 40",
+        "10, 0, 40",
+        "5, 30, 50",
+        "30, 5, 50"
+    })
+    @DisplayName("Test moves across chunk boundaries behave like System.arraycopy")
+    public void shouldMoveAcrossChunks(int from, int to, int length) {
+        byte[] expected = new byte[100];
+        DirectCellStorage storage = new DirectCellStorage(expected.length, 3);
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = (byte) i;
+            storage.put(i, (byte) i);
+        }
+
+        System.arraycopy(expected, from, expected, to, length);
+        storage.move(from, to, length);
+
+        for (int i = 0; i < expected.length; i++) {
+            Assertions.assertEquals(expected[i], storage.get(i), "Byte at " + i + " should match");
+        }
+        storage.close();
+    }
+}
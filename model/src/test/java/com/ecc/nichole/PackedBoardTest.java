@@ -0,0 +1,164 @@
+package com.ecc.nichole.model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+public class PackedBoardTest {
+
+    private static Cell createCell(String key, String value) {
+        Cell cell = new Cell();
+        cell.setKey(key);
+        cell.setValue(value);
+        return cell;
+    }
+
+    private static List<Row> createRows(int rows, int columns) {
+        List<Row> rowList = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            Row row = new Row();
+            for (int j = 0; j < columns; j++) {
+                row.addCell(createCell(String.format("k%02d", j), String.format("%c%02d", (char) ('a' + i), j)));
+            }
+            rowList.add(row);
+        }
+        return rowList;
+    }
+
+    private static void assertSameContent(List<Row> expected, Board actual) {
+        Assertions.assertEquals(expected.size(), actual.getRowCount(), "Row count should match");
+        for (int i = 0; i < expected.size(); i++) {
+            List<Cell> expectedCells = expected.get(i).getCells();
+            List<Cell> actualCells = actual.getRows().get(i).getCells();
+            Assertions.assertEquals(expectedCells.size(), actualCells.size(), "Column count should match");
+            for (int j = 0; j < expectedCells.size(); j++) {
+                Assertions.assertEquals(expectedCells.get(j).getKey(), actualCells.get(j).getKey(), "Cell key should match");
+                Assertions.assertEquals(expectedCells.get(j).getValue(), actualCells.get(j).getValue(), "Cell value should match");
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "0, 0",
+        "1, 3",
+        "3, 5",
+        "40, 7"
+    })
+    @DisplayName("Test packed board keeps the content of the packed rows")
+    public void shouldPackRows(int rows, int columns) {
+        List<Row> expected = createRows(rows, columns);
+        PackedBoard board = new PackedBoard(expected);
+
+        assertSameContent(expected, board);
+        Assertions.assertEquals(rows * columns, board.getCellCount(), "Cell count should match");
+        Assertions.assertEquals(rows == 0 ? 0 : columns, board.getColumnCount(), "Column count should match");
+    }
+
+    @Test
+    @DisplayName("Test cell views write through to the packed storage")
+    public void shouldEditThroughCellView() {
+        List<Row> expected = createRows(3, 4);
+        PackedBoard board = new PackedBoard(expected);
+
+        board.getRows().get(1).getCells().get(2).setValue("xyz");
+        expected.get(1).getCells().get(2).setValue("xyz");
+
+        assertSameContent(expected, board);
+    }
+
+    @Test
+    @DisplayName("Test cell views follow their row and column when rows move")
+    public void shouldResolveCellViewByPosition() {
+        List<Row> expected = createRows(3, 4);
+        PackedBoard board = new PackedBoard(expected);
+        Cell cell = board.getRows().get(2).getCells().get(1);
+
+        board.getRows().add(0, createRows(1, 5).get(0));
+        Assertions.assertEquals("b01", cell.getValue(), "Cell view should read the cell now at its position");
+        board.getRows().remove(0);
+        cell.setValue("xyz");
+
+        Assertions.assertEquals("xyz", board.getRows().get(2).getCells().get(1).getValue());
+        Assertions.assertEquals("b01", board.getRows().get(1).getCells().get(1).getValue());
+    }
+
+    @Test
+    @DisplayName("Test rows can be inserted and removed at any position")
+    public void shouldInsertAndRemoveRows() {
+        List<Row> expected = createRows(20, 3);
+        PackedBoard board = new PackedBoard(expected);
+        Row newRow = createRows(1, 5).get(0);
+
+        board.getRows().add(0, newRow);
+        expected.add(0, newRow);
+        board.getRows().add(10, newRow);
+        expected.add(10, newRow);
+        board.getRows().add(newRow);
+        expected.add(newRow);
+        board.getRows().remove(5);
+        expected.remove(5);
+        board.getRows().get(3).addCell(createCell("new", "cel"));
+        expected.get(3).addCell(createCell("new", "cel"));
+        board.getRows().get(4).removeCell(0);
+        expected.get(4).removeCell(0);
+
+        assertSameContent(expected, board);
+    }
+
+    @Test
+    @DisplayName("Test sorting through the views matches sorting plain rows")
+    public void shouldSortThroughViews() {
+        List<Row> expected = createRows(6, 4);
+        Collections.reverse(expected);
+        PackedBoard board = new PackedBoard(expected);
+        Comparator<Cell> cellComparator = Comparator.comparing(cell -> cell.getValue() + cell.getKey());
+        Comparator<Row> rowComparator = Comparator.comparing(row -> row.getCells().get(0).getValue());
+
+        board.getRows().forEach(row -> Collections.sort(row.getCells(), cellComparator.reversed()));
+        expected.forEach(row -> Collections.sort(row.getCells(), cellComparator.reversed()));
+        Collections.sort(board.getRows(), rowComparator);
+        Collections.sort(expected, rowComparator);
+
+        assertSameContent(expected, board);
+    }
+
+    @Test
+    @DisplayName("Test reordering rows and cells by permutation")
+    public void shouldReorderRowsAndCells() {
+        List<Row> expected = createRows(3, 4);
+        PackedBoard board = new PackedBoard(expected);
+
+        board.reorderRows(new int[] {2, 0, 1});
+        board.reorderCells(0, new int[] {3, 2, 1, 0});
+        Collections.rotate(expected, 1);
+        Collections.reverse(expected.get(0).getCells());
+
+        assertSameContent(expected, board);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> board.reorderRows(new int[] {0, 0, 1}), "Duplicate index should be rejected");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> board.reorderCells(1, new int[] {0, 1}), "Short order should be rejected");
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "ab, abc",
+        "abcd, abc",
+        "abc, ab"
+    })
+    @DisplayName("Test cells that do not fit the fixed width are rejected")
+    public void shouldRejectInvalidCells(String key, String value) {
+        PackedBoard board = new PackedBoard(createRows(1, 1));
+        Row row = new Row();
+        row.addCell(createCell(key, value));
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> board.getRows().add(row));
+        Assertions.assertEquals(1, board.getRowCount(), "Rejected row should not be added");
+    }
+}
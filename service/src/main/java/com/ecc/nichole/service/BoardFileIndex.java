@@ -0,0 +1,429 @@
+package com.ecc.nichole.service;
+
+import com.ecc.nichole.model.Row;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Index of the rows of a text board file, kept in a sidecar file next to it so that row N can be
+ * read without scanning the lines before it.
+ *
+ * <p>For every row the index holds the position of its line in the board file, its number of
+ * columns and a CRC-32 checksum of the line. The sidecar file starts with a magic number, a
+ * format version, the size and modification time of the board file it describes and the row
+ * count, followed by one fixed-size entry per row. An index whose size or modification time no
+ * longer matches the board file is stale and is ignored.</p>
+ */
+final class BoardFileIndex {
+    static final String INDEX_SUFFIX = ".index";
+    static final int MAGIC = 0x4E425249;     // "NBRI"
+    static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    private static final int ENTRY_BYTES = 16;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+
+    private long[] offsets;
+    private int[] columnCounts;
+    private int[] checksums;
+    private int rowCount;
+
+    /**
+     * Creates an empty index.
+     */
+    BoardFileIndex() {
+        this(new long[17], new int[16], new int[16], 0);
+    }
+
+    private BoardFileIndex(long[] offsets, int[] columnCounts, int[] checksums, int rowCount) {
+        this.offsets = offsets;
+        this.columnCounts = columnCounts;
+        this.checksums = checksums;
+        this.rowCount = rowCount;
+    }
+
+    /**
+     * Builds the index of a board file written with the given lines, one per row.
+     *
+     * @param rows  the rows of the board
+     * @param lines the formatted rows, as written
+     * @return the index
+     */
+    static BoardFileIndex of(List<Row> rows, List<String> lines) {
+        BoardFileIndex index = new BoardFileIndex();
+        index.resize(rows.size());
+        long position = 0;
+        for (int row = 0; row < rows.size(); row++) {
+            byte[] line = lines.get(row).getBytes(StandardCharsets.UTF_8);
+            index.offsets[row] = position;
+            index.recordRow(row, line, rows.get(row).getColumnCount());
+            position += line.length + LINE_SEPARATOR.length;
+        }
+        index.offsets[rows.size()] = position;
+        return index;
+    }
+
+    /**
+     * Returns the path of the sidecar index file of a board file.
+     *
+     * @param boardFile the board file
+     * @return the index file
+     */
+    static Path indexFile(Path boardFile) {
+        return Paths.get(boardFile + INDEX_SUFFIX);
+    }
+
+    int getRowCount() {
+        return rowCount;
+    }
+
+    long getOffset(int row) {
+        return offsets[row];
+    }
+
+    int getColumnCount(int row) {
+        return columnCounts[row];
+    }
+
+    /**
+     * Returns the length of a row's line, without its line terminator.
+     */
+    int getLineLength(int row) {
+        return (int) (offsets[row + 1] - offsets[row] - LINE_SEPARATOR.length);
+    }
+
+    /**
+     * Returns the start of every line followed by the size of the board file.
+     *
+     * @return a copy of the line positions, one longer than the row count
+     */
+    long[] getOffsets() {
+        return Arrays.copyOf(offsets, rowCount + 1);
+    }
+
+    /**
+     * Records the column count and checksum of a row whose line keeps its position.
+     *
+     * @param row         the row index
+     * @param line        the formatted row, without a line terminator
+     * @param columnCount the number of columns of the row
+     */
+    void recordRow(int row, byte[] line, int columnCount) {
+        CRC32 crc = new CRC32();
+        crc.update(line);
+        columnCounts[row] = columnCount;
+        checksums[row] = (int) crc.getValue();
+    }
+
+    /**
+     * Writes the rows from the given row on, one per line, and records them. The stream must be
+     * positioned where that row's line starts; rows past the written ones are dropped from the
+     * index.
+     *
+     * @param rows     the rows of the board
+     * @param firstRow the first row to write, at most the current row count
+     * @param out      the stream to write to, left open and flushed
+     * @return the number of bytes written
+     * @throws IOException if the stream cannot be written
+     */
+    long writeRows(List<Row> rows, int firstRow, OutputStream out) throws IOException {
+        if (firstRow > rowCount) {
+            throw new IndexOutOfBoundsException("Row: " + firstRow + ", Rows: " + rowCount);
+        }
+        long start = offsets[firstRow];
+        resize(rows.size());
+        long position = start;
+        OutputStream buffered = new BufferedOutputStream(out, BUFFER_SIZE);
+        for (int row = firstRow; row < rows.size(); row++) {
+            Row current = rows.get(row);
+            byte[] line = FileService.formatRow(current).getBytes(StandardCharsets.UTF_8);
+            buffered.write(line);
+            buffered.write(LINE_SEPARATOR);
+            offsets[row] = position;
+            recordRow(row, line, current.getColumnCount());
+            position += line.length + LINE_SEPARATOR.length;
+        }
+        buffered.flush();
+        offsets[rows.size()] = position;
+        return position - start;
+    }
+
+    /**
+     * Writes already formatted rows, one per line, and records them as every row of the index.
+     *
+     * @param lines        the formatted rows, without line terminators
+     * @param columnCounts the number of columns of each row
+     * @param out          the stream to write to, left open and flushed
+     * @return the number of bytes written
+     * @throws IOException if the stream cannot be written
+     */
+    long writeLines(List<String> lines, int[] columnCounts, OutputStream out) throws IOException {
+        resize(lines.size());
+        long position = 0;
+        OutputStream buffered = new BufferedOutputStream(out, BUFFER_SIZE);
+        for (int row = 0; row < lines.size(); row++) {
+            byte[] line = lines.get(row).getBytes(StandardCharsets.UTF_8);
+            buffered.write(line);
+            buffered.write(LINE_SEPARATOR);
+            offsets[row] = position;
+            recordRow(row, line, columnCounts[row]);
+            position += line.length + LINE_SEPARATOR.length;
+        }
+        buffered.flush();
+        offsets[lines.size()] = position;
+        return position;
+    }
+
+    private void resize(int newRowCount) {
+        if (newRowCount >= columnCounts.length) {
+            int capacity = Math.max(newRowCount + 1, columnCounts.length + (columnCounts.length >> 1));
+            offsets = Arrays.copyOf(offsets, capacity + 1);
+            columnCounts = Arrays.copyOf(columnCounts, capacity);
+            checksums = Arrays.copyOf(checksums, capacity);
+        }
+        rowCount = newRowCount;
+    }
+
+    /**
+     * Reads a range of rows from the board file, checking each line against its checksum.
+     *
+     * @param boardFile the board file the index describes
+     * @param fromRow   the first row to read, inclusive
+     * @param toRow     the last row to read, exclusive
+     * @return the rows
+     * @throws IOException if the file cannot be read or a line does not match its checksum
+     */
+    List<Row> readRows(Path boardFile, int fromRow, int toRow) throws IOException {
+        if (fromRow < 0 || fromRow > toRow || toRow > rowCount) {
+            throw new IndexOutOfBoundsException("Rows: " + fromRow + "-" + toRow + ", Rows: " + rowCount);
+        }
+        List<Row> rows = new ArrayList<>(toRow - fromRow);
+        try (FileChannel channel = FileChannel.open(boardFile, StandardOpenOption.READ)) {
+            int row = fromRow;
+            while (row < toRow) {
+                int lastRow = row + 1;
+                while (lastRow < toRow && offsets[lastRow + 1] - offsets[row] <= BUFFER_SIZE) {
+                    lastRow++;
+                }
+                ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(offsets[lastRow] - offsets[row]));
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, offsets[row] + buffer.position()) < 0) {
+                        throw new IOException("Unexpected end of board file " + boardFile);
+                    }
+                }
+                byte[] bytes = buffer.array();
+                long blockStart = offsets[row];
+                for (; row < lastRow; row++) {
+                    int from = (int) (offsets[row] - blockStart);
+                    int to = from + getLineLength(row);
+                    CRC32 crc = new CRC32();
+                    crc.update(bytes, from, to - from);
+                    if ((int) crc.getValue() != checksums[row]) {
+                        throw new IOException("Row " + row + " of " + boardFile + " does not match its index");
+                    }
+                    rows.add(BoardTextParser.parseRow(bytes, from, to));
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Writes the whole index next to the board file, recording the board file's current size
+     * and modification time.
+     *
+     * @param boardFile the board file the index describes
+     * @throws IOException if the index cannot be written
+     */
+    void save(Path boardFile) throws IOException {
+        Path indexFile = indexFile(boardFile).toAbsolutePath();
+        Path temporaryFile = Files.createTempFile(indexFile.getParent(), "board", ".index.tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile), BUFFER_SIZE))) {
+                out.write(header(boardFile).array());
+                for (int row = 0; row < rowCount; row++) {
+                    out.writeLong(offsets[row]);
+                    out.writeInt(columnCounts[row]);
+                    out.writeInt(checksums[row]);
+                }
+            }
+            Files.move(temporaryFile, indexFile, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    /**
+     * Updates the index file after rows changed: rewrites the header, the entries of the given
+     * changed rows and every entry from the given row on. The index file must have matched the
+     * board file as it was before the change, which is checked against its previous size and
+     * modification time; otherwise the whole index is written.
+     *
+     * @param boardFile        the board file the index describes
+     * @param previousSize     the size of the board file before the change
+     * @param previousModified the modification time of the board file before the change
+     * @param changedRows      rows changed in place, before the first rewritten row
+     * @param firstRow         the first rewritten row, or the row count if none
+     * @throws IOException if the index cannot be written
+     */
+    void saveChanges(Path boardFile, long previousSize, FileTime previousModified, int[] changedRows, int firstRow) throws IOException {
+        Path indexFile = indexFile(boardFile);
+        ByteBuffer previousHeader;
+        try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+            previousHeader = read(channel, 0, HEADER_BYTES);
+        } catch (NoSuchFileException e) {
+            save(boardFile);
+            return;
+        }
+        if (!matches(previousHeader, previousSize, previousModified)) {
+            save(boardFile);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.WRITE)) {
+            for (int row : changedRows) {
+                write(channel, entry(row), HEADER_BYTES + (long) row * ENTRY_BYTES);
+            }
+            channel.truncate(HEADER_BYTES + (long) rowCount * ENTRY_BYTES);
+            ByteBuffer entries = ByteBuffer.allocate(BUFFER_SIZE);
+            long position = HEADER_BYTES + (long) firstRow * ENTRY_BYTES;
+            for (int row = firstRow; row < rowCount; row++) {
+                if (entries.remaining() < ENTRY_BYTES) {
+                    entries.flip();
+                    position += write(channel, entries, position);
+                    entries.clear();
+                }
+                entries.put(entry(row));
+            }
+            entries.flip();
+            write(channel, entries, position);
+            write(channel, header(boardFile), 0);
+        }
+    }
+
+    /**
+     * Loads the index of a board file if there is one and it still matches the board file.
+     *
+     * @param boardFile the board file
+     * @return the index, or null if there is none or it is stale or invalid
+     */
+    static BoardFileIndex load(Path boardFile) {
+        Path indexFile = indexFile(boardFile);
+        if (!Files.isRegularFile(indexFile)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || (size - HEADER_BYTES) % ENTRY_BYTES != 0) {
+                return null;
+            }
+            ByteBuffer header = read(channel, 0, HEADER_BYTES);
+            if (!matches(header, Files.size(boardFile), Files.getLastModifiedTime(boardFile))) {
+                return null;
+            }
+            int rowCount = header.getInt(24);
+            if (rowCount < 0 || (long) rowCount * ENTRY_BYTES != size - HEADER_BYTES) {
+                return null;
+            }
+
+            long boardSize = header.getLong(8);
+            long[] offsets = new long[rowCount + 1];
+            int[] columnCounts = new int[rowCount];
+            int[] checksums = new int[rowCount];
+            long position = HEADER_BYTES;
+            int row = 0;
+            while (row < rowCount) {
+                int rows = Math.min(rowCount - row, BUFFER_SIZE / ENTRY_BYTES);
+                ByteBuffer entries = read(channel, position, rows * ENTRY_BYTES);
+                for (int i = 0; i < rows; i++, row++) {
+                    offsets[row] = entries.getLong();
+                    columnCounts[row] = entries.getInt();
+                    checksums[row] = entries.getInt();
+                    if (offsets[row] < (row == 0 ? 0 : offsets[row - 1] + LINE_SEPARATOR.length) || offsets[row] > boardSize) {
+                        return null;
+                    }
+                }
+                position += (long) rows * ENTRY_BYTES;
+            }
+            if (rowCount > 0 ? offsets[0] != 0 : boardSize != 0) {
+                return null;
+            }
+            offsets[rowCount] = boardSize;
+            return new BoardFileIndex(offsets, columnCounts, checksums, rowCount);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Deletes the index of a board file written without one.
+     *
+     * @param boardFile the board file
+     * @throws IOException if the index cannot be deleted
+     */
+    static void delete(Path boardFile) throws IOException {
+        Files.deleteIfExists(indexFile(boardFile));
+    }
+
+    private ByteBuffer header(Path boardFile) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(MAGIC)
+                .putInt(FORMAT_VERSION)
+                .putLong(Files.size(boardFile))
+                .putLong(Files.getLastModifiedTime(boardFile).to(TimeUnit.NANOSECONDS))
+                .putInt(rowCount)
+                .putInt(0);
+        header.flip();
+        return header;
+    }
+
+    private static boolean matches(ByteBuffer header, long boardSize, FileTime boardModified) {
+        return header.getInt(0) == MAGIC && header.getInt(4) == FORMAT_VERSION
+                && header.getLong(8) == boardSize
+                && header.getLong(16) == boardModified.to(TimeUnit.NANOSECONDS);
+    }
+
+    private ByteBuffer entry(int row) {
+        ByteBuffer entry = ByteBuffer.allocate(ENTRY_BYTES);
+        entry.putLong(offsets[row]).putInt(columnCounts[row]).putInt(checksums[row]);
+        entry.flip();
+        return entry;
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of board index");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static int write(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        int written = 0;
+        while (buffer.hasRemaining()) {
+            written += channel.write(buffer, position + written);
+        }
+        return written;
+    }
+}
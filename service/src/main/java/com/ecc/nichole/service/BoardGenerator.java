@@ -0,0 +1,180 @@
+package com.ecc.nichole.service;
+
+import com.ecc.nichole.model.Board;
+import com.ecc.nichole.model.Cell;
+import com.ecc.nichole.model.ChunkedBoard;
+import com.ecc.nichole.model.Row;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Generates boards of random cells from a seed. Rows are generated in blocks of
+ * {@value #ROWS_PER_BLOCK}, each from its own {@link SplittableRandom} split off the seeded one in
+ * block order, so a seed always gives the same board no matter how many threads generate it.
+ * Large boards are generated on a fork-join pool, with the blocks spread over its threads.
+ *
+ * <p>Keys and values are {@value #CELL_CHARACTERS} printable ASCII characters, as made by
+ * {@link CellService#generateValue()}.</p>
+ */
+public class BoardGenerator implements AutoCloseable {
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 100_000;
+    static final int ROWS_PER_BLOCK = 1024;
+    private static final int TASKS_PER_THREAD = 4;
+    private static final int CELL_CHARACTERS = 3;
+    private static final int FIRST_CHARACTER = 32;
+    private static final int CHARACTER_COUNT = 95;
+
+    private final int parallelism;
+    private final int parallelThreshold;
+    private ForkJoinPool pool;
+
+    /**
+     * Creates a generator using one thread per available processor.
+     */
+    public BoardGenerator() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Creates a generator with the given pool size and parallel threshold.
+     *
+     * @param parallelism       the number of threads used for parallel generation
+     * @param parallelThreshold the minimum number of cells for which a board is generated in parallel
+     */
+    public BoardGenerator(int parallelism, int parallelThreshold) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        this.parallelism = parallelism;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Gets the number of threads used for parallel generation.
+     *
+     * @return the parallelism
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Generates a board of random cells, in parallel when it is large enough.
+     *
+     * @param seed    the seed; the same seed always gives the same board
+     * @param rows    the number of rows to create
+     * @param columns the number of cells in every row
+     * @return the generated Board
+     */
+    public Board generate(long seed, int rows, int columns) {
+        if (rows < 0 || columns < 0) {
+            throw new IllegalArgumentException("Rows and columns must not be negative");
+        }
+        int blockCount = (rows + ROWS_PER_BLOCK - 1) / ROWS_PER_BLOCK;
+        SplittableRandom seeded = new SplittableRandom(seed);
+        SplittableRandom[] randoms = new SplittableRandom[blockCount];
+        for (int block = 0; block < blockCount; block++) {
+            randoms[block] = seeded.split();
+        }
+
+        Row[] generated = new Row[rows];
+        if (parallelism > 1 && blockCount > 1 && (long) rows * columns >= parallelThreshold) {
+            forEachBlockRange(blockCount, (fromBlock, toBlock) -> generateBlocks(randoms, generated, columns, fromBlock, toBlock));
+        } else {
+            generateBlocks(randoms, generated, columns, 0, blockCount);
+        }
+
+        return new ChunkedBoard(Arrays.asList(generated));
+    }
+
+    /**
+     * Generates a single row of random cells from a seed.
+     *
+     * @param seed    the seed; the same seed always gives the same row
+     * @param columns the number of cells in the row
+     * @return the generated Row
+     */
+    public Row generateRow(long seed, int columns) {
+        return generate(seed, 1, columns).getRows().get(0);
+    }
+
+    private static void generateBlocks(SplittableRandom[] randoms, Row[] rows, int columns, int fromBlock, int toBlock) {
+        byte[] characters = new byte[CELL_CHARACTERS];
+        for (int block = fromBlock; block < toBlock; block++) {
+            SplittableRandom random = randoms[block];
+            int toRow = Math.min(rows.length, (block + 1) * ROWS_PER_BLOCK);
+            for (int rowIndex = block * ROWS_PER_BLOCK; rowIndex < toRow; rowIndex++) {
+                Row row = new Row(columns);
+                for (Cell cell : row.getCells()) {
+                    cell.setKey(generateValue(random, characters));
+                    cell.setValue(generateValue(random, characters));
+                }
+                rows[rowIndex] = row;
+            }
+        }
+    }
+
+    private static String generateValue(SplittableRandom random, byte[] characters) {
+        for (int i = 0; i < CELL_CHARACTERS; i++) {
+            characters[i] = (byte) (FIRST_CHARACTER + random.nextInt(CHARACTER_COUNT));
+        }
+        return new String(characters, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Runs an action over ranges of blocks on the pool and waits for all of them.
+     */
+    private void forEachBlockRange(int blockCount, BlockRangeAction action) {
+        int taskCount = Math.min(blockCount, parallelism * TASKS_PER_THREAD);
+        List<RecursiveAction> tasks = new ArrayList<>(taskCount);
+        for (int task = 0; task < taskCount; task++) {
+            int fromBlock = (int) ((long) blockCount * task / taskCount);
+            int toBlock = (int) ((long) blockCount * (task + 1) / taskCount);
+            tasks.add(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    action.run(fromBlock, toBlock);
+                }
+            });
+        }
+        getPool().invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(tasks);
+            }
+        });
+    }
+
+    /**
+     * Shuts down the thread pool, if one was started. Generations already running finish first, and a
+     * later parallel generation starts a new pool.
+     */
+    @Override
+    public synchronized void close() {
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+    }
+
+    private synchronized ForkJoinPool getPool() {
+        if (pool == null) {
+            pool = new ForkJoinPool(parallelism);
+        }
+        return pool;
+    }
+
+    /**
+     * Action applied to a range of blocks, from inclusive to exclusive.
+     */
+    @FunctionalInterface
+    private interface BlockRangeAction {
+        void run(int fromBlock, int toBlock);
+    }
+}
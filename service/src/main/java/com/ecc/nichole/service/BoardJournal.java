@@ -0,0 +1,395 @@
+package com.ecc.nichole.service;
+
+import com.ecc.nichole.model.Board;
+import com.ecc.nichole.model.Row;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Append-only log of board changes kept next to a board file, so that a change costs one short
+ * append instead of rewriting the whole board. The log starts with the checksum of the board
+ * file it applies to, followed by one record per line. Once the log holds at least as many
+ * records as the board has rows, a snapshot of the board is taken and written in the background,
+ * and the log is cut down to the records appended since.
+ *
+ * <p>A log whose checksum does not match the board file is out of date and is ignored, as is an
+ * incomplete last record left by an interrupted append.</p>
+ */
+public class BoardJournal {
+    public static final String JOURNAL_SUFFIX = ".journal";
+    public static final int DEFAULT_MINIMUM_COMPACTION_RECORDS = 1000;
+    private static final String PENDING_SUFFIX = ".next";
+    private static final char FIELD_SEPARATOR = '\u001E';     // Record separator
+    private static final char RECORD_END = '\n';
+    private static final String CHECKSUM = "B";
+    private static final String CELL_CHANGED = "C";
+    private static final String ROW_INSERTED = "I";
+    private static final String ROW_REPLACED = "R";
+    private static final String ROW_MOVED = "M";
+
+    private final Path boardFile;
+    private final Path journalFile;
+    private final Path pendingJournalFile;
+    private final int minimumCompactionRecords;
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "board-journal-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private long journalBytes = -1;
+    private int recordCount;
+    private long generation;
+    private Future<?> compaction;
+
+    /**
+     * Creates the journal of a board file, compacting it after the default minimum number of
+     * records.
+     *
+     * @param boardFileName the board file the journal belongs to
+     */
+    public BoardJournal(String boardFileName) {
+        this(boardFileName, DEFAULT_MINIMUM_COMPACTION_RECORDS);
+    }
+
+    /**
+     * Creates the journal of a board file.
+     *
+     * @param boardFileName            the board file the journal belongs to
+     * @param minimumCompactionRecords the fewest records that trigger a compaction, however
+     *                                 small the board
+     */
+    public BoardJournal(String boardFileName, int minimumCompactionRecords) {
+        if (minimumCompactionRecords < 1) {
+            throw new IllegalArgumentException("Minimum compaction records must be positive");
+        }
+        this.boardFile = Paths.get(boardFileName).toAbsolutePath();
+        this.journalFile = Paths.get(boardFile + JOURNAL_SUFFIX);
+        this.pendingJournalFile = Paths.get(journalFile + PENDING_SUFFIX);
+        this.minimumCompactionRecords = minimumCompactionRecords;
+    }
+
+    /**
+     * Returns a record setting the value of a cell.
+     */
+    public static String cellChanged(int rowIndex, int columnIndex, String value) {
+        return CELL_CHANGED + FIELD_SEPARATOR + rowIndex + FIELD_SEPARATOR + columnIndex + FIELD_SEPARATOR + value;
+    }
+
+    /**
+     * Returns a record inserting a row before the given position.
+     */
+    public static String rowInserted(int rowIndex, Row row) {
+        return ROW_INSERTED + FIELD_SEPARATOR + rowIndex + FIELD_SEPARATOR + FileService.formatRow(row);
+    }
+
+    /**
+     * Returns a record replacing all cells of a row.
+     */
+    public static String rowReplaced(int rowIndex, Row row) {
+        return ROW_REPLACED + FIELD_SEPARATOR + rowIndex + FIELD_SEPARATOR + FileService.formatRow(row);
+    }
+
+    /**
+     * Returns a record removing a row and inserting it again at the given position, counted
+     * after the removal.
+     */
+    public static String rowMoved(int fromIndex, int toIndex) {
+        return ROW_MOVED + FIELD_SEPARATOR + fromIndex + FIELD_SEPARATOR + toIndex;
+    }
+
+    /**
+     * Appends records to the journal, starting it if the board file has none, and starts a
+     * background compaction once the journal has grown large enough.
+     *
+     * @param board   the board the records were taken from
+     * @param records the records to append, in order
+     * @throws IOException if the journal cannot be written
+     */
+    public synchronized void append(Board board, List<String> records) throws IOException {
+        if (journalBytes < 0 || !Files.exists(journalFile)) {
+            openJournal();
+        }
+        StringBuilder text = new StringBuilder();
+        for (String record : records) {
+            text.append(record).append(RECORD_END);
+        }
+        byte[] bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+        Files.write(journalFile, bytes, StandardOpenOption.APPEND);
+        journalBytes += bytes.length;
+        recordCount += records.size();
+
+        if ((compaction == null || compaction.isDone())
+                && recordCount >= Math.max(minimumCompactionRecords, board.getRowCount())) {
+            List<String> lines = new ArrayList<>(board.getRowCount());
+            board.getRows().forEach(row -> lines.add(FileService.formatRow(row)));
+            long offset = journalBytes;
+            long snapshotGeneration = generation;
+            compaction = compactor.submit(() -> compact(lines, offset, snapshotGeneration));
+        }
+    }
+
+    /**
+     * Writes the whole board file and starts an empty journal for it. Any compaction still in
+     * progress is discarded.
+     *
+     * @param lines the lines of the board file
+     * @throws IOException if the board file or the journal cannot be written
+     */
+    public synchronized void snapshot(List<String> lines) throws IOException {
+        generation++;
+        Path snapshot = Files.createTempFile(boardFile.getParent(), "board", ".snapshot");
+        try {
+            long checksum = writeLines(snapshot, lines);
+            Files.move(snapshot, boardFile, StandardCopyOption.REPLACE_EXISTING);
+            startJournal(checksum);
+        } finally {
+            Files.deleteIfExists(snapshot);
+        }
+    }
+
+    /**
+     * Applies the journal to rows loaded from the board file. A journal left behind by an
+     * interrupted compaction is taken over first.
+     *
+     * @param rows          the rows of the board file, modified in place
+     * @param boardChecksum the CRC-32 checksum of the board file
+     * @return the number of records applied
+     * @throws IOException if the journal cannot be read
+     */
+    public synchronized int replay(List<Row> rows, long boardChecksum) throws IOException {
+        if (Files.exists(pendingJournalFile)) {
+            if (readChecksum(pendingJournalFile) == boardChecksum) {
+                Files.move(pendingJournalFile, journalFile, StandardCopyOption.REPLACE_EXISTING);
+            } else {
+                Files.delete(pendingJournalFile);
+            }
+        }
+        if (!Files.exists(journalFile)) {
+            return 0;
+        }
+
+        String text = new String(Files.readAllBytes(journalFile), StandardCharsets.UTF_8);
+        List<String> records = completeRecords(text);
+        if (records.isEmpty() || !records.get(0).equals(CHECKSUM + FIELD_SEPARATOR + boardChecksum)) {
+            System.err.println("Error: The board journal does not match the board file and was ignored.");
+            startJournal(boardChecksum);
+            return 0;
+        }
+
+        int applied = 0;
+        for (String record : records.subList(1, records.size())) {
+            try {
+                apply(rows, record);
+                applied++;
+            } catch (RuntimeException e) {
+                System.err.println("Error: Invalid record in the board journal; " + (records.size() - 1 - applied) + " records were not applied.");
+                break;
+            }
+        }
+        journalBytes = text.getBytes(StandardCharsets.UTF_8).length;
+        recordCount = applied;
+        if (!text.isEmpty() && text.charAt(text.length() - 1) != RECORD_END) {
+            truncate(text);
+        }
+        return applied;
+    }
+
+    /**
+     * Deletes the journal, for when the board file is saved without one.
+     *
+     * @throws IOException if the journal cannot be deleted
+     */
+    public synchronized void delete() throws IOException {
+        generation++;
+        Files.deleteIfExists(journalFile);
+        Files.deleteIfExists(pendingJournalFile);
+        journalBytes = -1;
+        recordCount = 0;
+    }
+
+    /**
+     * Waits for a running compaction to finish.
+     */
+    void awaitCompaction() throws InterruptedException, ExecutionException {
+        Future<?> running;
+        synchronized (this) {
+            running = compaction;
+        }
+        if (running != null) {
+            running.get();
+        }
+    }
+
+    /**
+     * Returns the number of records in the journal.
+     */
+    synchronized int getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Writes a snapshot of the board and, if nothing replaced the board file meanwhile, swaps it
+     * in together with a journal holding only the records appended after the snapshot was taken.
+     * The new journal is written before the board file is replaced, so an interruption leaves
+     * either the old pair or a pending journal matching the new board file.
+     */
+    private void compact(List<String> lines, long offset, long snapshotGeneration) {
+        Path snapshot = null;
+        try {
+            snapshot = Files.createTempFile(boardFile.getParent(), "board", ".snapshot");
+            long checksum = writeLines(snapshot, lines);
+            synchronized (this) {
+                if (snapshotGeneration != generation) {
+                    return;
+                }
+                byte[] tail = readFrom(journalFile, offset);
+                byte[] header = (CHECKSUM + FIELD_SEPARATOR + checksum + RECORD_END).getBytes(StandardCharsets.UTF_8);
+                ByteBuffer journal = ByteBuffer.allocate(header.length + tail.length).put(header).put(tail);
+                Files.write(pendingJournalFile, journal.array());
+                Files.move(snapshot, boardFile, StandardCopyOption.REPLACE_EXISTING);
+                Files.move(pendingJournalFile, journalFile, StandardCopyOption.REPLACE_EXISTING);
+                journalBytes = journal.capacity();
+                recordCount = 0;
+                for (byte b : tail) {
+                    if (b == RECORD_END) {
+                        recordCount++;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error: An I/O error occurred while compacting the board journal.");
+        } finally {
+            try {
+                if (snapshot != null) {
+                    Files.deleteIfExists(snapshot);
+                }
+            } catch (IOException e) {
+                System.err.println("Error: An I/O error occurred while deleting a board snapshot.");
+            }
+        }
+    }
+
+    /**
+     * Continues the existing journal if it belongs to the current board file, otherwise starts a
+     * new one.
+     */
+    private void openJournal() throws IOException {
+        long boardChecksum = checksum(boardFile);
+        if (Files.exists(journalFile) && readChecksum(journalFile) == boardChecksum) {
+            String text = new String(Files.readAllBytes(journalFile), StandardCharsets.UTF_8);
+            if (!text.isEmpty() && text.charAt(text.length() - 1) != RECORD_END) {
+                truncate(text);
+            }
+            journalBytes = Files.size(journalFile);
+            recordCount = completeRecords(text).size() - 1;
+        } else {
+            startJournal(boardChecksum);
+        }
+    }
+
+    private void startJournal(long boardChecksum) throws IOException {
+        byte[] header = (CHECKSUM + FIELD_SEPARATOR + boardChecksum + RECORD_END).getBytes(StandardCharsets.UTF_8);
+        Files.write(journalFile, header);
+        journalBytes = header.length;
+        recordCount = 0;
+    }
+
+    private void truncate(String text) throws IOException {
+        byte[] complete = text.substring(0, text.lastIndexOf(RECORD_END) + 1).getBytes(StandardCharsets.UTF_8);
+        Files.write(journalFile, complete);
+        journalBytes = complete.length;
+    }
+
+    private static void apply(List<Row> rows, String record) {
+        String[] fields = record.split(Character.toString(FIELD_SEPARATOR), 4);
+        switch (fields[0]) {
+            case CELL_CHANGED -> rows.get(Integer.parseInt(fields[1])).getCells()
+                    .get(Integer.parseInt(fields[2])).setValue(fields[3]);
+            case ROW_INSERTED -> rows.add(Integer.parseInt(fields[1]), FileService.parseRow(fields[2]));
+            case ROW_REPLACED -> rows.set(Integer.parseInt(fields[1]), FileService.parseRow(fields[2]));
+            case ROW_MOVED -> rows.add(Integer.parseInt(fields[2]), rows.remove(Integer.parseInt(fields[1])));
+            default -> throw new IllegalArgumentException("Unknown journal record: " + fields[0]);
+        }
+    }
+
+    private static List<String> completeRecords(String text) {
+        List<String> records = new ArrayList<>();
+        int start = 0;
+        for (int end = text.indexOf(RECORD_END); end >= 0; end = text.indexOf(RECORD_END, start)) {
+            records.add(text.substring(start, end));
+            start = end + 1;
+        }
+        return records;
+    }
+
+    private static long readChecksum(Path journal) throws IOException {
+        List<String> records = completeRecords(new String(Files.readAllBytes(journal), StandardCharsets.UTF_8));
+        if (records.isEmpty() || !records.get(0).startsWith(CHECKSUM + FIELD_SEPARATOR)) {
+            return -1;
+        }
+        return Long.parseLong(records.get(0).substring(2));
+    }
+
+    private static byte[] readFrom(Path file, long offset) throws IOException {
+        try (SeekableByteChannel channel = Files.newByteChannel(file)) {
+            ByteBuffer buffer = ByteBuffer.allocate((int) (channel.size() - offset));
+            channel.position(offset);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // Keep reading until the buffer is full.
+            }
+            return buffer.array();
+        }
+    }
+
+    /**
+     * Writes lines the way the board file is saved and returns their CRC-32 checksum.
+     */
+    private static long writeLines(Path file, List<String> lines) throws IOException {
+        CRC32 crc = new CRC32();
+        try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
+                new CheckedOutputStream(Files.newOutputStream(file), crc), StandardCharsets.UTF_8))) {
+            for (String line : lines) {
+                writer.write(line);
+                writer.write(System.lineSeparator());
+            }
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * Returns the CRC-32 checksum of a file's contents.
+     *
+     * @param file the file to check
+     * @return the checksum
+     * @throws IOException if the file cannot be read
+     */
+    public static long checksum(Path file) throws IOException {
+        CRC32 crc = new CRC32();
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = Files.newInputStream(file)) {
+            for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+                crc.update(buffer, 0, read);
+            }
+        }
+        return crc.getValue();
+    }
+}
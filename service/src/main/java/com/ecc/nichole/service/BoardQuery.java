@@ -0,0 +1,159 @@
+package com.ecc.nichole.service;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.ecc.nichole.model.Board;
+import com.ecc.nichole.model.Cell;
+import com.ecc.nichole.model.Row;
+import com.ecc.nichole.model.SortOrder;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Read-only queries over the key + value order of a board's cells that neither sort nor modify
+ * the board. Rows are scanned one at a time; when the board is known to be sorted, only the part
+ * of each row that can contain results is looked at.
+ */
+public class BoardQuery {
+
+    /**
+     * Returns the first cells of the board in key + value order, using a heap bounded to the
+     * requested number of cells. Cells with equal key + value are ordered by position.
+     *
+     * @param board     the Board to query
+     * @param limit     the maximum number of cells to return
+     * @param sortOrder ASCENDING for the smallest cells, DESCENDING for the largest
+     * @return up to {@code limit} cells, in the requested order
+     */
+    public List<CellEntry> findTopCells(Board board, int limit, SortOrder sortOrder) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative");
+        }
+        if (limit == 0) {
+            return new ArrayList<>();
+        }
+        Comparator<Candidate> order = candidateComparator(sortOrder);
+        PriorityQueue<Candidate> heap = new PriorityQueue<>(limit, order.reversed());
+
+        List<Row> rows = board.getRows();
+        for (int rowIndex = 0; rowIndex < board.getRowCount(); rowIndex++) {
+            List<Cell> cells = rows.get(rowIndex).getCells();
+            int fromColumn = 0;
+            int toColumn = cells.size();
+            if (board.getSortOrder() == sortOrder) {
+                toColumn = Math.min(toColumn, limit);
+            } else if (board.getSortOrder() != null) {
+                fromColumn = Math.max(0, toColumn - limit);
+            }
+            for (int colIndex = fromColumn; colIndex < toColumn; colIndex++) {
+                Cell cell = cells.get(colIndex);
+                String text = cell.getKey() + cell.getValue();
+                if (heap.size() < limit) {
+                    heap.add(new Candidate(text, new CellEntry(rowIndex, colIndex, cell.getKey(), cell.getValue())));
+                } else if (compareText(text, heap.peek().text, sortOrder) < 0) {
+                    heap.poll();
+                    heap.add(new Candidate(text, new CellEntry(rowIndex, colIndex, cell.getKey(), cell.getValue())));
+                }
+            }
+        }
+
+        List<Candidate> candidates = new ArrayList<>(heap);
+        candidates.sort(order);
+        List<CellEntry> topCells = new ArrayList<>(candidates.size());
+        candidates.forEach(candidate -> topCells.add(candidate.entry));
+        return topCells;
+    }
+
+    /**
+     * Streams the cells whose key + value lies between two bounds, inclusive, in board order.
+     *
+     * @param board the Board to query
+     * @param from  the lower bound
+     * @param to    the upper bound
+     * @return the cells within the range, ordered by row and column; the board must not be
+     *         modified while the stream is being consumed
+     */
+    public Stream<CellEntry> streamCellsInRange(Board board, String from, String to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Range bounds cannot be null");
+        }
+        if (from.compareTo(to) > 0) {
+            return Stream.empty();
+        }
+        SortOrder sortOrder = board.getSortOrder();
+        List<Row> rows = board.getRows();
+        return IntStream.range(0, board.getRowCount()).boxed().flatMap(rowIndex -> {
+            List<Cell> cells = rows.get(rowIndex).getCells();
+            int fromColumn = 0;
+            int toColumn = cells.size();
+            if (sortOrder == SortOrder.ASCENDING) {
+                fromColumn = firstColumnAfter(cells, from, false, sortOrder);
+                toColumn = firstColumnAfter(cells, to, true, sortOrder);
+            } else if (sortOrder == SortOrder.DESCENDING) {
+                fromColumn = firstColumnAfter(cells, to, false, sortOrder);
+                toColumn = firstColumnAfter(cells, from, true, sortOrder);
+            }
+            List<CellEntry> found = new ArrayList<>();
+            for (int colIndex = fromColumn; colIndex < toColumn; colIndex++) {
+                Cell cell = cells.get(colIndex);
+                String text = cell.getKey() + cell.getValue();
+                if (text.compareTo(from) >= 0 && text.compareTo(to) <= 0) {
+                    found.add(new CellEntry(rowIndex, colIndex, cell.getKey(), cell.getValue()));
+                }
+            }
+            return found.stream();
+        });
+    }
+
+    /**
+     * Returns the first column of a sorted row whose cell comes after the bound in the row's
+     * order, or, if {@code inclusive} is false, the first column that does not come before it.
+     */
+    private static int firstColumnAfter(List<Cell> cells, String bound, boolean inclusive, SortOrder sortOrder) {
+        int low = 0;
+        int high = cells.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            Cell cell = cells.get(middle);
+            int compared = StringUtils.compare(cell.getKey() + cell.getValue(), bound);
+            if (sortOrder == SortOrder.DESCENDING) {
+                compared = -compared;
+            }
+            if (compared < 0 || (inclusive && compared == 0)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static int compareText(String text, String other, SortOrder sortOrder) {
+        int compared = StringUtils.compare(text, other);
+        return sortOrder == SortOrder.ASCENDING ? compared : -compared;
+    }
+
+    private static Comparator<Candidate> candidateComparator(SortOrder sortOrder) {
+        Comparator<Candidate> byText = (c1, c2) -> compareText(c1.text, c2.text, sortOrder);
+        return byText.thenComparingInt(candidate -> candidate.entry.getRow())
+                .thenComparingInt(candidate -> candidate.entry.getColumn());
+    }
+
+    /**
+     * A cell kept in the top-K heap together with its key + value, so the text is built once.
+     */
+    private static final class Candidate {
+        private final String text;
+        private final CellEntry entry;
+
+        Candidate(String text, CellEntry entry) {
+            this.text = text;
+            this.entry = entry;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.ecc.nichole.service;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.ecc.nichole.model.Board;
+import com.ecc.nichole.model.Cell;
+import com.ecc.nichole.model.PackedBoard;
+import com.ecc.nichole.model.Row;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Scans a board's cells for a string, splitting large boards into row ranges that are searched
+ * concurrently on a fork-join pool. Results are always returned in row, column and position
+ * order, exactly as a sequential scan would produce them. Packed boards are scanned directly
+ * over their raw cell bytes.
+ */
+public class BoardSearcher implements AutoCloseable {
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 100_000;
+    private static final int TASKS_PER_THREAD = 4;
+    private static final int STREAM_CHUNK_CELLS = 8192;
+
+    private final int parallelism;
+    private final int parallelThreshold;
+    private ForkJoinPool pool;
+
+    /**
+     * Creates a searcher using one thread per available processor.
+     */
+    public BoardSearcher() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Creates a searcher with the given pool size and parallel threshold.
+     *
+     * @param parallelism       the number of threads used for parallel searches
+     * @param parallelThreshold the minimum number of cells for which a search runs in parallel
+     */
+    public BoardSearcher(int parallelism, int parallelThreshold) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        this.parallelism = parallelism;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Gets the number of threads used for parallel searches.
+     *
+     * @return the parallelism
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Finds every occurrence of a string, searching in parallel when the board is large enough.
+     *
+     * @param board        the Board to search
+     * @param stringToFind the string to search for
+     * @return the matches ordered by row, column and position
+     */
+    public List<SearchMatch> find(Board board, String stringToFind) {
+        int rowCount = board.getRowCount();
+        long estimatedCells = (long) rowCount * board.getColumnCount();
+        if (parallelism == 1 || rowCount < 2 || estimatedCells < parallelThreshold) {
+            return find(board, stringToFind, 0, rowCount);
+        }
+
+        int taskCount = Math.min(rowCount, parallelism * TASKS_PER_THREAD);
+        List<Callable<List<SearchMatch>>> tasks = new ArrayList<>(taskCount);
+        for (int task = 0; task < taskCount; task++) {
+            int fromRow = (int) ((long) rowCount * task / taskCount);
+            int toRow = (int) ((long) rowCount * (task + 1) / taskCount);
+            tasks.add(() -> find(board, stringToFind, fromRow, toRow));
+        }
+
+        List<SearchMatch> matches = new ArrayList<>();
+        try {
+            for (Future<List<SearchMatch>> result : getPool().invokeAll(tasks)) {
+                matches.addAll(result.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Search was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Search failed: " + e.getCause().getMessage(), e.getCause());
+        }
+        return matches;
+    }
+
+    /**
+     * Lazily streams every occurrence of a string. Rows are scanned in small chunks as the stream
+     * is consumed, so memory use is bounded by the matches of one chunk rather than of the board.
+     *
+     * @param board        the Board to search
+     * @param stringToFind the string to search for
+     * @return the matches ordered by row, column and position
+     */
+    public Stream<SearchMatch> stream(Board board, String stringToFind) {
+        int rowCount = board.getRowCount();
+        int rowsPerChunk = Math.max(1, STREAM_CHUNK_CELLS / Math.max(1, board.getColumnCount()));
+        int chunkCount = (int) (((long) rowCount + rowsPerChunk - 1) / rowsPerChunk);
+        return IntStream.range(0, chunkCount).boxed().flatMap(chunk -> {
+            int fromRow = chunk * rowsPerChunk;
+            return find(board, stringToFind, fromRow, (int) Math.min(rowCount, (long) fromRow + rowsPerChunk)).stream();
+        });
+    }
+
+    /**
+     * Sequentially finds every occurrence of a string within a range of rows.
+     *
+     * @param board        the Board to search
+     * @param stringToFind the string to search for
+     * @param fromRow      the first row to search, inclusive
+     * @param toRow        the last row to search, exclusive
+     * @return the matches ordered by row, column and position
+     */
+    public List<SearchMatch> find(Board board, String stringToFind, int fromRow, int toRow) {
+        if (board instanceof PackedBoard) {
+            return PackedSearchKernel.find((PackedBoard) board, stringToFind, fromRow, toRow);
+        }
+        List<SearchMatch> matches = new ArrayList<>();
+        List<Row> rows = board.getRows();
+        for (int rowIndex = fromRow; rowIndex < toRow; rowIndex++) {
+            Row row = rows.get(rowIndex);
+            List<Cell> cells = row.getCells();
+            for (int colIndex = 0; colIndex < row.getColumnCount(); colIndex++) {
+                Cell cell = cells.get(colIndex);
+                String cellValue = cell.getKey() + cell.getValue();
+                int startIndex = StringUtils.indexOf(cellValue, stringToFind);
+
+                while (startIndex != -1) {
+                    matches.add(new SearchMatch(rowIndex, colIndex, startIndex, startIndex + stringToFind.length() - 1));
+                    startIndex = StringUtils.indexOf(cellValue, stringToFind, startIndex + 1);
+                }
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Shuts down the thread pool, if one was started. Searches already running finish first, and a
+     * later parallel search starts a new pool.
+     */
+    @Override
+    public synchronized void close() {
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+    }
+
+    private synchronized ForkJoinPool getPool() {
+        if (pool == null) {
+            pool = new ForkJoinPool(parallelism);
+        }
+        return pool;
+    }
+}
@@ -1,17 +1,26 @@
 package com.ecc.nichole.service;
 
-import org.apache.commons.lang3.StringUtils;
-
 import com.ecc.nichole.model.Board;
 import com.ecc.nichole.model.Cell;
+import com.ecc.nichole.model.ChunkedBoard;
+import com.ecc.nichole.model.MappedBoard;
+import com.ecc.nichole.model.PackedBoard;
 import com.ecc.nichole.model.Row;
+import com.ecc.nichole.model.SortOrder;
 import com.ecc.nichole.service.RowService;
 import com.ecc.nichole.util.Utils;
 
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+import java.util.WeakHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service class for managing operations on a Board.
@@ -22,8 +31,15 @@ public class BoardService {
     private final FileService fileService;
     private static final int MINIMUM_CELL_LENGTH = 1;
     private static final int MAXIMUM_CELL_LENGTH = 3;
-    private static final int ASCENDING_ORDER = 1;
-    private static final int DESCENDING_ORDER = 2;
+    private final Map<Board, SearchIndex> searchIndexes = new WeakHashMap<>();
+    private BoardSearcher boardSearcher = new BoardSearcher();
+    private BoardSorter boardSorter = new BoardSorter();
+    private BoardGenerator boardGenerator = new BoardGenerator();
+    private SplittableRandom seeds = new SplittableRandom(System.currentTimeMillis());
+    private boolean indexedSearch = true;
+    private SearchCache searchCache = new SearchCache();
+    private SortOrder keptSortOrder;
+    private final BoardQuery boardQuery = new BoardQuery();
 
     /**
      * Constructor initializes required services.
@@ -35,23 +51,153 @@ public class BoardService {
     }
 
     /**
-     * Loads a board from the given file.
+     * Sets the number of threads used when a search scans the board instead of using the index,
+     * shutting down the threads of the previous searcher.
+     *
+     * @param parallelism the number of search threads, 1 for sequential searches
+     */
+    public void setSearchParallelism(int parallelism) {
+        BoardSearcher previous = boardSearcher;
+        this.boardSearcher = new BoardSearcher(parallelism, BoardSearcher.DEFAULT_PARALLEL_THRESHOLD);
+        previous.close();
+    }
+
+    /**
+     * Sets the number of threads used to sort large boards, shutting down the threads of the
+     * previous sorter.
+     *
+     * @param parallelism the number of sort threads, 1 for sequential sorts
+     */
+    public void setSortParallelism(int parallelism) {
+        BoardSorter previous = boardSorter;
+        this.boardSorter = new BoardSorter(parallelism, BoardSorter.DEFAULT_PARALLEL_THRESHOLD);
+        previous.close();
+    }
+
+    /**
+     * Sets the number of threads used to generate large boards from a seed, shutting down the
+     * threads of the previous generator.
+     *
+     * @param parallelism the number of generation threads, 1 for sequential generation
+     */
+    public void setGenerationParallelism(int parallelism) {
+        BoardGenerator previous = boardGenerator;
+        this.boardGenerator = new BoardGenerator(parallelism, BoardGenerator.DEFAULT_PARALLEL_THRESHOLD);
+        previous.close();
+    }
+
+    /**
+     * Sets the seed from which reset boards and added rows are generated. Each reset or add draws
+     * the next seed from it, so the same seed and the same input always give the same boards.
+     *
+     * @param seed the seed, by default the time the service was created
+     */
+    public void setSeed(long seed) {
+        this.seeds = new SplittableRandom(seed);
+    }
+
+    /**
+     * Keeps every loaded, created or reset board sorted in the given order. A sorted board stays sorted
+     * through edits and added rows whether or not this is set.
+     *
+     * @param sortOrder the order to sort boards in when they are loaded or created, or null to leave them as they are
+     */
+    public void setKeepSorted(SortOrder sortOrder) {
+        this.keptSortOrder = sortOrder;
+    }
+
+    /**
+     * Enables or disables the per-board search index. Without it, every search scans the board.
+     *
+     * @param indexedSearch true to answer searches from the index
+     */
+    public void setIndexedSearch(boolean indexedSearch) {
+        this.indexedSearch = indexedSearch;
+        if (!indexedSearch) {
+            searchIndexes.clear();
+        }
+    }
+
+    /**
+     * Replaces the search result cache with one of the given size. A size of 0 disables caching.
+     *
+     * @param maximumEntries the maximum number of cached search results
+     */
+    public void setSearchCacheSize(int maximumEntries) {
+        this.searchCache = new SearchCache(maximumEntries, SearchCache.DEFAULT_MAXIMUM_MATCHES);
+    }
+
+    /**
+     * Gets the search result cache, whose counters show how well it is sized.
+     *
+     * @return the search cache
+     */
+    public SearchCache getSearchCache() {
+        return searchCache;
+    }
+
+    /**
+     * Loads a board from the given file and sorts it in the kept sort order. The search index of
+     * a board parsed onto the heap is built right away. A {@link PackedBoard}, such as a board
+     * mapped from a binary file, is indexed on its first search instead, so that opening it does
+     * not read every cell. A {@link PagedBoard} is neither sorted nor indexed, so that its rows
+     * are only read when needed.
      *
      * @param fileName the name of the file to load the board from
      * @return the loaded Board object
      */
     public Board loadBoard(String fileName) {
-        return fileService.loadBoardFromTextFile(fileName);
+        Board board;
+        if (fileService.isBinaryBoardFile(fileName)) {
+            board = fileService.loadBoardFromBinaryFile(fileName);
+        } else if (fileService.isCompressedBoardFile(fileName)) {
+            board = fileService.loadBoardFromCompressedFile(fileName);
+        } else {
+            board = fileService.loadBoardFromTextFile(fileName);
+        }
+        if (board != null && !(board instanceof PagedBoard)) {
+            applyKeptSortOrder(board);
+        }
+        if (board != null && indexedSearch && !(board instanceof PagedBoard) && !(board instanceof PackedBoard)) {
+            getSearchIndex(board);
+        }
+        return board;
     }
 
     /**
-     * Saves the current board to the given file.
+     * Saves the current board to the given file. A board mapped from a binary file or saved over
+     * one is saved in the binary format, a board saved over a compressed file in the compressed
+     * format, and any other board in the text format.
      *
      * @param board    the Board to save
      * @param fileName the file name to save the Board to
      */
     public void saveBoard(Board board, String fileName) {
-        fileService.saveBoardToTextFile(board, fileName);
+        if (board instanceof MappedBoard || fileService.isBinaryBoardFile(fileName)) {
+            fileService.saveBoardToBinaryFile(board, fileName);
+        } else if (fileService.isCompressedBoardFile(fileName)) {
+            fileService.saveBoardToCompressedFile(board, fileName);
+        } else {
+            fileService.saveBoardToTextFile(board, fileName);
+        }
+    }
+
+    /**
+     * Sorts a board file in place without loading it, keeping memory use within the given budget.
+     * The result is the same as loading, sorting and saving the board.
+     *
+     * @param fileName     the board file to sort
+     * @param sortOrder    the order to sort in
+     * @param memoryBudget the approximate number of bytes of rows to hold in memory
+     */
+    public void sortFile(String fileName, SortOrder sortOrder, long memoryBudget) {
+        try {
+            new ExternalBoardSorter(memoryBudget).sort(fileName, fileName, sortOrder);
+        } catch (IOException e) {
+            System.err.println("Error: An I/O error occurred while sorting the board file.");
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+        }
     }
 
     /**
@@ -62,15 +208,46 @@ public class BoardService {
      * @param columns       the number of columns to create
      */
     public Board createBoard(RowService rowService, int rows, int columns) {
-        Board board = new Board();
-        board.setRows(new ArrayList());
+        Board board = new ChunkedBoard();
         for (int i = 0; i < rows; i++) {
             Row row = rowService.createRow(columns);
             board.getRows().add(row);
         }
+        applyKeptSortOrder(board);
         return board;
     }
 
+    /**
+     * Creates a board of random cells from a seed. The same seed always gives the same board,
+     * whatever the generation parallelism.
+     *
+     * @param seed    the seed for the cell values
+     * @param rows    the number of rows to create
+     * @param columns the number of columns to create
+     * @return the created Board
+     */
+    public Board createBoard(long seed, int rows, int columns) {
+        Board board = boardGenerator.generate(seed, rows, columns);
+        applyKeptSortOrder(board);
+        return board;
+    }
+
+    /**
+     * Sorts the board in the kept sort order, if any. Boards with an empty row cannot be kept
+     * sorted and are left as they are.
+     *
+     * @param board the Board to sort
+     */
+    private void applyKeptSortOrder(Board board) {
+        if (keptSortOrder == null || board.getSortOrder() == keptSortOrder
+                || board.getRows().stream().anyMatch(row -> row.getColumnCount() == 0)) {
+            return;
+        }
+        boardSorter.sort(board, keptSortOrder);
+        board.setSortOrder(keptSortOrder);
+        board.markModified();
+    }
+
     /**
      * Prints the board to the console.
      *
@@ -87,43 +264,242 @@ public class BoardService {
      * @param board the Board to search
      */
     public void search(Board board) {
-        int occurrences = 0;
-        ArrayList<StringBuilder> stringMatches = new ArrayList<>();
         String stringToFind = Utils.getValidatedString("String to find: ", MINIMUM_CELL_LENGTH, MAXIMUM_CELL_LENGTH);
+        List<SearchMatch> cached = searchCache.get(board, stringToFind);
+        Iterator<SearchMatch> matches = cached != null ? cached.iterator() : streamUncachedMatches(board, stringToFind).iterator();
+        List<SearchMatch> found = cached == null ? new ArrayList<>() : null;
+        int occurrences = 0;
 
-        for (int rowIndex = 0; rowIndex < board.getRowCount(); rowIndex++) {
-            Row row = board.getRows().get(rowIndex);
-            for (int colIndex = 0; colIndex < row.getColumnCount(); colIndex++) {
-                Cell cell = row.getCells().get(colIndex);
-                String cellValue = cell.getKey() + cell.getValue();
-                int startIndex = StringUtils.indexOf(cellValue, stringToFind);
-
-                while (startIndex != -1) {
-                    occurrences++;
-                    int endIndex = startIndex + stringToFind.length() - 1;
-                    StringBuilder stringBuilder = new StringBuilder();
-                    stringBuilder.append("Found at cell position [").append(rowIndex + 1).append("][").append(colIndex + 1).append("]")
-                            .append(" within value ").append(cellValue).append(" at position [").append(startIndex + 1).append("]");
-                    if (stringToFind.length() > 1) {
-                        stringBuilder.append(" to [").append(endIndex + 1).append("]");
-                    }
-                    stringMatches.add(stringBuilder);
-                    startIndex = StringUtils.indexOf(cellValue, stringToFind, startIndex + 1);
-                }
+        while (matches.hasNext()) {
+            SearchMatch match = matches.next();
+            if (occurrences == 0) {
+                System.out.println("String matches for '" + stringToFind + "': ");
+            }
+            occurrences++;
+            System.out.println(occurrences + ". " + formatMatch(board, match, stringToFind));
+            if (found != null && found.size() < searchCache.getMaximumMatches()) {
+                found.add(match);
+            } else {
+                found = null;
             }
         }
+        if (found != null) {
+            searchCache.put(board, stringToFind, found);
+        }
 
         if (occurrences > 0) {
             System.out.println("Total occurrences: " + occurrences);
-            System.out.println("String matches for '" + stringToFind + "': ");
-            for (StringBuilder stringMatch : stringMatches) {
-                System.out.println(stringMatch);
-            }
         } else {
             System.out.println("String '" + stringToFind + "' was not found in the board.");
         }
     }
 
+    /**
+     * Searches for several comma-separated strings at once and prints the occurrences and positions
+     * of each one.
+     *
+     * @param board the Board to search
+     */
+    public void batchSearch(Board board) {
+        List<String> stringsToFind = Utils.getValidatedStringList("Strings to find (comma-separated): ", ",", MINIMUM_CELL_LENGTH, MAXIMUM_CELL_LENGTH);
+        Map<String, List<SearchMatch>> matchesByString = findAllMatches(board, stringsToFind);
+
+        for (Map.Entry<String, List<SearchMatch>> entry : matchesByString.entrySet()) {
+            String stringToFind = entry.getKey();
+            List<SearchMatch> matches = entry.getValue();
+            if (!matches.isEmpty()) {
+                System.out.println("Total occurrences of '" + stringToFind + "': " + matches.size());
+                for (SearchMatch match : matches) {
+                    System.out.println(formatMatch(board, match, stringToFind));
+                }
+            } else {
+                System.out.println("String '" + stringToFind + "' was not found in the board.");
+            }
+        }
+    }
+
+    /**
+     * Finds every occurrence of several strings with a single pass over the board's cells. Strings
+     * whose matches are cached for the current version of the board are not searched again.
+     *
+     * @param board         the Board to search
+     * @param stringsToFind the strings to search for
+     * @return the matches of each distinct string, in the order the strings were given, each
+     *         ordered by row, column and position
+     */
+    public Map<String, List<SearchMatch>> findAllMatches(Board board, List<String> stringsToFind) {
+        Map<String, List<SearchMatch>> matchesByString = new LinkedHashMap<>();
+        List<String> uncached = new ArrayList<>();
+        for (String stringToFind : new PatternAutomaton(stringsToFind).getPatterns()) {
+            List<SearchMatch> cached = searchCache.get(board, stringToFind);
+            matchesByString.put(stringToFind, cached != null ? new ArrayList<>(cached) : null);
+            if (cached == null) {
+                uncached.add(stringToFind);
+            }
+        }
+        if (uncached.isEmpty()) {
+            return matchesByString;
+        }
+
+        PatternAutomaton automaton = new PatternAutomaton(uncached);
+        List<String> patterns = automaton.getPatterns();
+        List<List<SearchMatch>> found = new ArrayList<>(patterns.size());
+        patterns.forEach(pattern -> found.add(new ArrayList<>()));
+
+        List<Row> rows = board.getRows();
+        for (int rowIndex = 0; rowIndex < board.getRowCount(); rowIndex++) {
+            Row row = rows.get(rowIndex);
+            List<Cell> cells = row.getCells();
+            for (int colIndex = 0; colIndex < row.getColumnCount(); colIndex++) {
+                Cell cell = cells.get(colIndex);
+                int matchRow = rowIndex;
+                int matchColumn = colIndex;
+                automaton.scan(cell.getKey() + cell.getValue(), (patternIndex, start) -> found.get(patternIndex).add(
+                        new SearchMatch(matchRow, matchColumn, start, start + patterns.get(patternIndex).length() - 1)));
+            }
+        }
+
+        for (int i = 0; i < patterns.size(); i++) {
+            matchesByString.put(patterns.get(i), found.get(i));
+            searchCache.put(board, patterns.get(i), new ArrayList<>(found.get(i)));
+        }
+        return matchesByString;
+    }
+
+    /**
+     * Finds every occurrence of a string within the board's cells, using the board's search index
+     * when enabled and the string is short enough to be indexed, and a parallel scan otherwise.
+     * Results are cached until the board is modified.
+     *
+     * @param board        the Board to search
+     * @param stringToFind the string to search for
+     * @return the matches ordered by row, column and position
+     */
+    public List<SearchMatch> findMatches(Board board, String stringToFind) {
+        List<SearchMatch> cached = searchCache.get(board, stringToFind);
+        if (cached != null) {
+            return new ArrayList<>(cached);
+        }
+        List<SearchMatch> matches = null;
+        if (indexedSearch && SearchIndex.supports(stringToFind)) {
+            SearchIndex searchIndex = getSearchIndex(board);
+            if (searchIndex != null) {
+                matches = searchIndex.find(board, stringToFind);
+            }
+        }
+        if (matches == null) {
+            matches = boardSearcher.find(board, stringToFind);
+        }
+        searchCache.put(board, stringToFind, new ArrayList<>(matches));
+        return matches;
+    }
+
+    /**
+     * Returns one page of the occurrences of a string within the board's cells.
+     *
+     * @param board        the Board to search
+     * @param stringToFind the string to search for
+     * @param offset       the number of matches to skip
+     * @param limit        the maximum number of matches to return
+     * @return the requested matches ordered by row, column and position
+     */
+    public List<SearchMatch> findMatches(Board board, String stringToFind, long offset, int limit) {
+        return streamMatches(board, stringToFind).skip(offset).limit(limit).collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    /**
+     * Lazily streams the occurrences of a string within the board's cells, from the cache when the
+     * result is cached. The board must not be modified while the stream is being consumed.
+     *
+     * @param board        the Board to search
+     * @param stringToFind the string to search for
+     * @return the matches ordered by row, column and position
+     */
+    public Stream<SearchMatch> streamMatches(Board board, String stringToFind) {
+        List<SearchMatch> cached = searchCache.get(board, stringToFind);
+        return cached != null ? cached.stream() : streamUncachedMatches(board, stringToFind);
+    }
+
+    private Stream<SearchMatch> streamUncachedMatches(Board board, String stringToFind) {
+        if (indexedSearch && SearchIndex.supports(stringToFind)) {
+            SearchIndex searchIndex = getSearchIndex(board);
+            if (searchIndex != null) {
+                return searchIndex.stream(board, stringToFind);
+            }
+        }
+        return boardSearcher.stream(board, stringToFind);
+    }
+
+    /**
+     * Returns the first cells of the board in key + value order without sorting or saving it.
+     *
+     * @param board     the Board to query
+     * @param limit     the maximum number of cells to return
+     * @param sortOrder ASCENDING for the smallest cells, DESCENDING for the largest
+     * @return up to {@code limit} cells with their positions, in the requested order
+     */
+    public List<CellEntry> findTopCells(Board board, int limit, SortOrder sortOrder) {
+        return boardQuery.findTopCells(board, limit, sortOrder);
+    }
+
+    /**
+     * Streams the cells whose key + value lies between two bounds, inclusive, without sorting or
+     * saving the board.
+     *
+     * @param board the Board to query
+     * @param from  the lower bound
+     * @param to    the upper bound
+     * @return the cells within the range with their positions, ordered by row and column
+     */
+    public Stream<CellEntry> streamCellsInRange(Board board, String from, String to) {
+        return boardQuery.streamCellsInRange(board, from, to);
+    }
+
+    /**
+     * Returns the search index of the board, building it on first use and rebuilding it if the
+     * board was modified behind the index's back.
+     *
+     * @param board the Board to index
+     * @return the search index, or null if the board is paged or cannot be indexed
+     */
+    private SearchIndex getSearchIndex(Board board) {
+        if (board instanceof PagedBoard) {
+            return null;
+        }
+        SearchIndex searchIndex = searchIndexes.get(board);
+        if (searchIndex == null) {
+            try {
+                searchIndex = new SearchIndex(board);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+            searchIndexes.put(board, searchIndex);
+        } else if (!searchIndex.isCurrent(board)) {
+            searchIndex.rebuild(board);
+        }
+        return searchIndex;
+    }
+
+    /**
+     * Tells whether a search index has been built for the board.
+     *
+     * @return true if the board has a search index
+     */
+    boolean hasSearchIndex(Board board) {
+        return searchIndexes.containsKey(board);
+    }
+
+    private String formatMatch(Board board, SearchMatch match, String stringToFind) {
+        Cell cell = board.getRows().get(match.getRow()).getCells().get(match.getColumn());
+        StringBuilder stringBuilder = new StringBuilder();
+        stringBuilder.append("Found at cell position [").append(match.getRow() + 1).append("][").append(match.getColumn() + 1).append("]")
+                .append(" within value ").append(cell.getKey()).append(cell.getValue()).append(" at position [").append(match.getStart() + 1).append("]");
+        if (stringToFind.length() > 1) {
+            stringBuilder.append(" to [").append(match.getEnd() + 1).append("]");
+        }
+        return stringBuilder.toString();
+    }
+
     /**
      * Edits a specific cell in the board by generating a new random value for it.
      *
@@ -142,13 +518,177 @@ public class BoardService {
         String newValue = cellService.generateValue();
         cell.setKey(originalKey);
         cell.setValue(newValue);
-        fileService.saveBoardToTextFile(board, fileName);
+        board.markRowDirty(specificRow);
+        SearchIndex searchIndex = searchIndexes.get(board);
+        if (searchIndex != null) {
+            searchIndex.cellChanged(board, specificRow, specificColumn, originalKey + previousValue, originalKey + newValue);
+        }
+        int[] position = {specificRow, specificColumn};
+        List<String> records = new ArrayList<>();
+        if (board.getSortOrder() != null) {
+            position = keepSorted(board, specificRow, specificColumn, searchIndex);
+            records.add(BoardJournal.rowReplaced(specificRow, board.getRows().get(position[0])));
+            if (position[0] != specificRow) {
+                records.add(BoardJournal.rowMoved(specificRow, position[0]));
+            }
+        } else {
+            records.add(BoardJournal.cellChanged(specificRow, specificColumn, newValue));
+        }
+        saveChanges(board, fileName, records);
 
         System.out.println("Successfully updated cell [" + (specificRow + 1) + "][" + (specificColumn + 1) + "] at key [" + originalKey + "] from " + previousValue + " to " + newValue);
+        if (position[0] != specificRow || position[1] != specificColumn) {
+            System.out.println("Cell moved to [" + (position[0] + 1) + "][" + (position[1] + 1) + "] to keep the board sorted.");
+        }
     }
 
     /**
-     * Resets the board with a new number of rows and columns.
+     * Applies several cell edits as one transaction and saves the board once. Every edit is
+     * validated before any cell changes, random values are generated up front, and if a cell
+     * rejects its new value the cells already changed are restored. A sorted board is put back
+     * into sorted order afterwards.
+     *
+     * @param board    the Board to edit
+     * @param edits    the edits to apply, in order
+     * @param fileName the file name to save the modified Board
+     * @return the number of edits applied
+     * @throws IndexOutOfBoundsException if an edit refers to a cell outside the board
+     * @throws IllegalArgumentException  if a new value is not exactly 3 printable ASCII characters
+     */
+    public int editCells(Board board, List<CellEdit> edits, String fileName) {
+        List<Row> rows = board.getRows();
+        for (CellEdit edit : edits) {
+            if (edit.getRow() < 0 || edit.getRow() >= board.getRowCount()) {
+                throw new IndexOutOfBoundsException("Row out of range in edit " + edit);
+            }
+            if (edit.getColumn() < 0 || edit.getColumn() >= rows.get(edit.getRow()).getCells().size()) {
+                throw new IndexOutOfBoundsException("Column out of range in edit " + edit);
+            }
+            if (!edit.isRegenerate() && !CellService.isValidValue(edit.getValue())) {
+                throw new IllegalArgumentException("Value must be exactly " + MAXIMUM_CELL_LENGTH + " printable ASCII characters in edit " + edit);
+            }
+        }
+        String[] newValues = new String[edits.size()];
+        for (int i = 0; i < edits.size(); i++) {
+            newValues[i] = edits.get(i).isRegenerate() ? cellService.generateValue() : edits.get(i).getValue();
+        }
+
+        String[] previousValues = new String[edits.size()];
+        int applied = 0;
+        try {
+            for (; applied < edits.size(); applied++) {
+                Cell cell = rows.get(edits.get(applied).getRow()).getCells().get(edits.get(applied).getColumn());
+                previousValues[applied] = cell.getValue();
+                cell.setValue(newValues[applied]);
+            }
+        } catch (RuntimeException e) {
+            for (int i = applied - 1; i >= 0; i--) {
+                rows.get(edits.get(i).getRow()).getCells().get(edits.get(i).getColumn()).setValue(previousValues[i]);
+            }
+            throw e;
+        }
+
+        if (board.getSortOrder() != null) {
+            board.markModified();
+        } else {
+            edits.forEach(edit -> board.markRowDirty(edit.getRow()));
+        }
+        SearchIndex searchIndex = searchIndexes.get(board);
+        if (board.getSortOrder() != null) {
+            restoreSortedOrder(board, edits);
+            if (searchIndex != null) {
+                searchIndex.rebuild(board);
+            }
+            saveBoard(board, fileName);
+        } else {
+            List<String> records = new ArrayList<>(edits.size());
+            for (int i = 0; i < edits.size(); i++) {
+                CellEdit edit = edits.get(i);
+                if (searchIndex != null) {
+                    String key = rows.get(edit.getRow()).getCells().get(edit.getColumn()).getKey();
+                    searchIndex.cellChanged(board, edit.getRow(), edit.getColumn(), key + previousValues[i], key + newValues[i]);
+                }
+                records.add(BoardJournal.cellChanged(edit.getRow(), edit.getColumn(), newValues[i]));
+            }
+            saveChanges(board, fileName, records);
+        }
+        return edits.size();
+    }
+
+    /**
+     * Records changes of the board in its file: appended to the journal in journal mode,
+     * otherwise by saving the whole board. Compressed files are always saved whole.
+     */
+    private void saveChanges(Board board, String fileName, List<String> records) {
+        if (board instanceof MappedBoard) {
+            fileService.saveBoardToBinaryFile(board, fileName);
+        } else if (fileService.isCompressedBoardFile(fileName)) {
+            fileService.saveBoardToCompressedFile(board, fileName);
+        } else if (fileService.isJournaling()) {
+            fileService.appendToJournal(board, fileName, records);
+        } else {
+            fileService.saveBoardToTextFile(board, fileName);
+        }
+    }
+
+    /**
+     * Re-sorts the cells of the edited rows and moves those rows back to their sorted positions.
+     */
+    private void restoreSortedOrder(Board board, List<CellEdit> edits) {
+        SortOrder sortOrder = board.getSortOrder();
+        List<Row> rows = board.getRows();
+        TreeSet<Integer> editedRows = new TreeSet<>();
+        edits.forEach(edit -> editedRows.add(edit.getRow()));
+        for (int rowIndex : editedRows) {
+            boardSorter.sortCells(rows.get(rowIndex), sortOrder);
+        }
+
+        List<Row> removed = new ArrayList<>(editedRows.size());
+        for (int rowIndex : editedRows.descendingSet()) {
+            removed.add(rows.remove(rowIndex));
+        }
+        for (int i = removed.size() - 1; i >= 0; i--) {
+            boardSorter.insertRow(rows, removed.get(i), sortOrder);
+        }
+    }
+
+    /**
+     * Moves an edited cell, and its row if the row's first cell changed, back into sorted order.
+     *
+     * @return the new row and column of the cell
+     */
+    private int[] keepSorted(Board board, int rowIndex, int columnIndex, SearchIndex searchIndex) {
+        SortOrder sortOrder = board.getSortOrder();
+        Row row = board.getRows().get(rowIndex);
+        List<String> previousTexts = new ArrayList<>();
+        if (searchIndex != null) {
+            row.getCells().forEach(cell -> previousTexts.add(cell.getKey() + cell.getValue()));
+        }
+
+        int newColumn = boardSorter.repositionCell(row, columnIndex, sortOrder);
+        if (searchIndex != null) {
+            List<Cell> cells = row.getCells();
+            for (int column = Math.min(columnIndex, newColumn); column <= Math.max(columnIndex, newColumn); column++) {
+                Cell cell = cells.get(column);
+                searchIndex.cellChanged(board, rowIndex, column, previousTexts.get(column), cell.getKey() + cell.getValue());
+            }
+        }
+
+        int newRow = rowIndex;
+        if (columnIndex == 0 || newColumn == 0) {
+            newRow = boardSorter.repositionRow(board.getRows(), rowIndex, sortOrder);
+            if (newRow != rowIndex) {
+                board.markRowsDirty(Math.min(rowIndex, newRow), Math.max(rowIndex, newRow) + 1);
+            }
+            if (searchIndex != null && newRow != rowIndex) {
+                searchIndex.rowMoved(board, rowIndex, newRow);
+            }
+        }
+        return new int[] {newRow, newColumn};
+    }
+
+    /**
+     * Resets the board with a new number of rows and columns, generated from the next seed.
      *
      * @param fileName the file name to save the reset Board
      * @return the reset Board object
@@ -157,9 +697,8 @@ public class BoardService {
         int newRows = Utils.getIntegerInput("Enter new number of rows: ");
         int newColumns = Utils.getIntegerInput("Enter new number of columns: ");
 
-        Board board = new Board();
-        board = createBoard(new RowService(), newRows, newColumns);
-        fileService.saveBoardToTextFile(board, fileName);
+        Board board = createBoard(seeds.nextLong(), newRows, newColumns);
+        saveBoard(board, fileName);
         print(board);
         System.out.println("Board has been reset to " + newRows + "x" + newColumns + ".");
 
@@ -167,7 +706,7 @@ public class BoardService {
     }
 
     /**
-     * Adds a new row with a specific number of cells to the board.
+     * Adds a new row with a specific number of cells to the board, generated from the next seed.
      *
      * @param board    the Board to modify
      * @param fileName the file name to save the modified Board
@@ -176,7 +715,11 @@ public class BoardService {
         int newRowCellsToAdd = Utils.getIntegerInput("Number of cells to add in the new row: ");
         int index = Utils.getValidIndex("Insert before row: ", board.getRowCount()) - 1;
 
-        Row newRow = rowService.createRow(newRowCellsToAdd);
+        Row newRow = boardGenerator.generateRow(seeds.nextLong(), newRowCellsToAdd);
+        SortOrder sortOrder = board.getSortOrder();
+        if (sortOrder != null) {
+            boardSorter.sortCells(newRow, sortOrder);
+        }
 
         List<Row> rows = board.getRows();
 
@@ -186,8 +729,30 @@ public class BoardService {
             rows.add(index, newRow);
         }
 
-        board.setRows(rows);
-        fileService.saveBoardToTextFile(board, fileName);
+        board.markRowsDirty(index, board.getRowCount());
+        SearchIndex searchIndex = searchIndexes.get(board);
+        if (searchIndex != null) {
+            searchIndex.rowInserted(board, index);
+        }
+        List<String> records = new ArrayList<>();
+        if (fileService.isJournaling()) {
+            records.add(BoardJournal.rowInserted(index, newRow));
+        }
+        if (sortOrder != null && newRow.getColumnCount() > 0) {
+            board.setSortOrder(sortOrder);
+            int position = boardSorter.repositionRow(board.getRows(), index, sortOrder);
+            if (position != index) {
+                board.markRowsDirty(Math.min(index, position), board.getRowCount());
+                if (searchIndex != null) {
+                    searchIndex.rowMoved(board, index, position);
+                }
+                records.add(BoardJournal.rowMoved(index, position));
+            }
+            index = position;
+        } else {
+            board.setSortOrder(null);
+        }
+        saveChanges(board, fileName, records);
         print(board);
         System.out.println("Successfully added a new row with " + newRowCellsToAdd + " cells before row " + (index + 1) + ".");
     }
@@ -206,30 +771,18 @@ public class BoardService {
         System.out.println("2. Descending");
 
         int sortingChoice = Utils.getValidIndex("Sorting choice: ", 2);
-        int sortingOrder = (sortingChoice == 1) ? ASCENDING_ORDER : DESCENDING_ORDER;
-
-        Comparator<Cell> cellComparator = (c1, c2) -> {
-            String thisConcatenated = c1.getKey() + c1.getValue();
-            String anotherConcatenated = c2.getKey() + c2.getValue();
-            return sortingOrder == ASCENDING_ORDER
-                ? StringUtils.compare(thisConcatenated, anotherConcatenated)
-                : StringUtils.compare(anotherConcatenated, thisConcatenated);
-        };
-
-        Comparator<Row> rowComparator = (r1, r2) -> {
-            String thisFirstCellConcatenated = r1.getCells().get(0).getKey() + r1.getCells().get(0).getValue();
-            String anotherFirstCellConcatenated = r2.getCells().get(0).getKey() + r2.getCells().get(0).getValue();
-            return sortingOrder == ASCENDING_ORDER
-                ? StringUtils.compare(thisFirstCellConcatenated, anotherFirstCellConcatenated)
-                : StringUtils.compare(anotherFirstCellConcatenated, thisFirstCellConcatenated);
-        };
+        SortOrder sortOrder = (sortingChoice == 1) ? SortOrder.ASCENDING : SortOrder.DESCENDING;
 
-        List<Row> rows = board.getRows();
-        rows.forEach(row -> Collections.sort(row.getCells(), cellComparator));
-        Collections.sort(rows, rowComparator);
+        boardSorter.sort(board, sortOrder);
+        board.setSortOrder(sortOrder);
+        board.markModified();
+        SearchIndex searchIndex = searchIndexes.get(board);
+        if (searchIndex != null) {
+            searchIndex.rebuild(board);
+        }
 
         print(board);
-        fileService.saveBoardToTextFile(board, fileName);
+        saveBoard(board, fileName);
         System.out.print("Board has been sorted.");
     }
 }
@@ -0,0 +1,526 @@
+package com.ecc.nichole.service;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.ecc.nichole.model.Board;
+import com.ecc.nichole.model.Cell;
+import com.ecc.nichole.model.PackedBoard;
+import com.ecc.nichole.model.Row;
+import com.ecc.nichole.model.SortOrder;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Sorts the cells of every row by key + value and then the rows by their first cell. Cells whose
+ * key and value are both three single-byte characters are packed once into a 48-bit sort key and
+ * ordered with a stable LSD radix sort; a row or board containing any other cell falls back to
+ * comparing strings. Either way the result is the same as a stable comparison sort.
+ *
+ * <p>Large boards are sorted on a fork-join pool: rows are split into ranges whose cells are
+ * sorted concurrently, and the row order is computed by a parallel merge sort over the
+ * precomputed first-cell keys before being written back in place.</p>
+ */
+public class BoardSorter implements AutoCloseable {
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 100_000;
+    private static final int TASKS_PER_THREAD = 4;
+    private static final int SEQUENTIAL_MERGE_THRESHOLD = 1 << 14;
+    private static final int TEXT_LENGTH = 3;
+    private static final int DIGIT_BITS = 8;
+    private static final int DIGITS = 2 * TEXT_LENGTH;
+    private static final int RADIX = 1 << DIGIT_BITS;
+    private static final long KEY_MASK = (1L << (DIGITS * DIGIT_BITS)) - 1;
+    private static final long NO_KEY = -1;
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+
+    private final int parallelism;
+    private final int parallelThreshold;
+    private ForkJoinPool pool;
+
+    /**
+     * Creates a sorter using one thread per available processor.
+     */
+    public BoardSorter() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Creates a sorter with the given pool size and parallel threshold.
+     *
+     * @param parallelism       the number of threads used for parallel sorts
+     * @param parallelThreshold the minimum number of cells for which a sort runs in parallel
+     */
+    public BoardSorter(int parallelism, int parallelThreshold) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        this.parallelism = parallelism;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Gets the number of threads used for parallel sorts.
+     *
+     * @return the parallelism
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Returns the comparator ordering cells by their key + value.
+     *
+     * @param sortOrder the order to sort in
+     * @return the cell comparator
+     */
+    public static Comparator<Cell> cellComparator(SortOrder sortOrder) {
+        return (c1, c2) -> {
+            String thisConcatenated = c1.getKey() + c1.getValue();
+            String anotherConcatenated = c2.getKey() + c2.getValue();
+            return sortOrder == SortOrder.ASCENDING
+                ? StringUtils.compare(thisConcatenated, anotherConcatenated)
+                : StringUtils.compare(anotherConcatenated, thisConcatenated);
+        };
+    }
+
+    /**
+     * Returns the comparator ordering rows by the key + value of their first cell.
+     *
+     * @param sortOrder the order to sort in
+     * @return the row comparator
+     */
+    public static Comparator<Row> rowComparator(SortOrder sortOrder) {
+        Comparator<Cell> cellComparator = cellComparator(sortOrder);
+        return (r1, r2) -> cellComparator.compare(r1.getCells().get(0), r2.getCells().get(0));
+    }
+
+    /**
+     * Sorts the cells of every row and then the rows by their first cell, in parallel when the
+     * board is large enough.
+     *
+     * @param board     the Board to sort
+     * @param sortOrder the order to sort in
+     */
+    public void sort(Board board, SortOrder sortOrder) {
+        int rowCount = board.getRowCount();
+        long estimatedCells = (long) rowCount * board.getColumnCount();
+        boolean parallel = parallelism > 1 && rowCount > 1 && estimatedCells >= parallelThreshold;
+        if (board instanceof PackedBoard) {
+            sortPacked((PackedBoard) board, sortOrder, parallel);
+            return;
+        }
+        List<Row> rows = board.getRows();
+        if (parallel) {
+            forEachRowRange(rowCount, (fromRow, toRow) -> {
+                for (int rowIndex = fromRow; rowIndex < toRow; rowIndex++) {
+                    sortCells(rows.get(rowIndex), sortOrder);
+                }
+            });
+        } else {
+            rows.forEach(row -> sortCells(row, sortOrder));
+        }
+        sortRows(rows, sortOrder, parallel);
+    }
+
+    /**
+     * Sorts the cells of one row by key + value.
+     *
+     * @param row       the Row to sort
+     * @param sortOrder the order to sort in
+     */
+    public void sortCells(Row row, SortOrder sortOrder) {
+        List<Cell> cells = row.getCells();
+        if (cells.size() < 2) {
+            return;
+        }
+        long[] keys = new long[cells.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = sortKey(cells.get(i), sortOrder);
+            if (keys[i] == NO_KEY) {
+                cells.sort(cellComparator(sortOrder));
+                return;
+            }
+        }
+        int[] order = sortedOrder(keys);
+        if (!isIdentity(order)) {
+            Cell[] snapshot = cells.toArray(new Cell[0]);
+            for (int i = 0; i < order.length; i++) {
+                cells.set(i, snapshot[order[i]]);
+            }
+        }
+    }
+
+    /**
+     * Moves one cell of an otherwise sorted row to where its key + value belongs, using a binary
+     * search. The cell is placed after any cells equal to it.
+     *
+     * @param row       the Row containing the cell
+     * @param column    the current column of the cell
+     * @param sortOrder the order the row is sorted in
+     * @return the new column of the cell
+     */
+    public int repositionCell(Row row, int column, SortOrder sortOrder) {
+        List<Cell> cells = row.getCells();
+        int target = insertionPoint(cells, column, cellComparator(sortOrder));
+        if (target != column) {
+            cells.add(target, cells.remove(column));
+        }
+        return target;
+    }
+
+    /**
+     * Moves one row of an otherwise sorted board to where its first cell belongs, using a binary
+     * search. The row is placed after any rows whose first cell is equal to its own.
+     *
+     * @param rows      the rows of the board
+     * @param rowIndex  the current position of the row
+     * @param sortOrder the order the rows are sorted in
+     * @return the new position of the row
+     */
+    public int repositionRow(List<Row> rows, int rowIndex, SortOrder sortOrder) {
+        int target = insertionPoint(rows, rowIndex, rowComparator(sortOrder));
+        if (target != rowIndex) {
+            rows.add(target, rows.remove(rowIndex));
+        }
+        return target;
+    }
+
+    /**
+     * Inserts a row into sorted rows where its first cell belongs, using a binary search. The row
+     * is placed after any rows whose first cell is equal to its own.
+     *
+     * @param rows      the sorted rows of the board
+     * @param row       the row to insert, with at least one cell
+     * @param sortOrder the order the rows are sorted in
+     * @return the position of the inserted row
+     */
+    public int insertRow(List<Row> rows, Row row, SortOrder sortOrder) {
+        Comparator<Row> comparator = rowComparator(sortOrder);
+        int low = 0;
+        int high = rows.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (comparator.compare(row, rows.get(middle)) < 0) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        rows.add(low, row);
+        return low;
+    }
+
+    /**
+     * Returns the position an element belongs at among the other elements of a sorted list,
+     * counted as if the element had been removed first.
+     */
+    private static <T> int insertionPoint(List<T> list, int index, Comparator<? super T> comparator) {
+        T element = list.get(index);
+        int low = 0;
+        int high = list.size() - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (comparator.compare(element, list.get(middle < index ? middle : middle + 1)) < 0) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    private void sortRows(List<Row> rows, SortOrder sortOrder, boolean parallel) {
+        if (rows.size() < 2) {
+            return;
+        }
+        long[] keys = new long[rows.size()];
+        for (int i = 0; i < keys.length; i++) {
+            List<Cell> cells = rows.get(i).getCells();
+            keys[i] = cells.isEmpty() ? NO_KEY : sortKey(cells.get(0), sortOrder);
+            if (keys[i] == NO_KEY) {
+                rows.sort(rowComparator(sortOrder));
+                return;
+            }
+        }
+        int[] order = parallel ? parallelSortedOrder(keys) : sortedOrder(keys);
+        if (!isIdentity(order)) {
+            Row[] snapshot = rows.toArray(new Row[0]);
+            for (int i = 0; i < order.length; i++) {
+                rows.set(i, snapshot[order[i]]);
+            }
+        }
+    }
+
+    /**
+     * Sorts a packed board straight from its cell bytes, without creating cell views or strings.
+     */
+    private void sortPacked(PackedBoard board, SortOrder sortOrder, boolean parallel) {
+        int rowCount = board.getRowCount();
+        long[] rowKeys = new long[rowCount];
+        if (parallel) {
+            forEachRowRange(rowCount, (fromRow, toRow) -> sortPackedRows(board, sortOrder, fromRow, toRow, rowKeys));
+        } else {
+            sortPackedRows(board, sortOrder, 0, rowCount, rowKeys);
+        }
+
+        if (rowCount < 2) {
+            return;
+        }
+        for (long rowKey : rowKeys) {
+            if (rowKey == NO_KEY) {
+                board.getRows().sort(rowComparator(sortOrder));
+                return;
+            }
+        }
+        int[] order = parallel ? parallelSortedOrder(rowKeys) : sortedOrder(rowKeys);
+        if (!isIdentity(order)) {
+            board.reorderRows(order);
+        }
+    }
+
+    /**
+     * Sorts the cells of a range of packed rows and records the key of each row's new first cell.
+     */
+    private static void sortPackedRows(PackedBoard board, SortOrder sortOrder, int fromRow, int toRow, long[] rowKeys) {
+        byte[] bytes = new byte[0];
+        for (int rowIndex = fromRow; rowIndex < toRow; rowIndex++) {
+            int firstCell = board.getFirstCellIndex(rowIndex);
+            int width = board.getFirstCellIndex(rowIndex + 1) - firstCell;
+            if (width == 0) {
+                rowKeys[rowIndex] = NO_KEY;
+                continue;
+            }
+            if (bytes.length < width * PackedBoard.CELL_WIDTH) {
+                bytes = new byte[width * PackedBoard.CELL_WIDTH];
+            }
+            board.readCellBytes(firstCell, width, bytes, 0);
+            long[] keys = new long[width];
+            for (int column = 0; column < width; column++) {
+                keys[column] = sortKey(bytes, column * PackedBoard.CELL_WIDTH, sortOrder);
+            }
+            int[] order = sortedOrder(keys);
+            if (!isIdentity(order)) {
+                board.reorderCells(rowIndex, order);
+            }
+            rowKeys[rowIndex] = keys[order[0]];
+        }
+    }
+
+    /**
+     * Runs an action over ranges of rows on the pool and waits for all of them.
+     */
+    private void forEachRowRange(int rowCount, RowRangeAction action) {
+        int taskCount = Math.min(rowCount, parallelism * TASKS_PER_THREAD);
+        List<RecursiveAction> tasks = new ArrayList<>(taskCount);
+        for (int task = 0; task < taskCount; task++) {
+            int fromRow = (int) ((long) rowCount * task / taskCount);
+            int toRow = (int) ((long) rowCount * (task + 1) / taskCount);
+            tasks.add(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    action.run(fromRow, toRow);
+                }
+            });
+        }
+        getPool().invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(tasks);
+            }
+        });
+    }
+
+    /**
+     * Returns the same stable order as {@link #sortedOrder(long[])}, computed by a parallel merge
+     * sort whose leaves are radix sorted.
+     */
+    private int[] parallelSortedOrder(long[] keys) {
+        int[] order = new int[keys.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        getPool().invoke(new MergeSortTask(keys.clone(), order, new long[keys.length], new int[keys.length], 0, keys.length));
+        return order;
+    }
+
+    /**
+     * Returns the stable order of the given keys, so that {@code keys[order[i]]} is ascending.
+     */
+    static int[] sortedOrder(long[] keys) {
+        int size = keys.length;
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        if (size < INSERTION_SORT_THRESHOLD) {
+            for (int i = 1; i < size; i++) {
+                int current = order[i];
+                int j = i - 1;
+                while (j >= 0 && keys[order[j]] > keys[current]) {
+                    order[j + 1] = order[j];
+                    j--;
+                }
+                order[j + 1] = current;
+            }
+            return order;
+        }
+
+        int[][] counts = new int[DIGITS][RADIX];
+        for (long key : keys) {
+            for (int digit = 0; digit < DIGITS; digit++) {
+                counts[digit][(int) (key >>> (digit * DIGIT_BITS)) & (RADIX - 1)]++;
+            }
+        }
+        long[] sortedKeys = keys.clone();
+        long[] keyBuffer = new long[size];
+        int[] orderBuffer = new int[size];
+        for (int digit = 0; digit < DIGITS; digit++) {
+            int shift = digit * DIGIT_BITS;
+            int[] count = counts[digit];
+            if (count[(int) (sortedKeys[0] >>> shift) & (RADIX - 1)] == size) {
+                continue;
+            }
+            int position = 0;
+            for (int bucket = 0; bucket < RADIX; bucket++) {
+                int bucketSize = count[bucket];
+                count[bucket] = position;
+                position += bucketSize;
+            }
+            for (int i = 0; i < size; i++) {
+                int target = count[(int) (sortedKeys[i] >>> shift) & (RADIX - 1)]++;
+                keyBuffer[target] = sortedKeys[i];
+                orderBuffer[target] = order[i];
+            }
+            long[] swapKeys = sortedKeys;
+            sortedKeys = keyBuffer;
+            keyBuffer = swapKeys;
+            int[] swapOrder = order;
+            order = orderBuffer;
+            orderBuffer = swapOrder;
+        }
+        return order;
+    }
+
+    /**
+     * Packs a cell's key + value into a sort key, or returns {@link #NO_KEY} if it is not made of
+     * two single-byte texts of {@value #TEXT_LENGTH} characters.
+     */
+    private static long sortKey(Cell cell, SortOrder sortOrder) {
+        String key = cell.getKey();
+        String value = cell.getValue();
+        if (key == null || value == null || key.length() != TEXT_LENGTH || value.length() != TEXT_LENGTH) {
+            return NO_KEY;
+        }
+        long packed = 0;
+        for (int i = 0; i < DIGITS; i++) {
+            char character = i < TEXT_LENGTH ? key.charAt(i) : value.charAt(i - TEXT_LENGTH);
+            if (character >= RADIX) {
+                return NO_KEY;
+            }
+            packed = (packed << DIGIT_BITS) | character;
+        }
+        return sortOrder == SortOrder.ASCENDING ? packed : KEY_MASK ^ packed;
+    }
+
+    private static long sortKey(byte[] bytes, int offset, SortOrder sortOrder) {
+        long packed = 0;
+        for (int i = 0; i < DIGITS; i++) {
+            packed = (packed << DIGIT_BITS) | (bytes[offset + i] & 0xFF);
+        }
+        return sortOrder == SortOrder.ASCENDING ? packed : KEY_MASK ^ packed;
+    }
+
+    /**
+     * Shuts down the thread pool, if one was started. Sorts already running finish first, and a
+     * later parallel sort starts a new pool.
+     */
+    @Override
+    public synchronized void close() {
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+    }
+
+    private synchronized ForkJoinPool getPool() {
+        if (pool == null) {
+            pool = new ForkJoinPool(parallelism);
+        }
+        return pool;
+    }
+
+    private static boolean isIdentity(int[] order) {
+        for (int i = 0; i < order.length; i++) {
+            if (order[i] != i) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Action applied to a range of rows, from inclusive to exclusive.
+     */
+    @FunctionalInterface
+    private interface RowRangeAction {
+        void run(int fromRow, int toRow);
+    }
+
+    /**
+     * Stable merge sort of a key range, carrying the original positions along with the keys.
+     */
+    private static final class MergeSortTask extends RecursiveAction {
+        private final long[] keys;
+        private final int[] order;
+        private final long[] keyBuffer;
+        private final int[] orderBuffer;
+        private final int from;
+        private final int to;
+
+        MergeSortTask(long[] keys, int[] order, long[] keyBuffer, int[] orderBuffer, int from, int to) {
+            this.keys = keys;
+            this.order = order;
+            this.keyBuffer = keyBuffer;
+            this.orderBuffer = orderBuffer;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            int size = to - from;
+            if (size <= SEQUENTIAL_MERGE_THRESHOLD) {
+                long[] rangeKeys = new long[size];
+                System.arraycopy(keys, from, rangeKeys, 0, size);
+                int[] rangeOrder = sortedOrder(rangeKeys);
+                for (int i = 0; i < size; i++) {
+                    keyBuffer[from + i] = rangeKeys[rangeOrder[i]];
+                    orderBuffer[from + i] = order[from + rangeOrder[i]];
+                }
+                System.arraycopy(keyBuffer, from, keys, from, size);
+                System.arraycopy(orderBuffer, from, order, from, size);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new MergeSortTask(keys, order, keyBuffer, orderBuffer, from, middle),
+                    new MergeSortTask(keys, order, keyBuffer, orderBuffer, middle, to));
+
+            int left = from;
+            int right = middle;
+            for (int target = from; target < to; target++) {
+                if (right == to || (left < middle && keys[left] <= keys[right])) {
+                    keyBuffer[target] = keys[left];
+                    orderBuffer[target] = order[left++];
+                } else {
+                    keyBuffer[target] = keys[right];
+                    orderBuffer[target] = order[right++];
+                }
+            }
+            System.arraycopy(keyBuffer, from, keys, from, size);
+            System.arraycopy(orderBuffer, from, order, from, size);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.ecc.nichole.service;
+
+import com.ecc.nichole.model.Cell;
+import com.ecc.nichole.model.Row;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Single-pass parser for the text board format. The file is read in blocks of bytes and scanned
+ * for the separators directly; keys and values are the only strings created. All separators are
+ * ASCII, so they never occur inside a multi-byte UTF-8 character and bytes can be scanned before
+ * decoding.
+ *
+ * <p>Parsing accepts and rejects exactly what splitting lines with {@code String.split} did:
+ * separators at the end of a line or cell are ignored, and a cell is valid when what remains
+ * holds exactly one key-value separator. Invalid cells are reported and skipped.</p>
+ */
+final class BoardTextParser {
+    static final char KEY_VALUE_SEPARATOR = '\u001D';  // Group separator
+    static final char CELL_SEPARATOR = '\u001F';       // Unit separator
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private BoardTextParser() {
+    }
+
+    /**
+     * Reads all rows of a text board file, one per line. Lines may end with {@code \n},
+     * {@code \r\n} or {@code \r}, and the last line may have no line terminator.
+     *
+     * @param file the file to read
+     * @return the rows, empty for an empty file
+     * @throws IOException if the file cannot be read
+     */
+    static List<Row> readRows(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return readRows(in, Long.MAX_VALUE);
+        }
+    }
+
+    /**
+     * Reads the rows held in the next bytes of a stream, one per line. The bytes must start at
+     * the beginning of a line.
+     *
+     * @param in     the stream to read, left open
+     * @param length the number of bytes to read, or {@code Long.MAX_VALUE} to read to the end
+     * @return the rows
+     * @throws IOException if the stream cannot be read
+     */
+    static List<Row> readRows(InputStream in, long length) throws IOException {
+        List<Row> rows = new ArrayList<>();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int lineStart = 0;
+        int limit = 0;
+        int scanned = 0;
+        long remaining = length;
+        boolean skipLineFeed = false;
+        while (true) {
+            if (scanned == limit) {
+                if (lineStart > 0) {
+                    System.arraycopy(buffer, lineStart, buffer, 0, limit - lineStart);
+                    limit -= lineStart;
+                    scanned -= lineStart;
+                    lineStart = 0;
+                } else if (limit == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+                int read = remaining == 0 ? -1 : in.read(buffer, limit, (int) Math.min(buffer.length - limit, remaining));
+                if (read < 0) {
+                    break;
+                }
+                limit += read;
+                remaining -= read;
+            }
+            byte b = buffer[scanned];
+            if (skipLineFeed) {
+                skipLineFeed = false;
+                if (b == '\n') {
+                    lineStart = ++scanned;
+                    continue;
+                }
+            }
+            if (b == '\n' || b == '\r') {
+                rows.add(parseRow(buffer, lineStart, scanned));
+                skipLineFeed = b == '\r';
+                lineStart = ++scanned;
+            } else {
+                scanned++;
+            }
+        }
+        if (lineStart < limit) {
+            rows.add(parseRow(buffer, lineStart, limit));
+        }
+        return rows;
+    }
+
+    /**
+     * Parses one line of UTF-8 bytes into a row.
+     *
+     * @param line the bytes holding the line
+     * @param from the start of the line, inclusive
+     * @param to   the end of the line, exclusive, without a line terminator
+     * @return the parsed row
+     */
+    static Row parseRow(byte[] line, int from, int to) {
+        Row row = new Row();
+        if (from == to) {
+            reportInvalidCell();
+            return row;
+        }
+        while (to > from && line[to - 1] == CELL_SEPARATOR) {
+            to--;
+        }
+        if (to == from) {
+            return row;
+        }
+        int cellStart = from;
+        for (int i = from; i <= to; i++) {
+            if (i == to || line[i] == CELL_SEPARATOR) {
+                addCell(row, line, cellStart, i);
+                cellStart = i + 1;
+            }
+        }
+        return row;
+    }
+
+    private static void addCell(Row row, byte[] line, int from, int to) {
+        while (to > from && line[to - 1] == KEY_VALUE_SEPARATOR) {
+            to--;
+        }
+        int separator = -1;
+        for (int i = from; i < to; i++) {
+            if (line[i] == KEY_VALUE_SEPARATOR) {
+                if (separator >= 0) {
+                    reportInvalidCell();
+                    return;
+                }
+                separator = i;
+            }
+        }
+        if (separator < 0) {
+            reportInvalidCell();
+            return;
+        }
+        Cell cell = new Cell();
+        cell.setKey(new String(line, from, separator - from, StandardCharsets.UTF_8));
+        cell.setValue(new String(line, separator + 1, to - separator - 1, StandardCharsets.UTF_8));
+        row.getCells().add(cell);
+    }
+
+    /**
+     * Parses one line of the text board format into a row.
+     *
+     * @param line the line, without a line terminator
+     * @return the parsed row
+     */
+    static Row parseRow(String line) {
+        Row row = new Row();
+        if (line.isEmpty()) {
+            reportInvalidCell();
+            return row;
+        }
+        int to = line.length();
+        while (to > 0 && line.charAt(to - 1) == CELL_SEPARATOR) {
+            to--;
+        }
+        if (to == 0) {
+            return row;
+        }
+        int cellStart = 0;
+        for (int i = 0; i <= to; i++) {
+            if (i == to || line.charAt(i) == CELL_SEPARATOR) {
+                addCell(row, line, cellStart, i);
+                cellStart = i + 1;
+            }
+        }
+        return row;
+    }
+
+    private static void addCell(Row row, String line, int from, int to) {
+        while (to > from && line.charAt(to - 1) == KEY_VALUE_SEPARATOR) {
+            to--;
+        }
+        int separator = -1;
+        for (int i = from; i < to; i++) {
+            if (line.charAt(i) == KEY_VALUE_SEPARATOR) {
+                if (separator >= 0) {
+                    reportInvalidCell();
+                    return;
+                }
+                separator = i;
+            }
+        }
+        if (separator < 0) {
+            reportInvalidCell();
+            return;
+        }
+        Cell cell = new Cell();
+        cell.setKey(line.substring(from, separator));
+        cell.setValue(line.substring(separator + 1, to));
+        row.getCells().add(cell);
+    }
+
+    private static void reportInvalidCell() {
+        System.err.println("Error: Invalid cell data format in file.");
+    }
+}
@@ -0,0 +1,84 @@
+package com.ecc.nichole.service;
+
+/**
+ * One change in a batch edit: a new value for the cell at a position, or a request to generate a
+ * new random value for it. Indexes are zero-based.
+ */
+public final class CellEdit {
+    private final int row;
+    private final int column;
+    private final String value;
+
+    private CellEdit(int row, int column, String value) {
+        this.row = row;
+        this.column = column;
+        this.value = value;
+    }
+
+    /**
+     * Creates an edit setting the value of a cell.
+     *
+     * @param row    the row of the cell
+     * @param column the column of the cell
+     * @param value  the new value of the cell
+     * @return the edit
+     */
+    public static CellEdit set(int row, int column, String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Value cannot be null");
+        }
+        return new CellEdit(row, column, value);
+    }
+
+    /**
+     * Creates an edit giving a cell a new random value.
+     *
+     * @param row    the row of the cell
+     * @param column the column of the cell
+     * @return the edit
+     */
+    public static CellEdit regenerate(int row, int column) {
+        return new CellEdit(row, column, null);
+    }
+
+    /**
+     * Gets the row of the cell.
+     *
+     * @return the row index
+     */
+    public int getRow() {
+        return row;
+    }
+
+    /**
+     * Gets the column of the cell.
+     *
+     * @return the column index
+     */
+    public int getColumn() {
+        return column;
+    }
+
+    /**
+     * Gets the new value of the cell.
+     *
+     * @return the value, or null if a random value is to be generated
+     */
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * Returns whether the edit generates a random value.
+     *
+     * @return true if the cell is to be regenerated
+     */
+    public boolean isRegenerate() {
+        return value == null;
+    }
+
+    @Override
+    public String toString() {
+        return "[" + (row + 1) + "][" + (column + 1) + "] " + (value == null ? "<random>" : value);
+    }
+}
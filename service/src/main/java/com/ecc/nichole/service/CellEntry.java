@@ -0,0 +1,88 @@
+package com.ecc.nichole.service;
+
+import java.util.Objects;
+
+/**
+ * Position and content of one cell returned by a query. The key and value are copied when the
+ * entry is created, so the entry does not change if the board is modified afterwards.
+ * Indexes are zero-based.
+ */
+public final class CellEntry {
+    private final int row;
+    private final int column;
+    private final String key;
+    private final String value;
+
+    /**
+     * Creates an entry.
+     *
+     * @param row    the row of the cell
+     * @param column the column of the cell
+     * @param key    the key of the cell
+     * @param value  the value of the cell
+     */
+    public CellEntry(int row, int column, String key, String value) {
+        this.row = row;
+        this.column = column;
+        this.key = key;
+        this.value = value;
+    }
+
+    /**
+     * Gets the row of the cell.
+     *
+     * @return the row index
+     */
+    public int getRow() {
+        return row;
+    }
+
+    /**
+     * Gets the column of the cell.
+     *
+     * @return the column index
+     */
+    public int getColumn() {
+        return column;
+    }
+
+    /**
+     * Gets the key of the cell.
+     *
+     * @return the key
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Gets the value of the cell.
+     *
+     * @return the value
+     */
+    public String getValue() {
+        return value;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof CellEntry)) {
+            return false;
+        }
+        CellEntry entry = (CellEntry) other;
+        return row == entry.row && column == entry.column && Objects.equals(key, entry.key) && Objects.equals(value, entry.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return ((row * 31 + column) * 31 + Objects.hashCode(key)) * 31 + Objects.hashCode(value);
+    }
+
+    @Override
+    public String toString() {
+        return "[" + (row + 1) + "][" + (column + 1) + "] " + key + value;
+    }
+}
@@ -31,6 +31,26 @@ public class CellService {
         return cellValue.toString();
     }
 
+    /**
+     * Checks whether a string is a valid cell value: exactly CELL_MAX_CHARACTERS printable ASCII
+     * characters, the same alphabet used by generateValue().
+     *
+     * @param value the string to check
+     * @return true if the string is a valid cell value
+     */
+    public static boolean isValidValue(String value) {
+        if (value == null || value.length() != CELL_MAX_CHARACTERS) {
+            return false;
+        }
+        for (int characterIndex = 0; characterIndex < value.length(); characterIndex++) {
+            char character = value.charAt(characterIndex);
+            if (character < 32 || character > 126) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Creates a new Cell object with randomly generated key and value.
      *
@@ -0,0 +1,293 @@
+package com.ecc.nichole.service;
+
+import com.ecc.nichole.model.Board;
+import com.ecc.nichole.model.Row;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Board file compressed in independent blocks of rows, with an index of the blocks at the end of
+ * the file, so that a range of rows can be read by decompressing only the blocks holding it.
+ *
+ * <p>The file starts with a magic number and a format version. Each block holds the rows of the
+ * text format, one per line ending in {@code \n}, compressed with {@link Deflater}. The index
+ * lists, for every block, its file position, compressed and uncompressed length, first row and
+ * row count. It is followed by the block count, the position of the index and the magic number
+ * again. Integers are big-endian.</p>
+ */
+public final class CompressedBoardFile {
+    public static final int MAGIC = 0x4E42525A;     // "NBRZ"
+    public static final int FORMAT_VERSION = 1;
+    public static final int DEFAULT_ROWS_PER_BLOCK = 4096;
+    private static final int MAXIMUM_BLOCK_BYTES = 1024 * 1024;
+    private static final int HEADER_BYTES = 8;
+    private static final int INDEX_ENTRY_BYTES = 24;
+    private static final int FOOTER_BYTES = 16;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private CompressedBoardFile() {
+    }
+
+    /**
+     * Writes a board to a compressed board file, replacing the file once it is complete.
+     *
+     * @param board    the board to write
+     * @param fileName the compressed board file
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Board board, String fileName) throws IOException {
+        write(board, fileName, DEFAULT_ROWS_PER_BLOCK);
+    }
+
+    /**
+     * Writes a board to a compressed board file with at most the given number of rows per block.
+     * Blocks also end early once they hold about a megabyte of text.
+     */
+    static void write(Board board, String fileName, int rowsPerBlock) throws IOException {
+        if (rowsPerBlock < 1) {
+            throw new IllegalArgumentException("Rows per block must be positive");
+        }
+        Path file = Paths.get(fileName).toAbsolutePath();
+        Path temporaryFile = Files.createTempFile(file.getParent(), "board", ".tmp");
+        Deflater deflater = new Deflater();
+        try {
+            List<long[]> index = new ArrayList<>();
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile), BUFFER_SIZE))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                long position = HEADER_BYTES;
+
+                ByteArrayOutputStream block = new ByteArrayOutputStream();
+                byte[] compressed = new byte[BUFFER_SIZE];
+                List<Row> rows = board.getRows();
+                int firstRow = 0;
+                for (int rowIndex = 0; rowIndex <= rows.size(); rowIndex++) {
+                    boolean blockFull = rowIndex - firstRow == rowsPerBlock || block.size() >= MAXIMUM_BLOCK_BYTES;
+                    if (rowIndex > firstRow && (blockFull || rowIndex == rows.size())) {
+                        deflater.reset();
+                        deflater.setInput(block.toByteArray());
+                        deflater.finish();
+                        long compressedLength = 0;
+                        while (!deflater.finished()) {
+                            int length = deflater.deflate(compressed);
+                            out.write(compressed, 0, length);
+                            compressedLength += length;
+                        }
+                        index.add(new long[] {position, compressedLength, block.size(), firstRow, rowIndex - firstRow});
+                        position += compressedLength;
+                        block.reset();
+                        firstRow = rowIndex;
+                    }
+                    if (rowIndex < rows.size()) {
+                        block.write(FileService.formatRow(rows.get(rowIndex)).getBytes(StandardCharsets.UTF_8));
+                        block.write('\n');
+                    }
+                }
+
+                for (long[] entry : index) {
+                    out.writeLong(entry[0]);
+                    out.writeInt((int) entry[1]);
+                    out.writeInt((int) entry[2]);
+                    out.writeInt((int) entry[3]);
+                    out.writeInt((int) entry[4]);
+                }
+                out.writeInt(index.size());
+                out.writeLong(position);
+                out.writeInt(MAGIC);
+            }
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            deflater.end();
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    /**
+     * Reads every row of a compressed board file.
+     *
+     * @param fileName the compressed board file
+     * @return the rows
+     * @throws IOException if the file cannot be read or is not a valid compressed board file
+     */
+    public static List<Row> readRows(String fileName) throws IOException {
+        return readRows(fileName, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Reads a range of rows of a compressed board file, decompressing only the blocks that hold
+     * them. The range is clipped to the rows in the file.
+     *
+     * @param fileName the compressed board file
+     * @param fromRow  the first row to read, inclusive
+     * @param toRow    the last row to read, exclusive
+     * @return the rows of the range
+     * @throws IOException if the file cannot be read or is not a valid compressed board file
+     */
+    public static List<Row> readRows(String fileName, int fromRow, int toRow) throws IOException {
+        if (fromRow < 0 || fromRow > toRow) {
+            throw new IndexOutOfBoundsException("Rows: " + fromRow + "-" + toRow);
+        }
+        List<Row> rows = new ArrayList<>();
+        Inflater inflater = new Inflater();
+        try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+            for (BlockEntry block : readIndex(channel)) {
+                if (block.firstRow + block.rowCount <= fromRow || block.firstRow >= toRow) {
+                    continue;
+                }
+                List<Row> blockRows = readBlock(channel, block, inflater);
+                int from = Math.max(0, fromRow - block.firstRow);
+                int to = (int) Math.min(blockRows.size(), (long) toRow - block.firstRow);
+                rows.addAll(blockRows.subList(from, to));
+            }
+        } finally {
+            inflater.end();
+        }
+        return rows;
+    }
+
+    /**
+     * Returns the number of rows in a compressed board file, read from its index.
+     *
+     * @param fileName the compressed board file
+     * @return the number of rows
+     * @throws IOException if the file cannot be read or is not a valid compressed board file
+     */
+    public static int getRowCount(String fileName) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+            List<BlockEntry> index = readIndex(channel);
+            if (index.isEmpty()) {
+                return 0;
+            }
+            BlockEntry last = index.get(index.size() - 1);
+            return last.firstRow + last.rowCount;
+        }
+    }
+
+    /**
+     * Returns whether a file starts with the compressed board magic number.
+     *
+     * @param fileName the file to check
+     * @return true for a compressed board file
+     * @throws IOException if the file cannot be read
+     */
+    public static boolean isCompressedBoardFile(String fileName) throws IOException {
+        Path file = Paths.get(fileName);
+        if (!Files.isRegularFile(file)) {
+            return false;
+        }
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] magic = in.readNBytes(Integer.BYTES);
+            return magic.length == Integer.BYTES && ByteBuffer.wrap(magic).getInt() == MAGIC;
+        }
+    }
+
+    private static List<BlockEntry> readIndex(FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size < HEADER_BYTES + FOOTER_BYTES) {
+            throw new IOException("Not a compressed board file");
+        }
+        ByteBuffer header = read(channel, 0, HEADER_BYTES);
+        if (header.getInt() != MAGIC) {
+            throw new IOException("Not a compressed board file");
+        }
+        int version = header.getInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported compressed board format version " + version);
+        }
+        ByteBuffer footer = read(channel, size - FOOTER_BYTES, FOOTER_BYTES);
+        int blockCount = footer.getInt();
+        long indexPosition = footer.getLong();
+        if (footer.getInt() != MAGIC || blockCount < 0
+                || indexPosition + (long) blockCount * INDEX_ENTRY_BYTES + FOOTER_BYTES != size) {
+            throw new IOException("Corrupt compressed board file index");
+        }
+
+        ByteBuffer entries = read(channel, indexPosition, blockCount * INDEX_ENTRY_BYTES);
+        List<BlockEntry> index = new ArrayList<>(blockCount);
+        int nextRow = 0;
+        for (int i = 0; i < blockCount; i++) {
+            BlockEntry block = new BlockEntry(entries.getLong(), entries.getInt(), entries.getInt(), entries.getInt(), entries.getInt());
+            if (block.firstRow != nextRow || block.position + block.compressedLength > indexPosition) {
+                throw new IOException("Corrupt compressed board file index");
+            }
+            nextRow += block.rowCount;
+            index.add(block);
+        }
+        return index;
+    }
+
+    private static List<Row> readBlock(FileChannel channel, BlockEntry block, Inflater inflater) throws IOException {
+        ByteBuffer compressed = read(channel, block.position, block.compressedLength);
+        byte[] text = new byte[block.uncompressedLength];
+        inflater.reset();
+        inflater.setInput(compressed.array());
+        try {
+            int length = 0;
+            while (length < text.length && !inflater.finished()) {
+                int inflated = inflater.inflate(text, length, text.length - length);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                length += inflated;
+            }
+            if (length != text.length) {
+                throw new IOException("Corrupt compressed board block at " + block.position);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt compressed board block at " + block.position, e);
+        }
+        List<Row> rows = BoardTextParser.readRows(new ByteArrayInputStream(text), text.length);
+        if (rows.size() != block.rowCount) {
+            throw new IOException("Compressed board block at " + block.position + " does not hold " + block.rowCount + " rows");
+        }
+        return rows;
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of compressed board file");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Index entry of one compressed block.
+     */
+    private static final class BlockEntry {
+        private final long position;
+        private final int compressedLength;
+        private final int uncompressedLength;
+        private final int firstRow;
+        private final int rowCount;
+
+        BlockEntry(long position, int compressedLength, int uncompressedLength, int firstRow, int rowCount) {
+            this.position = position;
+            this.compressedLength = compressedLength;
+            this.uncompressedLength = uncompressedLength;
+            this.firstRow = firstRow;
+            this.rowCount = rowCount;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.ecc.nichole.service;
+
+import com.ecc.nichole.model.Board;
+import com.ecc.nichole.model.Row;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Saves boards to text board files by writing only what changed since the board was last saved
+ * to or loaded from the same file, using the dirty rows the board tracks.
+ *
+ * <ul>
+ *     <li>A board without dirty rows is not written at all.</li>
+ *     <li>When the row count is unchanged and every dirty row formats to a line of the same
+ *     length as before, those lines are overwritten in place.</li>
+ *     <li>Otherwise the file is truncated at the first dirty row and the rows from there on are
+ *     appended.</li>
+ * </ul>
+ *
+ * <p>The file's {@link BoardFileIndex} is updated the same way, so it stays current. The whole
+ * file is written when the saver did not write or load the file from this board last, when the
+ * board was saved elsewhere since, when the file's size or modification time no longer match
+ * the last save, or when every row of the board is dirty.</p>
+ */
+final class DeltaBoardSaver {
+    private final Map<Path, SavedFile> savedFiles = new HashMap<>();
+
+    /**
+     * Records that a board was just loaded from a file and matches it. Line positions are taken
+     * from the file's index if it has a current one; otherwise the first save with dirty rows
+     * writes the whole file.
+     *
+     * @param board the loaded board
+     * @param file  the file it was loaded from
+     * @throws IOException if the file's attributes cannot be read
+     */
+    synchronized void loaded(Board board, Path file) throws IOException {
+        BoardFileIndex index = BoardFileIndex.load(file);
+        if (index != null && index.getRowCount() != board.getRowCount()) {
+            index = null;
+        }
+        board.clearDirtyRows();
+        savedFiles.put(file.toAbsolutePath(), new SavedFile(board, index, file));
+    }
+
+    /**
+     * Forgets what is known about a file written by other means.
+     *
+     * @param file the file
+     */
+    synchronized void forget(Path file) {
+        savedFiles.remove(file.toAbsolutePath());
+    }
+
+    /**
+     * Saves a board to a text board file, writing only what changed where possible, updates the
+     * file's index and clears the board's dirty rows.
+     *
+     * @param board the board to save
+     * @param file  the file to write
+     * @return the number of bytes written to the board file
+     * @throws IOException if the file cannot be written
+     */
+    synchronized long save(Board board, Path file) throws IOException {
+        Path key = file.toAbsolutePath();
+        SavedFile saved = savedFiles.remove(key);
+        BoardFileIndex index;
+        long written;
+        if (saved != null && saved.matches(board, file) && !board.hasDirtyRows()) {
+            savedFiles.put(key, saved);
+            return 0;
+        } else if (saved == null || !saved.matches(board, file) || saved.index == null || board.areAllRowsDirty()) {
+            index = new BoardFileIndex();
+            written = writeRows(board.getRows(), file, 0, index);
+            index.save(file);
+        } else {
+            index = saved.index;
+            int[] patchedRows = patchRows(board, file, index);
+            if (patchedRows != null) {
+                written = 0;
+                for (int row : patchedRows) {
+                    written += index.getLineLength(row);
+                }
+                index.saveChanges(file, saved.size, saved.lastModified, patchedRows, index.getRowCount());
+            } else {
+                int rowCount = board.getRowCount();
+                int firstRow = board.getDirtyRows().nextSetBit(0);
+                if (firstRow < 0 || firstRow > Math.min(rowCount, index.getRowCount())) {
+                    firstRow = Math.min(rowCount, index.getRowCount());
+                }
+                written = writeRows(board.getRows(), file, firstRow, index);
+                index.saveChanges(file, saved.size, saved.lastModified, new int[0], firstRow);
+            }
+        }
+        board.clearDirtyRows();
+        savedFiles.put(key, new SavedFile(board, index, file));
+        return written;
+    }
+
+    /**
+     * Overwrites the dirty rows in place if the row count is unchanged and none of their lines
+     * changes length.
+     *
+     * @return the overwritten rows, or null if the rows cannot be overwritten in place
+     */
+    private static int[] patchRows(Board board, Path file, BoardFileIndex index) throws IOException {
+        List<Row> rows = board.getRows();
+        if (rows.size() != index.getRowCount()) {
+            return null;
+        }
+        BitSet dirtyRows = board.getDirtyRows();
+        Map<Integer, byte[]> lines = new LinkedHashMap<>();
+        for (int row = dirtyRows.nextSetBit(0); row >= 0 && row < rows.size(); row = dirtyRows.nextSetBit(row + 1)) {
+            byte[] line = FileService.formatRow(rows.get(row)).getBytes(StandardCharsets.UTF_8);
+            if (line.length != index.getLineLength(row)) {
+                return null;
+            }
+            lines.put(row, line);
+        }
+
+        int[] patchedRows = new int[lines.size()];
+        int patched = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            for (Map.Entry<Integer, byte[]> line : lines.entrySet()) {
+                int row = line.getKey();
+                ByteBuffer buffer = ByteBuffer.wrap(line.getValue());
+                long position = index.getOffset(row);
+                while (buffer.hasRemaining()) {
+                    position += channel.write(buffer, position);
+                }
+                index.recordRow(row, line.getValue(), rows.get(row).getColumnCount());
+                patchedRows[patched++] = row;
+            }
+        }
+        return patchedRows;
+    }
+
+    /**
+     * Writes the rows from the given row on, starting where that row's line starts and cutting
+     * off the rest of the file.
+     *
+     * @return the number of bytes written
+     */
+    private static long writeRows(List<Row> rows, Path file, int firstRow, BoardFileIndex index) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            long position = index.getOffset(firstRow);
+            channel.truncate(position);
+            channel.position(position);
+            return index.writeRows(rows, firstRow, Channels.newOutputStream(channel));
+        }
+    }
+
+    /**
+     * What is known about a file last written or loaded by the saver.
+     */
+    private static final class SavedFile {
+        private final Board board;
+        private final long cleanVersion;
+        private final BoardFileIndex index;
+        private final long size;
+        private final FileTime lastModified;
+
+        SavedFile(Board board, BoardFileIndex index, Path file) throws IOException {
+            this.board = board;
+            this.cleanVersion = board.getCleanVersion();
+            this.index = index;
+            this.size = Files.size(file);
+            this.lastModified = Files.getLastModifiedTime(file);
+        }
+
+        /**
+         * Returns whether the file still holds the board as it was when its dirty rows were
+         * last cleared.
+         */
+        boolean matches(Board board, Path file) throws IOException {
+            return this.board == board && board.getCleanVersion() == cleanVersion
+                    && Files.exists(file) && Files.size(file) == size
+                    && Files.getLastModifiedTime(file).equals(lastModified);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.ecc.nichole.service;
+
+import com.ecc.nichole.model.Row;
+import com.ecc.nichole.model.SortOrder;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Sorts a board file that does not fit in memory. The file is streamed row by row; each row's
+ * cells are sorted and rows are collected until the memory budget is reached, then sorted and
+ * spilled to a temporary run file. The runs are finally merged into the output file, several at
+ * a time if there are more runs than the budget allows open readers for.
+ *
+ * <p>The result is the same as loading the board, sorting it with {@link BoardService#sort} and
+ * saving it: cells and rows are compared with the same comparators and equal rows keep their
+ * order.</p>
+ */
+public class ExternalBoardSorter {
+    public static final long DEFAULT_MEMORY_BUDGET = 64L * 1024 * 1024;
+    private static final int ESTIMATED_ROW_BYTES = 64;
+    private static final int ESTIMATED_CELL_BYTES = 128;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final long memoryBudget;
+    private final BoardSorter boardSorter = new BoardSorter(1, Integer.MAX_VALUE);
+
+    /**
+     * Creates a sorter using the default memory budget.
+     */
+    public ExternalBoardSorter() {
+        this(DEFAULT_MEMORY_BUDGET);
+    }
+
+    /**
+     * Creates a sorter that keeps at most about the given number of bytes of rows in memory.
+     *
+     * @param memoryBudget the memory budget in bytes
+     */
+    public ExternalBoardSorter(long memoryBudget) {
+        if (memoryBudget < 2L * BUFFER_SIZE) {
+            throw new IllegalArgumentException("Memory budget must be at least " + 2 * BUFFER_SIZE + " bytes");
+        }
+        this.memoryBudget = memoryBudget;
+    }
+
+    /**
+     * Sorts the cells of every row of a board file and then its rows by their first cell. The
+     * input and output may be the same file.
+     *
+     * @param inputFileName  the board file to sort
+     * @param outputFileName the file receiving the sorted board
+     * @param sortOrder      the order to sort in
+     * @return the number of sorted runs the input was split into
+     * @throws IOException              if a file cannot be read or written
+     * @throws IllegalArgumentException if a row has no cells and therefore cannot be ordered
+     */
+    public int sort(String inputFileName, String outputFileName, SortOrder sortOrder) throws IOException {
+        Path output = Paths.get(outputFileName).toAbsolutePath();
+        Path directory = output.getParent();
+        List<Path> temporaryFiles = new ArrayList<>();
+        try {
+            List<Path> runs = new ArrayList<>();
+            List<Row> rows = new ArrayList<>();
+            long usedBytes = 0;
+            long rowNumber = 0;
+            try (BufferedReader reader = openRun(Paths.get(inputFileName))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    Row row = FileService.parseRow(line);
+                    rowNumber++;
+                    if (row.getColumnCount() == 0) {
+                        throw new IllegalArgumentException("Row " + rowNumber + " has no cells and cannot be sorted");
+                    }
+                    boardSorter.sortCells(row, sortOrder);
+                    rows.add(row);
+                    usedBytes += ESTIMATED_ROW_BYTES + (long) ESTIMATED_CELL_BYTES * row.getColumnCount();
+                    if (usedBytes >= memoryBudget) {
+                        runs.add(spill(rows, sortOrder, directory, temporaryFiles));
+                        rows.clear();
+                        usedBytes = 0;
+                    }
+                }
+            }
+
+            if (runs.isEmpty() || !rows.isEmpty()) {
+                runs.add(spill(rows, sortOrder, directory, temporaryFiles));
+            }
+            int runCount = runs.size();
+
+            int maximumFanIn = (int) Math.max(2, Math.min(Integer.MAX_VALUE, memoryBudget / (2L * BUFFER_SIZE)));
+            while (runs.size() > 1) {
+                List<Path> merged = new ArrayList<>();
+                for (int from = 0; from < runs.size(); from += maximumFanIn) {
+                    List<Path> group = runs.subList(from, Math.min(runs.size(), from + maximumFanIn));
+                    Path target = createTemporaryFile(directory, temporaryFiles);
+                    merged.add(target);
+                    merge(group, target, sortOrder);
+                    for (Path run : group) {
+                        Files.deleteIfExists(run);
+                    }
+                }
+                runs = merged;
+            }
+            Files.move(runs.get(0), output, StandardCopyOption.REPLACE_EXISTING);
+            return runCount;
+        } finally {
+            for (Path temporaryFile : temporaryFiles) {
+                Files.deleteIfExists(temporaryFile);
+            }
+        }
+    }
+
+    private static Path spill(List<Row> rows, SortOrder sortOrder, Path directory, List<Path> temporaryFiles) throws IOException {
+        Path run = createTemporaryFile(directory, temporaryFiles);
+        writeRows(rows, sortOrder, run);
+        return run;
+    }
+
+    private static Path createTemporaryFile(Path directory, List<Path> temporaryFiles) throws IOException {
+        Path temporaryFile = Files.createTempFile(directory, "board", ".run");
+        temporaryFiles.add(temporaryFile);
+        return temporaryFile;
+    }
+
+    private static void writeRows(List<Row> rows, SortOrder sortOrder, Path target) throws IOException {
+        rows.sort(BoardSorter.rowComparator(sortOrder));
+        try (BufferedWriter writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+            for (Row row : rows) {
+                writer.write(FileService.formatRow(row));
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Merges sorted runs into one. Rows with equal first cells are taken from earlier runs first,
+     * which keeps the merge stable.
+     */
+    private static void merge(List<Path> runs, Path target, SortOrder sortOrder) throws IOException {
+        Comparator<Row> rowComparator = BoardSorter.rowComparator(sortOrder);
+        Comparator<RunHead> headComparator = (h1, h2) -> {
+            int compared = rowComparator.compare(h1.row, h2.row);
+            return compared != 0 ? compared : Integer.compare(h1.runIndex, h2.runIndex);
+        };
+        PriorityQueue<RunHead> heads = new PriorityQueue<>(runs.size(), headComparator);
+        List<BufferedReader> readers = new ArrayList<>(runs.size());
+        try (BufferedWriter writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+            for (int runIndex = 0; runIndex < runs.size(); runIndex++) {
+                BufferedReader reader = openRun(runs.get(runIndex));
+                readers.add(reader);
+                RunHead head = new RunHead(runIndex, reader);
+                if (head.advance()) {
+                    heads.add(head);
+                }
+            }
+            while (!heads.isEmpty()) {
+                RunHead head = heads.poll();
+                writer.write(head.line);
+                writer.newLine();
+                if (head.advance()) {
+                    heads.add(head);
+                }
+            }
+        } finally {
+            for (BufferedReader reader : readers) {
+                reader.close();
+            }
+        }
+    }
+
+    private static BufferedReader openRun(Path run) throws IOException {
+        return new BufferedReader(new InputStreamReader(Files.newInputStream(run), StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    /**
+     * The next unmerged row of a run.
+     */
+    private static final class RunHead {
+        private final int runIndex;
+        private final BufferedReader reader;
+        private String line;
+        private Row row;
+
+        RunHead(int runIndex, BufferedReader reader) {
+            this.runIndex = runIndex;
+            this.reader = reader;
+        }
+
+        boolean advance() throws IOException {
+            line = reader.readLine();
+            row = line == null ? null : FileService.parseRow(line);
+            return line != null;
+        }
+    }
+}
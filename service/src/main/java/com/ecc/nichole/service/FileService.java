@@ -4,50 +4,281 @@ import org.apache.commons.io.FileUtils;
 
 import com.ecc.nichole.model.Board;
 import com.ecc.nichole.model.Cell;
+import com.ecc.nichole.model.ChunkedBoard;
+import com.ecc.nichole.model.MappedBoard;
 import com.ecc.nichole.model.Row;
-
-import com.ecc.nichole.service.BoardService;
-import com.ecc.nichole.service.CellService;
-import com.ecc.nichole.service.RowService;
+import com.ecc.nichole.util.Utils;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service class for handling file operations related to the Board.
  */
 public class FileService {
-    private static final char KEY_VALUE_SEPARATOR = '\u001D';  // Group separator
-    private static final char CELL_SEPARATOR = '\u001F';       // Unit separator
+    private final Map<String, BoardJournal> journals = new HashMap<>();
+    private boolean journaling;
+    private ParallelBoardLoader boardLoader = new ParallelBoardLoader();
+    private WriteBehindSaver writeBehindSaver;
+    private boolean terminationHookAdded;
+    private boolean pagedLoading;
+    private final DeltaBoardSaver deltaSaver = new DeltaBoardSaver();
+    private boolean deltaSaving;
+    private long bytesWritten;
+    private long lastSaveBytesWritten;
+
+    /**
+     * Sets the number of threads used to load large text board files, shutting down the threads
+     * of the previous loader.
+     *
+     * @param parallelism the number of load threads, 1 for sequential loads
+     */
+    public void setLoadParallelism(int parallelism) {
+        ParallelBoardLoader previous = boardLoader;
+        this.boardLoader = new ParallelBoardLoader(parallelism, ParallelBoardLoader.DEFAULT_PARALLEL_THRESHOLD);
+        previous.close();
+    }
+
+    /**
+     * Enables or disables paged loading. With paged loading, text board files are opened as a
+     * {@link PagedBoard}, which parses rows only when they are read instead of loading them all.
+     *
+     * @param pagedLoading true to open text board files without loading every row
+     */
+    public void setPagedLoading(boolean pagedLoading) {
+        this.pagedLoading = pagedLoading;
+    }
+
+    /**
+     * Returns whether text board files are opened without loading every row.
+     *
+     * @return true with paged loading
+     */
+    public boolean isPagedLoading() {
+        return pagedLoading;
+    }
+
+    /**
+     * Enables or disables delta saving. With delta saving, text saves outside journal and
+     * write-behind mode write only the rows marked dirty on the board since it was last saved to
+     * or loaded from the same file, and skip the save when no row is dirty; see
+     * {@link DeltaBoardSaver}.
+     *
+     * @param deltaSaving true to write only changed rows
+     */
+    public void setDeltaSaving(boolean deltaSaving) {
+        this.deltaSaving = deltaSaving;
+    }
+
+    /**
+     * Returns whether text saves write only changed rows.
+     *
+     * @return true with delta saving
+     */
+    public boolean isDeltaSaving() {
+        return deltaSaving;
+    }
+
+    /**
+     * Returns the number of bytes written to text board files by all saves so far. Saves queued in
+     * write-behind mode and journal appends are not counted.
+     *
+     * @return the total number of bytes written
+     */
+    public synchronized long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * Returns the number of bytes the last text save wrote to its board file, 0 if it was
+     * skipped because nothing changed.
+     *
+     * @return the number of bytes written by the last save
+     */
+    public synchronized long getLastSaveBytesWritten() {
+        return lastSaveBytesWritten;
+    }
+
+    private synchronized void recordBytesWritten(long bytes) {
+        lastSaveBytesWritten = bytes;
+        bytesWritten += bytes;
+    }
+
+    /**
+     * Enables or disables journal mode. In journal mode, changes are appended to a journal next to
+     * the board file instead of rewriting the whole file; see {@link BoardJournal}.
+     *
+     * @param journaling true to record changes in a journal
+     */
+    public void setJournaling(boolean journaling) {
+        this.journaling = journaling;
+    }
+
+    /**
+     * Returns whether changes are recorded in a journal instead of rewriting the board file.
+     *
+     * @return true in journal mode
+     */
+    public boolean isJournaling() {
+        return journaling;
+    }
+
+    /**
+     * Enables or disables write-behind mode. In write-behind mode, text saves outside journal
+     * mode are queued and written on a background thread, and pending saves of the same file are
+     * combined; see {@link WriteBehindSaver}. Pending saves are written when the mode is disabled
+     * and when the application terminates through {@link Utils#terminate()}. A {@link PagedBoard}
+     * is still saved on the calling thread, so its rows are never read from another thread while
+     * they are being changed.
+     *
+     * @param writeBehind true to save in the background
+     */
+    public synchronized void setWriteBehind(boolean writeBehind) {
+        if (writeBehind && writeBehindSaver == null) {
+            writeBehindSaver = new WriteBehindSaver();
+            if (!terminationHookAdded) {
+                Utils.addTerminationHook(this::flush);
+                terminationHookAdded = true;
+            }
+        } else if (!writeBehind && writeBehindSaver != null) {
+            writeBehindSaver.close();
+            writeBehindSaver = null;
+        }
+    }
+
+    /**
+     * Returns whether text saves are written in the background.
+     *
+     * @return true in write-behind mode
+     */
+    public synchronized boolean isWriteBehind() {
+        return writeBehindSaver != null;
+    }
+
+    /**
+     * Waits until every save queued in write-behind mode has been written.
+     */
+    public void flush() {
+        WriteBehindSaver saver;
+        synchronized (this) {
+            saver = writeBehindSaver;
+        }
+        if (saver != null) {
+            saver.flush();
+        }
+    }
+
+    /**
+     * Appends changes of the board to the journal of the given file. Outside journal mode the
+     * whole board is saved instead.
+     *
+     * @param board    The board that was changed
+     * @param fileName The board file the journal belongs to
+     * @param records  The journal records describing the changes, see {@link BoardJournal}
+     */
+    public void appendToJournal(Board board, String fileName, List<String> records) {
+        if (!journaling) {
+            saveBoardToTextFile(board, fileName);
+            return;
+        }
+        try {
+            getJournal(fileName).append(board, records);
+        } catch (IOException e) {
+            System.err.println("Error: An I/O error occurred while writing the board journal.");
+        }
+    }
+
+    /**
+     * Deletes the journal of a board file saved without journaling, which would no longer match it.
+     */
+    private void deleteJournal(String fileName) {
+        if (Files.exists(Paths.get(fileName + BoardJournal.JOURNAL_SUFFIX))) {
+            try {
+                getJournal(fileName).delete();
+            } catch (IOException e) {
+                System.err.println("Error: An I/O error occurred while deleting the board journal.");
+            }
+        }
+    }
+
+    /**
+     * Returns the journal of a board file, shared by all saves and loads of that file.
+     */
+    BoardJournal getJournal(String fileName) {
+        return journals.computeIfAbsent(Paths.get(fileName).toAbsolutePath().toString(), BoardJournal::new);
+    }
 
     /**
      * Saves the given board to a text file. Each cell is stored in the format key=value,
-     * and rows are stored line by line.
+     * and rows are stored line by line. In journal mode the journal is emptied, otherwise it is
+     * deleted. In write-behind mode the rows are formatted and the write is queued. A
+     * {@link PagedBoard} is otherwise written one row at a time; see
+     * {@link PagedBoard#save(String)}. With delta saving only the changed rows are written.
+     * Outside journal mode the file's row index is written next to it; see
+     * {@link BoardFileIndex}.
      *
      * @param board   The board object to be saved
      * @param fileName The file where the board data will be stored
      */
     public void saveBoardToTextFile(Board board, String fileName) {
+        WriteBehindSaver saver;
+        synchronized (this) {
+            saver = journaling || board instanceof PagedBoard ? null : writeBehindSaver;
+        }
+        if (saver != null) {
+            deleteJournal(fileName);
+            saver.save(board, fileName);
+            return;
+        }
+
+        if (board instanceof PagedBoard pagedBoard && !journaling) {
+            try {
+                pagedBoard.save(fileName);
+                recordBytesWritten(Files.size(Paths.get(fileName)));
+                deleteJournal(fileName);
+            } catch (IOException | UncheckedIOException e) {
+                System.err.println("Error: An I/O error occurred while saving the board to the file.");
+            }
+            return;
+        }
+
         File file = new File(fileName);
+        if (deltaSaving && !journaling) {
+            try {
+                recordBytesWritten(deltaSaver.save(board, file.toPath()));
+                deleteJournal(fileName);
+            } catch (IOException e) {
+                System.err.println("Error: An I/O error occurred while saving the board to the file.");
+            }
+            return;
+        }
+
         List<String> lines = new ArrayList<>();
         List<Row> rows = board.getRows();
         
         for (Row row : rows) {
-            List<Cell> cells = row.getCells();
-            StringBuilder line = new StringBuilder();
-            for (Cell cell : cells) {
-                line.append(cell.getKey())
-                    .append(KEY_VALUE_SEPARATOR)
-                    .append(cell.getValue())
-                    .append(CELL_SEPARATOR);
-            }
-            lines.add(line.toString());
+            lines.add(formatRow(row));
         }
 
         try {
-            FileUtils.writeLines(file, lines);
+            deltaSaver.forget(file.toPath());
+            if (journaling) {
+                getJournal(fileName).snapshot(lines);
+                BoardFileIndex.delete(file.toPath());
+            } else {
+                FileUtils.writeLines(file, lines);
+                deleteJournal(fileName);
+                BoardFileIndex.of(rows, lines).save(file.toPath());
+            }
+            recordBytesWritten(file.length());
         } catch (IOException e) {
             System.err.println("Error: An I/O error occurred while saving the board to the file.");
         } catch (Exception e) {
@@ -57,48 +288,42 @@ public class FileService {
 
     /**
      * Loads the board data from a text file, assuming that the format matches the way it was saved.
+     * The file is parsed in a single streaming pass, split into ranges parsed in parallel when it
+     * is large; see {@link ParallelBoardLoader}.
+     * With paged loading the file is opened as a {@link PagedBoard} instead.
+     * Changes recorded in the file's journal, if there is one, are applied to the loaded rows.
      *
      * @param fileName The file from which the board data is to be loaded
      * @return The reconstructed Board object
      */
     public Board loadBoardFromTextFile(String fileName) {
+        return loadBoardFromTextFile(fileName, pagedLoading);
+    }
+
+    /**
+     * Loads the board data from a text file, opening it as a {@link PagedBoard} when paged.
+     *
+     * @return the board, or null if the file is empty or cannot be loaded
+     */
+    private Board loadBoardFromTextFile(String fileName, boolean paged) {
+        flush();
         File file = new File(fileName);
-        List<Row> rows = new ArrayList<>();
         Board board = null;
-		FileService fileService = new FileService();
-		CellService cellService = new CellService();
-		RowService rowService = new RowService();
-        BoardService boardService = new BoardService(cellService, rowService, fileService);
 
         try {
-            List<String> lines = FileUtils.readLines(file, "UTF-8");
-
-            if (!lines.isEmpty()) {
-                String firstLine = lines.get(0);
-                String[] cellValues = firstLine.split(Character.toString(CELL_SEPARATOR));
-                board = new Board();
-                board = boardService.createBoard(rowService, 0, cellValues.length);
-
-                for (String line : lines) {
-                    Row row = new Row();
-                    String[] cellValuesInRow = line.split(Character.toString(CELL_SEPARATOR));
-                    for (String cellValue : cellValuesInRow) {
-                        String[] splitCell = cellValue.split(Character.toString(KEY_VALUE_SEPARATOR));
-
-                        if (splitCell.length == 2) {
-                            Cell cell = new Cell();
-                            cell.setKey(splitCell[0]);
-                            cell.setValue(splitCell[1]);
-                            row.getCells().add(cell);
-                        } else {
-                            System.err.println("Error: Invalid cell data format in file.");
-                        }
-                    }
-                    rows.add(row);
-                }
+            if (paged) {
+                return openPagedBoard(file);
+            }
+            List<Row> rows = boardLoader.readRows(file.toPath());
 
-                if (board != null) {
-                    board.setRows(rows);
+            if (!rows.isEmpty()) {
+                boolean journaled = Files.exists(Paths.get(fileName + BoardJournal.JOURNAL_SUFFIX));
+                if (journaled) {
+                    getJournal(fileName).replay(rows, BoardJournal.checksum(file.toPath()));
+                }
+                board = new ChunkedBoard(rows);
+                if (deltaSaving && !journaled) {
+                    deltaSaver.loaded(board, file.toPath());
                 }
             }
 
@@ -110,4 +335,228 @@ public class FileService {
 
         return board;
     }
+
+    /**
+     * Loads a range of rows from a text board file. When the file has a current row index, only
+     * the lines of the range are read; otherwise the whole file is loaded. Changes recorded in
+     * the file's journal are applied in either case. The range is clipped to the rows in the file.
+     *
+     * @param fileName The file from which the rows are to be loaded
+     * @param fromRow  The first row to load, inclusive
+     * @param toRow    The last row to load, exclusive
+     * @return The loaded rows, empty if the file cannot be loaded
+     */
+    public List<Row> loadRowsFromTextFile(String fileName, int fromRow, int toRow) {
+        if (fromRow < 0 || fromRow > toRow) {
+            throw new IndexOutOfBoundsException("Rows: " + fromRow + "-" + toRow);
+        }
+        flush();
+        Path file = Paths.get(fileName);
+        if (!Files.exists(Paths.get(fileName + BoardJournal.JOURNAL_SUFFIX))) {
+            BoardFileIndex index = BoardFileIndex.load(file);
+            if (index != null) {
+                try {
+                    int rowCount = index.getRowCount();
+                    return index.readRows(file, Math.min(fromRow, rowCount), Math.min(toRow, rowCount));
+                } catch (IOException e) {
+                    System.err.println("Error: The board index does not match the board file and was ignored.");
+                }
+            }
+        }
+
+        Board board = loadBoardFromTextFile(fileName, false);
+        if (board == null) {
+            return new ArrayList<>();
+        }
+        int rowCount = board.getRowCount();
+        return new ArrayList<>(board.getRows().subList(Math.min(fromRow, rowCount), Math.min(toRow, rowCount)));
+    }
+
+    /**
+     * Opens a text board file as a paged board and replays its journal, if there is one.
+     *
+     * @return the board, or null for an empty file
+     */
+    private Board openPagedBoard(File file) throws IOException {
+        PagedBoard board = PagedBoard.open(file.getPath());
+        if (board.getRowCount() == 0) {
+            board.close();
+            return null;
+        }
+        if (Files.exists(Paths.get(file.getPath() + BoardJournal.JOURNAL_SUFFIX))) {
+            getJournal(file.getPath()).replay(board.getRows(), BoardJournal.checksum(file.toPath()));
+        }
+        return board;
+    }
+
+    /**
+     * Saves the given board to a binary board file with fixed-width cells; see
+     * {@link MappedBoard}. A board mapped from that file and still in step with it only has its
+     * changed cells flushed, without rewriting the file.
+     *
+     * @param board    The board object to be saved
+     * @param fileName The binary file where the board data will be stored
+     */
+    public void saveBoardToBinaryFile(Board board, String fileName) {
+        try {
+            if (board instanceof MappedBoard mappedBoard && mappedBoard.getFile().equals(Paths.get(fileName).toAbsolutePath())) {
+                mappedBoard.save();
+            } else {
+                MappedBoard.write(board, fileName);
+            }
+        } catch (IOException e) {
+            System.err.println("Error: An I/O error occurred while saving the board to the binary file.");
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Maps a binary board file instead of parsing it. Cell changes on the returned board are
+     * written straight to the file.
+     *
+     * @param fileName The binary file from which the board data is to be loaded
+     * @return The mapped board, or null if the file cannot be loaded
+     */
+    public MappedBoard loadBoardFromBinaryFile(String fileName) {
+        try {
+            return MappedBoard.open(fileName);
+        } catch (IOException e) {
+            System.err.println("Error: An I/O error occurred while loading the board from the binary file.");
+            return null;
+        }
+    }
+
+    /**
+     * Returns whether a file holds a board in the binary format.
+     *
+     * @param fileName The file to check
+     * @return true for a binary board file, false for any other or missing file
+     */
+    public boolean isBinaryBoardFile(String fileName) {
+        try {
+            return MappedBoard.isBinaryBoardFile(fileName);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Converts a board file from the text format to the binary format.
+     *
+     * @param textFileName   The text file to read
+     * @param binaryFileName The binary file to write
+     */
+    public void convertTextToBinary(String textFileName, String binaryFileName) {
+        Board board = loadBoardFromTextFile(textFileName);
+        if (board != null) {
+            saveBoardToBinaryFile(board, binaryFileName);
+        }
+    }
+
+    /**
+     * Converts a board file from the binary format to the text format.
+     *
+     * @param binaryFileName The binary file to read
+     * @param textFileName   The text file to write
+     */
+    public void convertBinaryToText(String binaryFileName, String textFileName) {
+        MappedBoard board = loadBoardFromBinaryFile(binaryFileName);
+        if (board != null) {
+            try {
+                saveBoardToTextFile(board, textFileName);
+            } finally {
+                board.close();
+            }
+        }
+    }
+
+    /**
+     * Saves the given board to a compressed board file, with its rows compressed in independent
+     * blocks; see {@link CompressedBoardFile}. Any journal of the file is deleted.
+     *
+     * @param board    The board object to be saved
+     * @param fileName The compressed file where the board data will be stored
+     */
+    public void saveBoardToCompressedFile(Board board, String fileName) {
+        try {
+            CompressedBoardFile.write(board, fileName);
+            deleteJournal(fileName);
+        } catch (IOException e) {
+            System.err.println("Error: An I/O error occurred while saving the board to the compressed file.");
+        }
+    }
+
+    /**
+     * Loads the board data from a compressed board file.
+     *
+     * @param fileName The compressed file from which the board data is to be loaded
+     * @return The reconstructed Board object, or null if the file is empty or cannot be loaded
+     */
+    public Board loadBoardFromCompressedFile(String fileName) {
+        List<Row> rows = loadRowsFromCompressedFile(fileName, 0, Integer.MAX_VALUE);
+        if (rows.isEmpty()) {
+            return null;
+        }
+        return new ChunkedBoard(rows);
+    }
+
+    /**
+     * Loads a range of rows from a compressed board file, decompressing only the blocks that hold
+     * them. The range is clipped to the rows in the file.
+     *
+     * @param fileName The compressed file to read
+     * @param fromRow  The first row to load, inclusive
+     * @param toRow    The last row to load, exclusive
+     * @return The loaded rows, empty if the file cannot be loaded
+     */
+    public List<Row> loadRowsFromCompressedFile(String fileName, int fromRow, int toRow) {
+        try {
+            return CompressedBoardFile.readRows(fileName, fromRow, toRow);
+        } catch (IOException e) {
+            System.err.println("Error: An I/O error occurred while loading the board from the compressed file.");
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Returns whether a file holds a board in the compressed format.
+     *
+     * @param fileName The file to check
+     * @return true for a compressed board file, false for any other or missing file
+     */
+    public boolean isCompressedBoardFile(String fileName) {
+        try {
+            return CompressedBoardFile.isCompressedBoardFile(fileName);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Formats a row as one line of the text file format.
+     *
+     * @param row the row to format
+     * @return the line, without a line terminator
+     */
+    static String formatRow(Row row) {
+        StringBuilder line = new StringBuilder();
+        for (Cell cell : row.getCells()) {
+            line.append(cell.getKey())
+                .append(BoardTextParser.KEY_VALUE_SEPARATOR)
+                .append(cell.getValue())
+                .append(BoardTextParser.CELL_SEPARATOR);
+        }
+        return line.toString();
+    }
+
+    /**
+     * Parses one line of the text file format into a row. Malformed cells are reported and skipped.
+     *
+     * @param line the line to parse
+     * @return the parsed row
+     */
+    static Row parseRow(String line) {
+        return BoardTextParser.parseRow(line);
+    }
 }
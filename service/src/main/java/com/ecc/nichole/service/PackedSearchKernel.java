@@ -0,0 +1,105 @@
+package com.ecc.nichole.service;
+
+import com.ecc.nichole.model.PackedBoard;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Substring search over the raw bytes of a {@link PackedBoard}. Cells are copied block by block
+ * into a buffer, positions of the first pattern character are located eight bytes at a time
+ * with word-wide (SWAR) comparisons, and only those candidates are verified byte by byte.
+ */
+final class PackedSearchKernel {
+    private static final VarHandle LONG_VIEW = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final long LOW_BITS = 0x0101010101010101L;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+    private static final int BLOCK_CELLS = 8192;
+
+    private PackedSearchKernel() {
+    }
+
+    /**
+     * Finds every occurrence of a string within a range of rows.
+     *
+     * @param board        the PackedBoard to search
+     * @param stringToFind the string to search for
+     * @param fromRow      the first row to search, inclusive
+     * @param toRow        the last row to search, exclusive
+     * @return the matches ordered by row, column and position
+     */
+    static List<SearchMatch> find(PackedBoard board, String stringToFind, int fromRow, int toRow) {
+        List<SearchMatch> matches = new ArrayList<>();
+        byte[] pattern = toBytes(stringToFind);
+        if (pattern == null || fromRow >= toRow) {
+            return matches;
+        }
+
+        int lastCell = board.getFirstCellIndex(toRow);
+        long broadcast = (pattern[0] & 0xFFL) * LOW_BITS;
+        byte[] block = new byte[BLOCK_CELLS * PackedBoard.CELL_WIDTH + Long.BYTES];
+        int row = fromRow;
+        int rowStart = board.getFirstCellIndex(row);
+        int nextRowStart = board.getFirstCellIndex(row + 1);
+
+        for (int blockStart = rowStart; blockStart < lastCell; blockStart += BLOCK_CELLS) {
+            int cells = Math.min(BLOCK_CELLS, lastCell - blockStart);
+            int length = cells * PackedBoard.CELL_WIDTH;
+            board.readCellBytes(blockStart, cells, block, 0);
+
+            for (int word = 0; word < length; word += Long.BYTES) {
+                long difference = (long) LONG_VIEW.get(block, word) ^ broadcast;
+                long candidates = (difference - LOW_BITS) & ~difference & HIGH_BITS;
+                while (candidates != 0) {
+                    int position = word + (Long.numberOfTrailingZeros(candidates) >>> 3);
+                    candidates &= candidates - 1;
+                    if (position >= length) {
+                        break;
+                    }
+                    int offset = position % PackedBoard.CELL_WIDTH;
+                    if (offset + pattern.length > PackedBoard.CELL_WIDTH || !matchesAt(block, position, pattern)) {
+                        continue;
+                    }
+                    int cell = blockStart + position / PackedBoard.CELL_WIDTH;
+                    while (cell >= nextRowStart) {
+                        row++;
+                        rowStart = nextRowStart;
+                        nextRowStart = board.getFirstCellIndex(row + 1);
+                    }
+                    matches.add(new SearchMatch(row, cell - rowStart, offset, offset + pattern.length - 1));
+                }
+            }
+        }
+        return matches;
+    }
+
+    private static boolean matchesAt(byte[] block, int position, byte[] pattern) {
+        for (int i = 0; i < pattern.length; i++) {
+            if (block[position + i] != pattern[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the single-byte form of the pattern, or null if it can never match packed cells.
+     */
+    private static byte[] toBytes(String stringToFind) {
+        if (stringToFind.isEmpty() || stringToFind.length() > PackedBoard.CELL_WIDTH) {
+            return null;
+        }
+        byte[] pattern = new byte[stringToFind.length()];
+        for (int i = 0; i < pattern.length; i++) {
+            char character = stringToFind.charAt(i);
+            if (character > 0xFF) {
+                return null;
+            }
+            pattern[i] = (byte) character;
+        }
+        return pattern;
+    }
+}
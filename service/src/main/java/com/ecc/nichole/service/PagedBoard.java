@@ -0,0 +1,125 @@
+package com.ecc.nichole.service;
+
+import com.ecc.nichole.model.Board;
+import com.ecc.nichole.model.Row;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+/**
+ * Board opened from a text board file without parsing it. Opening only indexes where each line
+ * starts, which takes about as long as reading the file once, or reads the file's current
+ * {@link BoardFileIndex} if it has one; rows are parsed when they are read
+ * and only a bounded number of them stay parsed. See {@link PagedRowList} for how changed rows
+ * are kept.
+ *
+ * <p>Replacing the rows with {@link #setRows(List)} keeps the new rows in memory as any other
+ * board does.</p>
+ */
+public class PagedBoard extends Board implements AutoCloseable {
+    public static final int DEFAULT_CACHED_PAGES = 64;
+
+    private final PagedRowList pagedRows;
+
+    private PagedBoard(PagedRowList pagedRows) {
+        this.pagedRows = pagedRows;
+        setRows(pagedRows);
+    }
+
+    /**
+     * Opens a text board file with the default page cache size.
+     *
+     * @param fileName the text board file
+     * @return the board of the file
+     * @throws IOException if the file cannot be read
+     */
+    public static PagedBoard open(String fileName) throws IOException {
+        return open(fileName, DEFAULT_CACHED_PAGES);
+    }
+
+    /**
+     * Opens a text board file.
+     *
+     * @param fileName    the text board file
+     * @param cachedPages the number of pages of rows to keep parsed, each of
+     *                    {@value PagedRowList#ROWS_PER_PAGE} rows
+     * @return the board of the file
+     * @throws IOException if the file cannot be read
+     */
+    public static PagedBoard open(String fileName, int cachedPages) throws IOException {
+        return new PagedBoard(PagedRowList.open(Paths.get(fileName).toAbsolutePath(), cachedPages));
+    }
+
+    @Override
+    protected List<Row> newRowList(List<Row> rows) {
+        return rows == pagedRows ? rows : super.newRowList(rows);
+    }
+
+    /**
+     * Returns the file the board reads its rows from.
+     *
+     * @return the absolute path of the file
+     */
+    public Path getFile() {
+        return pagedRows.getFile();
+    }
+
+    /**
+     * Returns whether the board still reads its rows from its file, that is, its rows were not
+     * replaced with {@link #setRows(List)}.
+     *
+     * @return true if rows are read from the file
+     */
+    public boolean isPaged() {
+        return getRows() == pagedRows;
+    }
+
+    /**
+     * Writes the board to a text board file one row at a time, without holding all rows at once,
+     * along with its {@link BoardFileIndex}. The file is replaced once it is complete, so the board
+     * can be saved over the file it reads from; it then reads from the new file and no longer holds
+     * any row in memory.
+     *
+     * @param fileName the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public void save(String fileName) throws IOException {
+        Path target = Paths.get(fileName).toAbsolutePath();
+        Path temporaryFile = Files.createTempFile(target.getParent(), "board", ".tmp");
+        try {
+            BoardFileIndex index = new BoardFileIndex();
+            try (OutputStream out = Files.newOutputStream(temporaryFile)) {
+                index.writeRows(getRows(), 0, out);
+            }
+            try {
+                Files.move(temporaryFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporaryFile, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            index.save(target);
+            if (isPaged() && target.equals(pagedRows.getFile())) {
+                pagedRows.rebase(target, index.getOffsets());
+            }
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    /**
+     * Closes the file the board reads from.
+     */
+    @Override
+    public void close() {
+        try {
+            pagedRows.close();
+        } catch (IOException e) {
+            System.err.println("Error: An I/O error occurred while closing the board file.");
+        }
+    }
+}
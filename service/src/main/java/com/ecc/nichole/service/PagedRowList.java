@@ -0,0 +1,359 @@
+package com.ecc.nichole.service;
+
+import com.ecc.nichole.model.Cell;
+import com.ecc.nichole.model.Row;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Row list of a text board file that parses rows only when they are read. Opening the list only
+ * records where each line of the file starts; rows are parsed a page at a time and kept in a
+ * bounded cache that drops the least recently used page.
+ *
+ * <p>Every row has an id: the line it was read from, or a new id past the last line for rows
+ * added to the list. Rows that do not come from the file, and rows of the file that were changed
+ * in place when their page was dropped from the cache, are kept in memory under their id. A row
+ * is seen as changed when its cells, or their keys or values, are no longer the same objects as
+ * when it was parsed, so changes must be made to a row before its page leaves the cache, which is
+ * the case for rows changed right after they are read.</p>
+ *
+ * <p>All methods are synchronized, so the list stays consistent when it is read from another
+ * thread. Rows must still be changed on the thread that reads them: a row read on one thread can
+ * leave the cache through reads on another before it is changed, and the change is then lost. The
+ * file service therefore never saves a paged board in the background.</p>
+ */
+final class PagedRowList extends AbstractList<Row> implements RandomAccess {
+    static final int ROWS_PER_PAGE = 256;
+    private static final int BUFFER_SIZE = 1024 * 1024;
+
+    private final int maximumPages;
+    private final Map<Integer, Page> pages;
+    private final Map<Integer, Row> memoryRows = new HashMap<>();
+    private final BitSet droppedLines = new BitSet();
+    private Path file;
+    private FileChannel channel;
+    private long[] lineStarts;
+    private int lineCount;
+    private int[] ids;
+    private int size;
+    private int nextId;
+
+    private PagedRowList(Path file, FileChannel channel, long[] lineStarts, int lineCount, int maximumPages) {
+        if (maximumPages < 1) {
+            throw new IllegalArgumentException("The page cache must hold at least one page");
+        }
+        this.maximumPages = maximumPages;
+        this.pages = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Page> eldest) {
+                if (size() <= PagedRowList.this.maximumPages) {
+                    return false;
+                }
+                keepChangedRows(eldest.getKey(), eldest.getValue());
+                return true;
+            }
+        };
+        useFile(file, channel, lineStarts, lineCount);
+    }
+
+    /**
+     * Opens a text board file, indexing the start of every line unless the file has a current
+     * {@link BoardFileIndex}.
+     *
+     * @param file         the file to open
+     * @param maximumPages the number of pages of {@value #ROWS_PER_PAGE} rows to keep parsed
+     * @return the row list of the file
+     * @throws IOException if the file cannot be read
+     */
+    static PagedRowList open(Path file, int maximumPages) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            BoardFileIndex index = BoardFileIndex.load(file);
+            if (index != null) {
+                return new PagedRowList(file, channel, index.getOffsets(), index.getRowCount(), maximumPages);
+            }
+            long[] lineStarts = new long[1024];
+            int lineCount = 0;
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            byte[] bytes = buffer.array();
+            long position = 0;
+            long lineStart = 0;
+            boolean skipLineFeed = false;
+            int read;
+            while ((read = channel.read(buffer, position)) >= 0) {
+                for (int i = 0; i < read; i++) {
+                    byte b = bytes[i];
+                    if (skipLineFeed) {
+                        skipLineFeed = false;
+                        if (b == '\n') {
+                            lineStart = position + i + 1;
+                            continue;
+                        }
+                    }
+                    if (b == '\n' || b == '\r') {
+                        if (lineCount + 1 == lineStarts.length) {
+                            lineStarts = Arrays.copyOf(lineStarts, lineStarts.length + (lineStarts.length >> 1));
+                        }
+                        lineStarts[lineCount++] = lineStart;
+                        skipLineFeed = b == '\r';
+                        lineStart = position + i + 1;
+                    }
+                }
+                position += read;
+                buffer.clear();
+            }
+            if (lineStart < position) {
+                if (lineCount + 1 == lineStarts.length) {
+                    lineStarts = Arrays.copyOf(lineStarts, lineStarts.length + 1);
+                }
+                lineStarts[lineCount++] = lineStart;
+            }
+            lineStarts[lineCount] = position;
+            return new PagedRowList(file, channel, lineStarts, lineCount, maximumPages);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the file the rows are read from.
+     */
+    synchronized Path getFile() {
+        return file;
+    }
+
+    /**
+     * Returns the number of rows currently parsed in the page cache.
+     */
+    synchronized int getCachedRowCount() {
+        int rows = 0;
+        for (Page page : pages.values()) {
+            rows += page.rows.length;
+        }
+        return rows;
+    }
+
+    /**
+     * Returns the number of rows held in memory because they were added or changed.
+     */
+    synchronized int getMemoryRowCount() {
+        return memoryRows.size();
+    }
+
+    /**
+     * Switches to a file just written from this list, one row per line in list order, dropping
+     * every row held in memory.
+     *
+     * @param newFile       the written file
+     * @param newLineStarts the start of every line, followed by the length of the file
+     * @throws IOException if the file cannot be opened
+     */
+    synchronized void rebase(Path newFile, long[] newLineStarts) throws IOException {
+        FileChannel newChannel = FileChannel.open(newFile, StandardOpenOption.READ);
+        channel.close();
+        pages.clear();
+        memoryRows.clear();
+        droppedLines.clear();
+        useFile(newFile, newChannel, newLineStarts, size);
+        modCount++;
+    }
+
+    /**
+     * Closes the file. Rows that are not in memory can no longer be read.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    private void useFile(Path newFile, FileChannel newChannel, long[] newLineStarts, int newLineCount) {
+        file = newFile;
+        channel = newChannel;
+        lineStarts = newLineStarts;
+        lineCount = newLineCount;
+        size = newLineCount;
+        ids = new int[Math.max(16, newLineCount)];
+        for (int i = 0; i < newLineCount; i++) {
+            ids[i] = i;
+        }
+        nextId = newLineCount;
+    }
+
+    @Override
+    public synchronized int size() {
+        return size;
+    }
+
+    @Override
+    public synchronized Row get(int index) {
+        checkIndex(index, size);
+        int id = ids[index];
+        Row row = memoryRows.get(id);
+        if (row != null) {
+            return row;
+        }
+        return page(id / ROWS_PER_PAGE).rows[id % ROWS_PER_PAGE];
+    }
+
+    @Override
+    public synchronized Row set(int index, Row row) {
+        Row previous = get(index);
+        drop(ids[index]);
+        ids[index] = newMemoryRow(row);
+        return previous;
+    }
+
+    @Override
+    public synchronized void add(int index, Row row) {
+        checkIndex(index, size + 1);
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length + (ids.length >> 1));
+        }
+        System.arraycopy(ids, index, ids, index + 1, size - index);
+        ids[index] = newMemoryRow(row);
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public synchronized Row remove(int index) {
+        Row row = get(index);
+        drop(ids[index]);
+        System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+        size--;
+        modCount++;
+        return row;
+    }
+
+    @Override
+    public synchronized void clear() {
+        memoryRows.clear();
+        pages.clear();
+        droppedLines.set(0, lineCount);
+        size = 0;
+        modCount++;
+    }
+
+    private static void checkIndex(int index, int limit) {
+        if (index < 0 || index >= limit) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + limit);
+        }
+    }
+
+    private int newMemoryRow(Row row) {
+        int id = nextId++;
+        memoryRows.put(id, row);
+        return id;
+    }
+
+    private void drop(int id) {
+        memoryRows.remove(id);
+        if (id < lineCount) {
+            droppedLines.set(id);
+        }
+    }
+
+    private Page page(int pageIndex) {
+        Page page = pages.get(pageIndex);
+        if (page == null) {
+            page = readPage(pageIndex);
+            pages.put(pageIndex, page);
+        }
+        return page;
+    }
+
+    private Page readPage(int pageIndex) {
+        int firstLine = pageIndex * ROWS_PER_PAGE;
+        int lastLine = Math.min(firstLine + ROWS_PER_PAGE, lineCount);
+        long start = lineStarts[firstLine];
+        ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(lineStarts[lastLine] - start));
+        try {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, start + buffer.position()) < 0) {
+                    throw new IOException("The board file " + file + " was truncated");
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        byte[] bytes = buffer.array();
+        Row[] rows = new Row[lastLine - firstLine];
+        for (int line = firstLine; line < lastLine; line++) {
+            int from = (int) (lineStarts[line] - start);
+            int to = (int) (lineStarts[line + 1] - start);
+            while (to > from && (bytes[to - 1] == '\n' || bytes[to - 1] == '\r')) {
+                to--;
+            }
+            rows[line - firstLine] = BoardTextParser.parseRow(bytes, from, to);
+        }
+        return new Page(rows);
+    }
+
+    /**
+     * Moves the rows of a page leaving the cache that were changed in place to memory.
+     */
+    private void keepChangedRows(int pageIndex, Page page) {
+        int firstLine = pageIndex * ROWS_PER_PAGE;
+        for (int i = 0; i < page.rows.length; i++) {
+            int line = firstLine + i;
+            if (page.isChanged(i) && !droppedLines.get(line) && !memoryRows.containsKey(line)) {
+                memoryRows.put(line, page.rows[i]);
+            }
+        }
+    }
+
+    /**
+     * Parsed rows of a page, with the cells, keys and values each row had when it was parsed.
+     */
+    private static final class Page {
+        private final Row[] rows;
+        private final Object[][] parsedCells;
+
+        Page(Row[] rows) {
+            this.rows = rows;
+            this.parsedCells = new Object[rows.length][];
+            for (int i = 0; i < rows.length; i++) {
+                List<Cell> cells = rows[i].getCells();
+                Object[] parsed = new Object[cells.size() * 3];
+                for (int j = 0; j < cells.size(); j++) {
+                    Cell cell = cells.get(j);
+                    parsed[j * 3] = cell;
+                    parsed[j * 3 + 1] = cell.getKey();
+                    parsed[j * 3 + 2] = cell.getValue();
+                }
+                parsedCells[i] = parsed;
+            }
+        }
+
+        boolean isChanged(int index) {
+            List<Cell> cells = rows[index].getCells();
+            Object[] parsed = parsedCells[index];
+            if (cells.size() * 3 != parsed.length) {
+                return true;
+            }
+            for (int j = 0; j < cells.size(); j++) {
+                Cell cell = cells.get(j);
+                if (cell != parsed[j * 3] || cell.getKey() != parsed[j * 3 + 1] || cell.getValue() != parsed[j * 3 + 2]) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.ecc.nichole.service;
+
+import com.ecc.nichole.model.Row;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Reads the rows of a text board file, splitting large files into byte ranges that start at line
+ * boundaries and parsing the ranges concurrently on a fork-join pool. Each range is read through
+ * its own channel, and the rows are put back together in file order, so the result is the same
+ * as parsing the file in one pass. Malformed cells are reported as they are found.
+ */
+public class ParallelBoardLoader implements AutoCloseable {
+    public static final long DEFAULT_PARALLEL_THRESHOLD = 16L * 1024 * 1024;
+    private static final int TASKS_PER_THREAD = 4;
+    private static final int SCAN_BUFFER_SIZE = 8192;
+
+    private final int parallelism;
+    private final long parallelThreshold;
+    private ForkJoinPool pool;
+
+    /**
+     * Creates a loader using one thread per available processor.
+     */
+    public ParallelBoardLoader() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Creates a loader with the given pool size and parallel threshold.
+     *
+     * @param parallelism       the number of threads used for parallel loads
+     * @param parallelThreshold the minimum file size in bytes for which a load runs in parallel
+     */
+    public ParallelBoardLoader(int parallelism, long parallelThreshold) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        this.parallelism = parallelism;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Gets the number of threads used for parallel loads.
+     *
+     * @return the parallelism
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Reads all rows of a text board file, in parallel when the file is large enough.
+     *
+     * @param file the file to read
+     * @return the rows in file order, empty for an empty file
+     * @throws IOException if the file cannot be read
+     */
+    public List<Row> readRows(Path file) throws IOException {
+        long size = Files.size(file);
+        if (parallelism == 1 || size < parallelThreshold) {
+            return BoardTextParser.readRows(file);
+        }
+
+        int chunkCount = (int) Math.max(1, Math.min(parallelism * TASKS_PER_THREAD, size / SCAN_BUFFER_SIZE));
+        long[] starts = new long[chunkCount + 1];
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            for (int chunk = 1; chunk < chunkCount; chunk++) {
+                starts[chunk] = Math.max(starts[chunk - 1], lineStartAfter(channel, size * chunk / chunkCount, size));
+            }
+        }
+        starts[chunkCount] = size;
+
+        List<Callable<List<Row>>> tasks = new ArrayList<>(chunkCount);
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            long from = starts[chunk];
+            long to = starts[chunk + 1];
+            tasks.add(() -> readRange(file, from, to));
+        }
+
+        List<List<Row>> parts = new ArrayList<>(chunkCount);
+        int rowCount = 0;
+        try {
+            for (Future<List<Row>> result : getPool().invokeAll(tasks)) {
+                List<Row> part = result.get();
+                parts.add(part);
+                rowCount += part.size();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Load was interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IllegalStateException("Load failed: " + e.getCause().getMessage(), e.getCause());
+        }
+
+        List<Row> rows = new ArrayList<>(rowCount);
+        parts.forEach(rows::addAll);
+        return rows;
+    }
+
+    private static List<Row> readRange(Path file, long from, long to) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            channel.position(from);
+            return BoardTextParser.readRows(Channels.newInputStream(channel), to - from);
+        }
+    }
+
+    /**
+     * Returns the start of the first line that begins after the given position, treating
+     * {@code \r\n} as one line terminator, or the file size if there is none.
+     */
+    private static long lineStartAfter(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        boolean afterCarriageReturn = false;
+        for (long blockStart = position; blockStart < size; blockStart += buffer.limit()) {
+            buffer.clear();
+            while (buffer.hasRemaining() && blockStart + buffer.position() < size) {
+                if (channel.read(buffer, blockStart + buffer.position()) < 0) {
+                    break;
+                }
+            }
+            buffer.flip();
+            if (!buffer.hasRemaining()) {
+                break;
+            }
+            for (int i = 0; i < buffer.limit(); i++) {
+                byte b = buffer.get(i);
+                if (afterCarriageReturn) {
+                    return blockStart + i + (b == '\n' ? 1 : 0);
+                }
+                if (b == '\n') {
+                    return blockStart + i + 1;
+                }
+                afterCarriageReturn = b == '\r';
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Shuts down the thread pool, if one was started. Loads already running finish first, and a
+     * later parallel load starts a new pool.
+     */
+    @Override
+    public synchronized void close() {
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+    }
+
+    private synchronized ForkJoinPool getPool() {
+        if (pool == null) {
+            pool = new ForkJoinPool(parallelism);
+        }
+        return pool;
+    }
+}
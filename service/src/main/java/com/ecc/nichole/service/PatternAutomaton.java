@@ -0,0 +1,145 @@
+package com.ecc.nichole.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Aho-Corasick automaton that finds every occurrence of a set of patterns in a text with a
+ * single left-to-right pass. The goto and failure functions are compiled into one transition
+ * table over the characters that appear in the patterns; every other character leads back to
+ * the root.
+ */
+public class PatternAutomaton {
+    private static final int ROOT = 0;
+    private static final int ASCII_SIZE = 128;
+
+    private final String[] patterns;
+    private final Map<Character, Integer> characterClasses = new HashMap<>();
+    private final int[] asciiClasses = new int[ASCII_SIZE];
+    private final int classCount;
+    private final int[] transitions;
+    private final int[][] outputs;
+
+    /**
+     * Compiles the given patterns. Duplicate patterns are only matched once.
+     *
+     * @param patterns the non-empty patterns to search for
+     */
+    public PatternAutomaton(Collection<String> patterns) {
+        this.patterns = new LinkedHashSet<>(patterns).toArray(new String[0]);
+        for (String pattern : this.patterns) {
+            if (pattern == null || pattern.isEmpty()) {
+                throw new IllegalArgumentException("Patterns cannot be empty");
+            }
+            for (char character : pattern.toCharArray()) {
+                characterClasses.putIfAbsent(character, characterClasses.size() + 1);
+            }
+        }
+        characterClasses.forEach((character, characterClass) -> {
+            if (character < ASCII_SIZE) {
+                asciiClasses[character] = characterClass;
+            }
+        });
+        this.classCount = characterClasses.size() + 1;
+
+        List<int[]> trie = new ArrayList<>();
+        List<List<Integer>> terminals = new ArrayList<>();
+        trie.add(new int[classCount]);
+        terminals.add(new ArrayList<>());
+        for (int patternIndex = 0; patternIndex < this.patterns.length; patternIndex++) {
+            int state = ROOT;
+            for (char character : this.patterns[patternIndex].toCharArray()) {
+                int characterClass = characterClasses.get(character);
+                if (trie.get(state)[characterClass] == 0) {
+                    trie.get(state)[characterClass] = trie.size();
+                    trie.add(new int[classCount]);
+                    terminals.add(new ArrayList<>());
+                }
+                state = trie.get(state)[characterClass];
+            }
+            terminals.get(state).add(patternIndex);
+        }
+
+        int stateCount = trie.size();
+        transitions = new int[stateCount * classCount];
+        outputs = new int[stateCount][];
+        int[] failure = new int[stateCount];
+        Queue<Integer> queue = new ArrayDeque<>();
+        outputs[ROOT] = new int[0];
+        for (int characterClass = 1; characterClass < classCount; characterClass++) {
+            int next = trie.get(ROOT)[characterClass];
+            transitions[characterClass] = next;
+            if (next != 0) {
+                queue.add(next);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            List<Integer> found = new ArrayList<>(terminals.get(state));
+            for (int output : outputs[failure[state]]) {
+                found.add(output);
+            }
+            outputs[state] = found.stream().mapToInt(Integer::intValue).toArray();
+            for (int characterClass = 1; characterClass < classCount; characterClass++) {
+                int next = trie.get(state)[characterClass];
+                int fallback = transitions[failure[state] * classCount + characterClass];
+                if (next != 0) {
+                    failure[next] = fallback;
+                    transitions[state * classCount + characterClass] = next;
+                    queue.add(next);
+                } else {
+                    transitions[state * classCount + characterClass] = fallback;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the distinct patterns in the order they were given.
+     *
+     * @return the compiled patterns
+     */
+    public List<String> getPatterns() {
+        return Arrays.asList(patterns.clone());
+    }
+
+    /**
+     * Reports every occurrence of every pattern in the text, in order of their end position.
+     *
+     * @param text     the text to scan
+     * @param listener receives the pattern index and start position of each occurrence
+     */
+    public void scan(String text, MatchListener listener) {
+        int state = ROOT;
+        for (int position = 0; position < text.length(); position++) {
+            char character = text.charAt(position);
+            int characterClass = character < ASCII_SIZE ? asciiClasses[character] : characterClasses.getOrDefault(character, 0);
+            state = transitions[state * classCount + characterClass];
+            for (int patternIndex : outputs[state]) {
+                listener.onMatch(patternIndex, position - patterns[patternIndex].length() + 1);
+            }
+        }
+    }
+
+    /**
+     * Callback receiving the occurrences found by {@link #scan(String, MatchListener)}.
+     */
+    @FunctionalInterface
+    public interface MatchListener {
+
+        /**
+         * Called for each occurrence.
+         *
+         * @param patternIndex the index of the pattern in {@link #getPatterns()}
+         * @param start        the position of the first matching character
+         */
+        void onMatch(int patternIndex, int start);
+    }
+}
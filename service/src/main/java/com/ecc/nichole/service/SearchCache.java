@@ -0,0 +1,226 @@
+package com.ecc.nichole.service;
+
+import com.ecc.nichole.model.Board;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded least-recently-used cache of search results. Entries are keyed by the board, its
+ * version and the search string, so a result is never served once the board has been modified.
+ * Entries of older versions are dropped as soon as a newer version of the same board is cached.
+ * Boards are referenced weakly, so a board that is replaced and no longer used elsewhere is not
+ * kept in memory by the cache; its entries are dropped once it has been garbage collected.
+ */
+public class SearchCache {
+    public static final int DEFAULT_MAXIMUM_ENTRIES = 64;
+    public static final int DEFAULT_MAXIMUM_MATCHES = 1_000_000;
+
+    private final int maximumEntries;
+    private final int maximumMatches;
+    private final LinkedHashMap<Key, List<SearchMatch>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReferenceQueue<Board> collectedBoards = new ReferenceQueue<>();
+    private long cachedMatches;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    /**
+     * Creates a cache with the default limits.
+     */
+    public SearchCache() {
+        this(DEFAULT_MAXIMUM_ENTRIES, DEFAULT_MAXIMUM_MATCHES);
+    }
+
+    /**
+     * Creates a cache with the given limits.
+     *
+     * @param maximumEntries the maximum number of cached search results
+     * @param maximumMatches the maximum number of matches held across all cached results
+     */
+    public SearchCache(int maximumEntries, int maximumMatches) {
+        if (maximumEntries < 0 || maximumMatches < 0) {
+            throw new IllegalArgumentException("Cache limits cannot be negative");
+        }
+        this.maximumEntries = maximumEntries;
+        this.maximumMatches = maximumMatches;
+    }
+
+    /**
+     * Gets the maximum number of matches held across all cached results.
+     *
+     * @return the match limit
+     */
+    public int getMaximumMatches() {
+        return maximumMatches;
+    }
+
+    /**
+     * Returns the cached matches of a string for the current version of the board.
+     *
+     * @param board        the searched Board
+     * @param stringToFind the search string
+     * @return the unmodifiable cached matches, or null if they are not cached
+     */
+    public synchronized List<SearchMatch> get(Board board, String stringToFind) {
+        removeCollectedBoards();
+        List<SearchMatch> matches = entries.get(new Key(board, board.getVersion(), stringToFind, null));
+        if (matches == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return matches;
+    }
+
+    /**
+     * Caches the matches of a string for the current version of the board. Results larger than
+     * the match limit are not cached.
+     *
+     * @param board        the searched Board
+     * @param stringToFind the search string
+     * @param matches      the matches to cache
+     */
+    public synchronized void put(Board board, String stringToFind, List<SearchMatch> matches) {
+        if (maximumEntries == 0 || matches.size() > maximumMatches) {
+            return;
+        }
+        removeCollectedBoards();
+        long version = board.getVersion();
+        Iterator<Map.Entry<Key, List<SearchMatch>>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Key, List<SearchMatch>> entry = iterator.next();
+            if (entry.getKey().board.get() == board && entry.getKey().version != version) {
+                cachedMatches -= entry.getValue().size();
+                iterator.remove();
+                invalidations++;
+            }
+        }
+
+        List<SearchMatch> previous = entries.put(new Key(board, version, stringToFind, collectedBoards), Collections.unmodifiableList(matches));
+        if (previous != null) {
+            cachedMatches -= previous.size();
+        }
+        cachedMatches += matches.size();
+
+        iterator = entries.entrySet().iterator();
+        while (entries.size() > maximumEntries || cachedMatches > maximumMatches) {
+            Map.Entry<Key, List<SearchMatch>> eldest = iterator.next();
+            cachedMatches -= eldest.getValue().size();
+            iterator.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * Removes the entries of boards that have been garbage collected.
+     */
+    private void removeCollectedBoards() {
+        if (collectedBoards.poll() == null) {
+            return;
+        }
+        while (collectedBoards.poll() != null) {
+            // drain the queue; one pass over the entries removes every collected board
+        }
+        Iterator<Map.Entry<Key, List<SearchMatch>>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Key, List<SearchMatch>> entry = iterator.next();
+            if (entry.getKey().board.get() == null) {
+                cachedMatches -= entry.getValue().size();
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Removes every cached result.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        cachedMatches = 0;
+    }
+
+    /**
+     * Gets the number of cached results.
+     *
+     * @return the number of entries
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Gets the number of lookups answered from the cache.
+     *
+     * @return the hit count
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Gets the number of lookups that were not cached.
+     *
+     * @return the miss count
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Gets the number of results removed to stay within the cache limits.
+     *
+     * @return the eviction count
+     */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Gets the number of results removed because their board was modified.
+     *
+     * @return the invalidation count
+     */
+    public synchronized long getInvalidations() {
+        return invalidations;
+    }
+
+    /**
+     * Cache key comparing boards by identity, holding the board weakly.
+     */
+    private static final class Key {
+        private final WeakReference<Board> board;
+        private final int boardHash;
+        private final long version;
+        private final String stringToFind;
+
+        Key(Board board, long version, String stringToFind, ReferenceQueue<Board> queue) {
+            this.board = new WeakReference<>(board, queue);
+            this.boardHash = System.identityHashCode(board);
+            this.version = version;
+            this.stringToFind = stringToFind;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            Board referent = board.get();
+            return referent != null && referent == key.board.get() && version == key.version
+                    && stringToFind.equals(key.stringToFind);
+        }
+
+        @Override
+        public int hashCode() {
+            return (boardHash * 31 + Long.hashCode(version)) * 31 + stringToFind.hashCode();
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package com.ecc.nichole.service;
+
+import com.ecc.nichole.model.Board;
+import com.ecc.nichole.model.Cell;
+import com.ecc.nichole.model.Row;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Inverted index from every 1, 2 and 3 character substring of a board's cells to the positions
+ * where it occurs, so a search costs time proportional to the number of hits instead of the
+ * number of cells.
+ *
+ * <p>Postings refer to stable row ids rather than row positions, so inserting a row only
+ * shifts an int table. Edits append postings for the new text and leave the old ones in place;
+ * every posting is verified against the live cell on lookup, and the index rebuilds itself once
+ * stale postings outnumber live ones.</p>
+ *
+ * <p>The index does not hold on to its board; every method that reads the board takes it as an
+ * argument, so an index kept in a map weakly keyed by its board does not keep the board alive.</p>
+ */
+public class SearchIndex {
+    public static final int MAXIMUM_GRAM_LENGTH = 3;
+    private static final int COLUMN_BITS = 24;
+    private static final int OFFSET_BITS = 8;
+    private static final int MAXIMUM_COLUMNS = 1 << COLUMN_BITS;
+    private static final int MAXIMUM_TEXT_LENGTH = 1 << OFFSET_BITS;
+    private static final int ASCII_BITS = 7;
+    private static final int ASCII_GRAMS = (1 << ASCII_BITS) + (1 << (2 * ASCII_BITS)) + (1 << (3 * ASCII_BITS));
+
+    private Postings[] asciiPostings;
+    private Map<Long, Postings> otherPostings;
+    private int[] rowIds;
+    private int[] positions;
+    private int rowCount;
+    private int nextRowId;
+    private long livePostings;
+    private long stalePostings;
+    private long version;
+
+    /**
+     * Builds the index for the given board.
+     *
+     * @param board the board to index
+     * @throws IllegalArgumentException if a row has more than 2^24 columns or a cell is longer than 256 characters
+     */
+    public SearchIndex(Board board) {
+        rebuild(board);
+    }
+
+    /**
+     * Returns whether the index can answer searches for the given string.
+     *
+     * @param stringToFind the string to search for
+     * @return true if the string is between 1 and {@link #MAXIMUM_GRAM_LENGTH} characters
+     */
+    public static boolean supports(String stringToFind) {
+        return stringToFind != null && !stringToFind.isEmpty() && stringToFind.length() <= MAXIMUM_GRAM_LENGTH;
+    }
+
+    /**
+     * Rebuilds the index from the current content of the board.
+     *
+     * @param board the indexed board
+     */
+    public final void rebuild(Board board) {
+        int rows = board.getRowCount();
+        asciiPostings = new Postings[ASCII_GRAMS];
+        otherPostings = new HashMap<>();
+        rowIds = new int[Math.max(rows, 16)];
+        positions = new int[rowIds.length];
+        rowCount = rows;
+        nextRowId = rows;
+        livePostings = 0;
+        stalePostings = 0;
+        version = board.getVersion();
+        List<Row> rowList = board.getRows();
+        for (int rowIndex = 0; rowIndex < rows; rowIndex++) {
+            rowIds[rowIndex] = rowIndex;
+            positions[rowIndex] = rowIndex;
+            indexRow(rowIndex, rowList.get(rowIndex));
+        }
+    }
+
+    /**
+     * Returns whether the index reflects the current version of the board. An index falls behind
+     * when the board is modified without the change being reported to it.
+     *
+     * @param board the indexed board
+     * @return true if the board has not been modified since the index was last updated
+     */
+    public boolean isCurrent(Board board) {
+        return version == board.getVersion();
+    }
+
+    /**
+     * Finds every occurrence of the given string, ordered by row, column and position.
+     *
+     * @param board        the indexed board
+     * @param stringToFind a string of 1 to {@link #MAXIMUM_GRAM_LENGTH} characters
+     * @return the matches in board order
+     */
+    public List<SearchMatch> find(Board board, String stringToFind) {
+        return stream(board, stringToFind).collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    /**
+     * Streams every occurrence of the given string, ordered by row, column and position. The hits
+     * are verified, sorted and stripped of duplicates as packed longs up front; match objects are
+     * created lazily.
+     *
+     * @param board        the indexed board
+     * @param stringToFind a string of 1 to {@link #MAXIMUM_GRAM_LENGTH} characters
+     * @return the matches in board order
+     */
+    public Stream<SearchMatch> stream(Board board, String stringToFind) {
+        if (!supports(stringToFind)) {
+            throw new IllegalArgumentException("Search string must be between 1 and " + MAXIMUM_GRAM_LENGTH + " characters");
+        }
+        Postings hits = postingsFor(stringToFind, 0, stringToFind.length(), false);
+        if (hits == null) {
+            return Stream.empty();
+        }
+
+        long[] found = new long[hits.size];
+        int count = 0;
+        List<Row> rowList = board.getRows();
+        for (int i = 0; i < hits.size; i++) {
+            long entry = hits.entries[i];
+            int position = positions[(int) (entry >>> 32)];
+            int column = (int) (entry >>> OFFSET_BITS) & (MAXIMUM_COLUMNS - 1);
+            int offset = (int) entry & (MAXIMUM_TEXT_LENGTH - 1);
+            if (matches(rowList.get(position), column, offset, stringToFind)) {
+                found[count++] = ((long) position << 32) | ((long) column << OFFSET_BITS) | offset;
+            }
+        }
+        Arrays.sort(found, 0, count);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || found[i] != found[distinct - 1]) {
+                found[distinct++] = found[i];
+            }
+        }
+
+        return Arrays.stream(found, 0, distinct).mapToObj(hit -> {
+            int start = (int) hit & (MAXIMUM_TEXT_LENGTH - 1);
+            return new SearchMatch((int) (hit >>> 32), (int) (hit >>> OFFSET_BITS) & (MAXIMUM_COLUMNS - 1),
+                    start, start + stringToFind.length() - 1);
+        });
+    }
+
+    /**
+     * Records that a cell's content changed from one text to another.
+     *
+     * @param board       the indexed board
+     * @param rowIndex    the row of the cell
+     * @param columnIndex the column of the cell
+     * @param oldText     the previous key + value of the cell
+     * @param newText     the new key + value of the cell
+     */
+    public void cellChanged(Board board, int rowIndex, int columnIndex, String oldText, String newText) {
+        int rowId = rowIds[rowIndex];
+        for (int length = 1; length <= MAXIMUM_GRAM_LENGTH; length++) {
+            for (int offset = 0; offset + length <= newText.length(); offset++) {
+                if (!newText.regionMatches(offset, oldText, offset, length)) {
+                    addPosting(newText, offset, length, rowId, columnIndex);
+                }
+            }
+            for (int offset = 0; offset + length <= oldText.length(); offset++) {
+                if (!oldText.regionMatches(offset, newText, offset, length)) {
+                    stalePostings++;
+                }
+            }
+        }
+        version = board.getVersion();
+        compactIfNeeded(board);
+    }
+
+    /**
+     * Records that a row was inserted at the given position and indexes its cells.
+     *
+     * @param board    the indexed board
+     * @param rowIndex the position of the new row
+     */
+    public void rowInserted(Board board, int rowIndex) {
+        if (rowCount == rowIds.length) {
+            rowIds = Arrays.copyOf(rowIds, rowIds.length * 2);
+        }
+        if (nextRowId == positions.length) {
+            positions = Arrays.copyOf(positions, positions.length * 2);
+        }
+        int rowId = nextRowId++;
+        System.arraycopy(rowIds, rowIndex, rowIds, rowIndex + 1, rowCount - rowIndex);
+        rowIds[rowIndex] = rowId;
+        rowCount++;
+        for (int position = rowIndex; position < rowCount; position++) {
+            positions[rowIds[position]] = position;
+        }
+        indexRow(rowId, board.getRows().get(rowIndex));
+        version = board.getVersion();
+    }
+
+    /**
+     * Records that a row moved from one position to another, shifting the rows in between.
+     *
+     * @param board     the indexed board
+     * @param fromIndex the previous position of the row
+     * @param toIndex   the new position of the row
+     */
+    public void rowMoved(Board board, int fromIndex, int toIndex) {
+        int rowId = rowIds[fromIndex];
+        if (fromIndex < toIndex) {
+            System.arraycopy(rowIds, fromIndex + 1, rowIds, fromIndex, toIndex - fromIndex);
+        } else {
+            System.arraycopy(rowIds, toIndex, rowIds, toIndex + 1, fromIndex - toIndex);
+        }
+        rowIds[toIndex] = rowId;
+        for (int position = Math.min(fromIndex, toIndex); position <= Math.max(fromIndex, toIndex); position++) {
+            positions[rowIds[position]] = position;
+        }
+        version = board.getVersion();
+    }
+
+    private void indexRow(int rowId, Row row) {
+        List<Cell> cells = row.getCells();
+        if (cells.size() > MAXIMUM_COLUMNS) {
+            throw new IllegalArgumentException("Rows with more than " + MAXIMUM_COLUMNS + " columns cannot be indexed");
+        }
+        for (int columnIndex = 0; columnIndex < cells.size(); columnIndex++) {
+            Cell cell = cells.get(columnIndex);
+            String text = cell.getKey() + cell.getValue();
+            if (text.length() > MAXIMUM_TEXT_LENGTH) {
+                throw new IllegalArgumentException("Cells longer than " + MAXIMUM_TEXT_LENGTH + " characters cannot be indexed");
+            }
+            for (int length = 1; length <= MAXIMUM_GRAM_LENGTH; length++) {
+                for (int offset = 0; offset + length <= text.length(); offset++) {
+                    addPosting(text, offset, length, rowId, columnIndex);
+                }
+            }
+        }
+    }
+
+    private void addPosting(String text, int offset, int length, int rowId, int columnIndex) {
+        long entry = ((long) rowId << 32) | ((long) columnIndex << OFFSET_BITS) | offset;
+        postingsFor(text, offset, length, true).add(entry);
+        livePostings++;
+    }
+
+    /**
+     * Returns the postings of a gram. Pure ASCII grams live in a flat table; any other gram falls
+     * back to a map keyed by its characters.
+     */
+    private Postings postingsFor(String text, int offset, int length, boolean create) {
+        int slot = length == 1 ? 0 : length == 2 ? 1 << ASCII_BITS : (1 << ASCII_BITS) + (1 << (2 * ASCII_BITS));
+        int code = 0;
+        for (int i = 0; i < length && code >= 0; i++) {
+            char character = text.charAt(offset + i);
+            code = character < (1 << ASCII_BITS) ? (code << ASCII_BITS) | character : -1;
+        }
+        if (code < 0) {
+            long gram = length;
+            for (int i = 0; i < length; i++) {
+                gram = (gram << 16) | text.charAt(offset + i);
+            }
+            return create ? otherPostings.computeIfAbsent(gram, key -> new Postings()) : otherPostings.get(gram);
+        }
+
+        Postings found = asciiPostings[slot + code];
+        if (found == null && create) {
+            found = new Postings();
+            asciiPostings[slot + code] = found;
+        }
+        return found;
+    }
+
+    private void compactIfNeeded(Board board) {
+        if (stalePostings > livePostings - stalePostings) {
+            rebuild(board);
+        }
+    }
+
+    private static boolean matches(Row row, int column, int offset, String stringToFind) {
+        List<Cell> cells = row.getCells();
+        if (column >= cells.size()) {
+            return false;
+        }
+        Cell cell = cells.get(column);
+        return (cell.getKey() + cell.getValue()).startsWith(stringToFind, offset);
+    }
+
+    /**
+     * Growable list of packed (row id, column, offset) entries.
+     */
+    private static final class Postings {
+        private long[] entries = new long[4];
+        private int size;
+
+        void add(long entry) {
+            if (size == entries.length) {
+                entries = Arrays.copyOf(entries, size * 2);
+            }
+            entries[size++] = entry;
+        }
+    }
+}
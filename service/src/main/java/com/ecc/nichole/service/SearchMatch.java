@@ -0,0 +1,85 @@
+package com.ecc.nichole.service;
+
+/**
+ * Position of one occurrence of a search string within the board.
+ * All indexes are zero-based; the end index is inclusive.
+ */
+public final class SearchMatch {
+    private final int row;
+    private final int column;
+    private final int start;
+    private final int end;
+
+    /**
+     * Creates a match.
+     *
+     * @param row    the row of the matching cell
+     * @param column the column of the matching cell
+     * @param start  the index of the first matching character within key + value
+     * @param end    the index of the last matching character within key + value
+     */
+    public SearchMatch(int row, int column, int start, int end) {
+        this.row = row;
+        this.column = column;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Gets the row of the matching cell.
+     *
+     * @return the row index
+     */
+    public int getRow() {
+        return row;
+    }
+
+    /**
+     * Gets the column of the matching cell.
+     *
+     * @return the column index
+     */
+    public int getColumn() {
+        return column;
+    }
+
+    /**
+     * Gets the index of the first matching character within the cell's key + value.
+     *
+     * @return the start index
+     */
+    public int getStart() {
+        return start;
+    }
+
+    /**
+     * Gets the index of the last matching character within the cell's key + value.
+     *
+     * @return the end index
+     */
+    public int getEnd() {
+        return end;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof SearchMatch)) {
+            return false;
+        }
+        SearchMatch match = (SearchMatch) other;
+        return row == match.row && column == match.column && start == match.start && end == match.end;
+    }
+
+    @Override
+    public int hashCode() {
+        return ((row * 31 + column) * 31 + start) * 31 + end;
+    }
+
+    @Override
+    public String toString() {
+        return "[" + (row + 1) + "][" + (column + 1) + "] " + (start + 1) + "-" + (end + 1);
+    }
+}
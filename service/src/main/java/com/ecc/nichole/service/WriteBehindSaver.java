@@ -0,0 +1,202 @@
+package com.ecc.nichole.service;
+
+import com.ecc.nichole.model.Board;
+import com.ecc.nichole.model.Row;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Saves boards to text files on a background thread. Saving formats the board's rows on the
+ * calling thread and queues the lines; while a save of a file is waiting, further saves of the
+ * same file replace it, so a burst of changes is written once. Each file is written to a
+ * temporary file that is then renamed over it, so the file always holds a complete board, and its
+ * {@link BoardFileIndex} is written after it.
+ *
+ * <p>The background thread only sees the formatted lines, never the board, so the board may be
+ * changed as soon as {@link #save} returns and a write always holds the board as it was when it
+ * was saved. {@link #flush()} waits until every queued board has been written.</p>
+ */
+public class WriteBehindSaver implements AutoCloseable {
+    private final Map<Path, Snapshot> pending = new LinkedHashMap<>();
+    private Thread writer;
+    private boolean writing;
+    private boolean closed;
+    private long requestedSaves;
+    private long completedWrites;
+
+    /**
+     * Formats a board and queues it to be saved to a file, replacing a save of the same file that
+     * has not started yet.
+     *
+     * @param board    the board to save
+     * @param fileName the file to save the board to
+     * @throws IllegalStateException if the saver has been closed
+     */
+    public void save(Board board, String fileName) {
+        List<Row> rows = board.getRows();
+        List<String> lines = new ArrayList<>(rows.size());
+        int[] columnCounts = new int[rows.size()];
+        for (Row row : rows) {
+            columnCounts[lines.size()] = row.getColumnCount();
+            lines.add(FileService.formatRow(row));
+        }
+        queue(Paths.get(fileName).toAbsolutePath(), new Snapshot(lines, columnCounts));
+    }
+
+    private synchronized void queue(Path file, Snapshot snapshot) {
+        if (closed) {
+            throw new IllegalStateException("Write-behind saver has been closed");
+        }
+        requestedSaves++;
+        pending.put(file, snapshot);
+        if (writer == null) {
+            writer = new Thread(this::writePending, "board-write-behind");
+            writer.setDaemon(true);
+            writer.start();
+        }
+        notifyAll();
+    }
+
+    /**
+     * Waits until every queued board has been written.
+     */
+    public synchronized void flush() {
+        boolean interrupted = false;
+        while (!pending.isEmpty() || writing) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes every queued board and stops the background thread.
+     */
+    @Override
+    public void close() {
+        flush();
+        synchronized (this) {
+            closed = true;
+            notifyAll();
+        }
+    }
+
+    /**
+     * Returns the number of saves requested so far.
+     *
+     * @return the number of calls to {@link #save}
+     */
+    public synchronized long getRequestedSaves() {
+        return requestedSaves;
+    }
+
+    /**
+     * Returns the number of files written so far. Saves replaced while queued are not written.
+     *
+     * @return the number of completed writes
+     */
+    public synchronized long getCompletedWrites() {
+        return completedWrites;
+    }
+
+    private void writePending() {
+        while (true) {
+            Path file;
+            Snapshot snapshot;
+            synchronized (this) {
+                while (pending.isEmpty() && !closed) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        writer = null;
+                        return;
+                    }
+                }
+                if (pending.isEmpty()) {
+                    writer = null;
+                    return;
+                }
+                Iterator<Map.Entry<Path, Snapshot>> next = pending.entrySet().iterator();
+                Map.Entry<Path, Snapshot> entry = next.next();
+                next.remove();
+                file = entry.getKey();
+                snapshot = entry.getValue();
+                writing = true;
+            }
+
+            Path temporaryFile = null;
+            boolean written = false;
+            try {
+                temporaryFile = Files.createTempFile(file.getParent(), "board", ".tmp");
+                BoardFileIndex index = new BoardFileIndex();
+                try (OutputStream out = Files.newOutputStream(temporaryFile)) {
+                    index.writeLines(snapshot.lines, snapshot.columnCounts, out);
+                }
+                moveAtomically(temporaryFile, file);
+                written = true;
+                synchronized (this) {
+                    completedWrites++;
+                }
+                index.save(file);
+            } catch (IOException e) {
+                System.err.println("Error: An I/O error occurred while saving the board to the file.");
+            } catch (RuntimeException e) {
+                System.err.println("Unexpected error: " + e.getMessage());
+            } finally {
+                deleteIfNotWritten(temporaryFile, written);
+                synchronized (this) {
+                    writing = false;
+                    notifyAll();
+                }
+            }
+        }
+    }
+
+    private static void moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void deleteIfNotWritten(Path temporaryFile, boolean written) {
+        if (temporaryFile == null || written) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(temporaryFile);
+        } catch (IOException e) {
+            System.err.println("Error: An I/O error occurred while deleting a temporary board file.");
+        }
+    }
+
+    /**
+     * The formatted rows of a board queued to be written.
+     */
+    private static final class Snapshot {
+        private final List<String> lines;
+        private final int[] columnCounts;
+
+        Snapshot(List<String> lines, int[] columnCounts) {
+            this.lines = lines;
+            this.columnCounts = columnCounts;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.ecc.nichole.service;
+
+import com.ecc.nichole.model.Board;
+import com.ecc.nichole.model.Cell;
+import com.ecc.nichole.model.Row;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BoardFileIndexTest {
+
+    @TempDir
+    Path directory;
+
+    private static Board createBoard(int rowCount) {
+        List<Row> rows = new ArrayList<>();
+        for (int rowIndex = 0; rowIndex < rowCount; rowIndex++) {
+            Row row = new Row();
+            for (int column = 0; column <= rowIndex % 4; column++) {
+                Cell cell = new Cell();
+                cell.setKey("k" + column);
+                cell.setValue("v" + rowIndex);
+                row.getCells().add(cell);
+            }
+            rows.add(row);
+        }
+        Board board = new Board();
+        board.setRows(rows);
+        return board;
+    }
+
+    private static List<String> lines(List<Row> rows) {
+        List<String> lines = new ArrayList<>();
+        for (Row row : rows) {
+            lines.add(FileService.formatRow(row));
+        }
+        return lines;
+    }
+
+    @Test
+    @DisplayName("Test saving a text board writes an index of its rows")
+    public void shouldWriteIndexOnSave() throws IOException {
+        Path file = directory.resolve("board.txt");
+        Board board = createBoard(1000);
+        new FileService().saveBoardToTextFile(board, file.toString());
+
+        BoardFileIndex index = BoardFileIndex.load(file);
+        Assertions.assertNotNull(index);
+        Assertions.assertEquals(1000, index.getRowCount());
+        Assertions.assertEquals(Files.size(file), index.getOffset(1000));
+        Assertions.assertEquals(board.getRows().get(7).getColumnCount(), index.getColumnCount(7));
+        Assertions.assertEquals(lines(board.getRows().subList(400, 410)), lines(index.readRows(file, 400, 410)));
+    }
+
+    @Test
+    @DisplayName("Test loading a range of rows matches a full load")
+    public void shouldLoadRowRange() {
+        Path file = directory.resolve("board.txt");
+        FileService fileService = new FileService();
+        Board board = createBoard(1000);
+        fileService.saveBoardToTextFile(board, file.toString());
+
+        Assertions.assertEquals(lines(board.getRows().subList(990, 1000)), lines(fileService.loadRowsFromTextFile(file.toString(), 990, 1200)));
+        Assertions.assertTrue(fileService.loadRowsFromTextFile(file.toString(), 1000, 1000).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test an index is ignored once the board file is changed by other means")
+    public void shouldIgnoreStaleIndex() throws IOException {
+        Path file = directory.resolve("board.txt");
+        FileService fileService = new FileService();
+        fileService.saveBoardToTextFile(createBoard(100), file.toString());
+
+        Files.write(file, "a\u001Db\u001F\nc\u001Dd\u001F\n".getBytes(StandardCharsets.UTF_8));
+
+        Assertions.assertNull(BoardFileIndex.load(file));
+        Assertions.assertEquals(List.of("c\u001Dd\u001F"), lines(fileService.loadRowsFromTextFile(file.toString(), 1, 5)));
+    }
+
+    @Test
+    @DisplayName("Test loading a range of rows without an index leaves paged loading on")
+    public void shouldKeepPagedLoadingWhenLoadingRowRange() throws IOException {
+        Path file = directory.resolve("board.txt");
+        FileService fileService = new FileService();
+        fileService.saveBoardToTextFile(createBoard(100), file.toString());
+        Files.delete(Paths.get(file + BoardFileIndex.INDEX_SUFFIX));
+        fileService.setPagedLoading(true);
+
+        Assertions.assertEquals(lines(createBoard(100).getRows().subList(40, 50)), lines(fileService.loadRowsFromTextFile(file.toString(), 40, 50)));
+        Assertions.assertTrue(fileService.isPagedLoading());
+        try (PagedBoard board = (PagedBoard) fileService.loadBoardFromTextFile(file.toString())) {
+            Assertions.assertEquals(100, board.getRowCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Test a row that fails its checksum falls back to a full load")
+    public void shouldFallBackOnChecksumMismatch() throws IOException {
+        Path file = directory.resolve("board.txt");
+        FileService fileService = new FileService();
+        fileService.saveBoardToTextFile(createBoard(100), file.toString());
+        FileTime lastModified = Files.getLastModifiedTime(file);
+
+        String content = new String(Files.readAllBytes(file), StandardCharsets.UTF_8).replace("v50\u001F", "x50\u001F");
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, lastModified);
+
+        Assertions.assertNotNull(BoardFileIndex.load(file));
+        Assertions.assertEquals("x50", fileService.loadRowsFromTextFile(file.toString(), 50, 51).get(0).getCells().get(0).getValue());
+    }
+
+    @Test
+    @DisplayName("Test delta saves keep the index current")
+    public void shouldUpdateIndexOnDeltaSave() throws IOException {
+        Path file = directory.resolve("board.txt");
+        FileService fileService = new FileService();
+        fileService.setDeltaSaving(true);
+        Board board = createBoard(1000);
+        fileService.saveBoardToTextFile(board, file.toString());
+
+        board.getRows().get(20).getCells().get(0).setValue("v21");
+        board.markRowDirty(20);
+        fileService.saveBoardToTextFile(board, file.toString());
+        Assertions.assertEquals(lines(board.getRows().subList(20, 21)), lines(fileService.loadRowsFromTextFile(file.toString(), 20, 21)));
+
+        board.getRows().get(600).getCells().get(0).setValue("a longer value");
+        board.markRowDirty(600);
+        board.getRows().remove(999);
+        board.markRowsDirty(999, 1000);
+        fileService.saveBoardToTextFile(board, file.toString());
+
+        BoardFileIndex index = BoardFileIndex.load(file);
+        Assertions.assertNotNull(index);
+        Assertions.assertEquals(999, index.getRowCount());
+        Assertions.assertEquals(lines(board.getRows()), lines(index.readRows(file, 0, 999)));
+    }
+
+    @Test
+    @DisplayName("Test a paged board opens its file through the index")
+    public void shouldOpenPagedBoardWithIndex() throws IOException {
+        Path file = directory.resolve("board.txt");
+        Board board = createBoard(1000);
+        new FileService().saveBoardToTextFile(board, file.toString());
+
+        try (PagedBoard pagedBoard = PagedBoard.open(file.toString())) {
+            Assertions.assertEquals(lines(board.getRows()), lines(pagedBoard.getRows()));
+            pagedBoard.getRows().remove(0);
+            pagedBoard.save(file.toString());
+        }
+        Assertions.assertEquals(999, BoardFileIndex.load(file).getRowCount());
+        Assertions.assertEquals(lines(board.getRows().subList(1, 1000)), lines(BoardTextParser.readRows(file)));
+    }
+}
@@ -0,0 +1,106 @@
+package com.ecc.nichole.service;
+
+import com.ecc.nichole.model.Board;
+import com.ecc.nichole.model.Cell;
+import com.ecc.nichole.model.ChunkedBoard;
+import com.ecc.nichole.model.Row;
+import com.ecc.nichole.util.Utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+
+public class BoardGeneratorTest {
+
+    @TempDir
+    Path directory;
+
+    private static List<String> lines(Board board) {
+        List<String> lines = new ArrayList<>();
+        for (Row row : board.getRows()) {
+            lines.add(FileService.formatRow(row));
+        }
+        return lines;
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 3, 8})
+    @DisplayName("Test a seed generates the same board whatever the parallelism")
+    public void shouldGenerateSameBoardForSeed(int parallelism) {
+        int rows = 10 * BoardGenerator.ROWS_PER_BLOCK + 17;
+        Board sequential = new BoardGenerator(1, 0).generate(42, rows, 5);
+        Board parallel = new BoardGenerator(parallelism, 0).generate(42, rows, 5);
+
+        Assertions.assertEquals(rows, parallel.getRowCount());
+        Assertions.assertEquals(lines(sequential), lines(parallel));
+        Assertions.assertNotEquals(lines(sequential), lines(new BoardGenerator(parallelism, 0).generate(43, rows, 5)));
+    }
+
+    @Test
+    @DisplayName("Test generated cells hold printable values of the cell length")
+    public void shouldGeneratePrintableCells() {
+        Board board = new BoardGenerator(4, 0).generate(7, 3000, 4);
+
+        for (Row row : board.getRows()) {
+            Assertions.assertEquals(4, row.getColumnCount());
+            for (Cell cell : row.getCells()) {
+                Assertions.assertTrue(cell.getKey().matches("[ -~]{3}"), cell.getKey());
+                Assertions.assertTrue(cell.getValue().matches("[ -~]{3}"), cell.getValue());
+            }
+        }
+        Assertions.assertEquals(0, new BoardGenerator().generate(7, 0, 4).getRowCount());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new BoardGenerator().generate(7, -1, 4));
+    }
+
+    @Test
+    @DisplayName("Test board service creates seeded boards")
+    public void shouldCreateSeededBoard() {
+        BoardService boardService = new BoardService(new CellService(), new RowService(), new FileService());
+        Board board = boardService.createBoard(5L, 2000, 3);
+        boardService.setGenerationParallelism(1);
+
+        Assertions.assertEquals(lines(board), lines(boardService.createBoard(5L, 2000, 3)));
+        Assertions.assertInstanceOf(ChunkedBoard.class, board);
+    }
+
+    @Test
+    @DisplayName("Test generation after close gives the same board")
+    public void shouldGenerateAfterClose() {
+        int rows = 4 * BoardGenerator.ROWS_PER_BLOCK;
+        BoardGenerator boardGenerator = new BoardGenerator(2, 0);
+        Board expected = boardGenerator.generate(11, rows, 3);
+
+        boardGenerator.close();
+
+        Assertions.assertEquals(lines(expected), lines(boardGenerator.generate(11, rows, 3)));
+    }
+
+    @Test
+    @DisplayName("Test reset and add generate the same boards for the same seed")
+    public void shouldResetAndAddFromSeed() {
+        List<List<String>> sessions = new ArrayList<>();
+        for (int session = 0; session < 2; session++) {
+            BoardService boardService = new BoardService(new CellService(), new RowService(), new FileService());
+            boardService.setSeed(9L);
+            String fileName = directory.resolve("board" + session + ".txt").toString();
+            Utils.scanner = new Scanner(new ByteArrayInputStream("4\n3\n2\n1\n".getBytes()));
+
+            Board board = boardService.reset(fileName);
+            boardService.add(board, fileName);
+
+            Assertions.assertEquals(5, board.getRowCount());
+            Assertions.assertEquals(2, board.getRows().get(0).getColumnCount());
+            sessions.add(lines(board));
+        }
+        Assertions.assertEquals(sessions.get(0), sessions.get(1));
+    }
+}
@@ -0,0 +1,108 @@
+package com.ecc.nichole.service;
+
+import com.ecc.nichole.model.Board;
+import com.ecc.nichole.model.Cell;
+import com.ecc.nichole.model.Row;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BoardJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Test journaled edits are replayed on load")
+    public void shouldReplayJournaledEdits() throws Exception {
+        String fileName = directory.resolve("board.txt").toString();
+        RowService rowService = new RowService();
+        FileService fileService = new FileService();
+        BoardService boardService = new BoardService(new CellService(), rowService, fileService);
+        Board board = boardService.createBoard(rowService, 10, 4);
+        fileService.saveBoardToTextFile(board, fileName);
+        String savedBoard = Files.readString(Path.of(fileName));
+
+        fileService.setJournaling(true);
+        boardService.editCells(board, List.of(CellEdit.set(2, 1, "abc"), CellEdit.regenerate(7, 3)), fileName);
+        Row row = rowService.createRow(3);
+        board.getRows().add(0, row);
+        fileService.appendToJournal(board, fileName, List.of(BoardJournal.rowInserted(0, row)));
+        board.getRows().add(5, board.getRows().remove(0));
+        fileService.appendToJournal(board, fileName, List.of(BoardJournal.rowMoved(0, 5)));
+
+        Assertions.assertEquals(savedBoard, Files.readString(Path.of(fileName)), "Board file should not be rewritten");
+        assertSameRows(board, new FileService().loadBoardFromTextFile(fileName));
+    }
+
+    @Test
+    @DisplayName("Test the journal is compacted into the board file in the background")
+    public void shouldCompactJournal() throws Exception {
+        String fileName = directory.resolve("board.txt").toString();
+        RowService rowService = new RowService();
+        FileService fileService = new FileService();
+        BoardService boardService = new BoardService(new CellService(), rowService, fileService);
+        Board board = boardService.createBoard(rowService, 5, 3);
+        fileService.saveBoardToTextFile(board, fileName);
+
+        BoardJournal journal = new BoardJournal(fileName, 8);
+        for (int i = 0; i < 10; i++) {
+            board.getRows().get(i % 5).getCells().get(i % 3).setValue("v" + i);
+            journal.append(board, List.of(BoardJournal.cellChanged(i % 5, i % 3, "v" + i)));
+            if (i == 7) {
+                journal.awaitCompaction();
+            }
+        }
+        journal.awaitCompaction();
+
+        Assertions.assertEquals(2, journal.getRecordCount(), "Only records after the snapshot should be kept");
+        assertSameRows(board, new FileService().loadBoardFromTextFile(fileName));
+    }
+
+    @Test
+    @DisplayName("Test stale journals and incomplete records are ignored")
+    public void shouldIgnoreStaleJournalAndIncompleteRecord() throws Exception {
+        String fileName = directory.resolve("board.txt").toString();
+        RowService rowService = new RowService();
+        FileService fileService = new FileService();
+        fileService.setJournaling(true);
+        Board board = new BoardService(new CellService(), rowService, fileService).createBoard(rowService, 3, 2);
+        fileService.saveBoardToTextFile(board, fileName);
+        Path journalFile = Path.of(fileName + BoardJournal.JOURNAL_SUFFIX);
+
+        board.getRows().get(1).getCells().get(0).setValue("xy");
+        fileService.appendToJournal(board, fileName, List.of(BoardJournal.cellChanged(1, 0, "xy")));
+        Files.write(journalFile, BoardJournal.cellChanged(0, 0, "zz").getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        assertSameRows(board, new FileService().loadBoardFromTextFile(fileName));
+
+        List<String> lines = Files.readAllLines(Path.of(fileName));
+        Files.write(Path.of(fileName), lines.subList(0, 2));
+        Board stale = new FileService().loadBoardFromTextFile(fileName);
+        Assertions.assertEquals(2, stale.getRowCount(), "Journal of another board file should be ignored");
+    }
+
+    private static void assertSameRows(Board expected, Board actual) {
+        Assertions.assertEquals(texts(expected), texts(actual), "Loaded board should match the edited board");
+    }
+
+    private static List<List<String>> texts(Board board) {
+        List<List<String>> texts = new ArrayList<>();
+        for (Row row : board.getRows()) {
+            List<String> cells = new ArrayList<>();
+            for (Cell cell : row.getCells()) {
+                cells.add(cell.getKey() + "=" + cell.getValue());
+            }
+            texts.add(cells);
+        }
+        return texts;
+    }
+}
@@ -0,0 +1,83 @@
+package com.ecc.nichole.service;
+
+import com.ecc.nichole.model.Board;
+import com.ecc.nichole.model.Cell;
+import com.ecc.nichole.model.PackedBoard;
+import com.ecc.nichole.model.Row;
+import com.ecc.nichole.model.SortOrder;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class BoardQueryTest {
+
+    private static List<CellEntry> allCells(Board board) {
+        List<CellEntry> entries = new ArrayList<>();
+        for (int rowIndex = 0; rowIndex < board.getRowCount(); rowIndex++) {
+            List<Cell> cells = board.getRows().get(rowIndex).getCells();
+            for (int colIndex = 0; colIndex < cells.size(); colIndex++) {
+                entries.add(new CellEntry(rowIndex, colIndex, cells.get(colIndex).getKey(), cells.get(colIndex).getValue()));
+            }
+        }
+        return entries;
+    }
+
+    private static Board createBoard(int rows, int columns, SortOrder sortedIn, boolean packed) {
+        RowService rowService = new RowService();
+        Board board = new BoardService(new CellService(), rowService, new FileService()).createBoard(rowService, rows, columns);
+        if (packed) {
+            List<Row> copies = new ArrayList<>(board.getRows());
+            board = new PackedBoard(copies);
+        }
+        if (sortedIn != null) {
+            new BoardSorter(1, 0).sort(board, sortedIn);
+            board.setSortOrder(sortedIn);
+        }
+        return board;
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "1, 1, 1, ASCENDING, , false",
+        "20, 10, 5, ASCENDING, , false",
+        "20, 10, 15, DESCENDING, , true",
+        "30, 8, 12, ASCENDING, DESCENDING, false",
+        "30, 8, 3, DESCENDING, DESCENDING, true",
+        "5, 4, 100, ASCENDING, ASCENDING, false"
+    })
+    @DisplayName("Test top cells equal the head of a full sort")
+    public void shouldFindTopCells(int rows, int columns, int limit, SortOrder sortOrder, SortOrder sortedIn, boolean packed) {
+        Board board = createBoard(rows, columns, sortedIn, packed);
+        Comparator<CellEntry> byText = Comparator.comparing(entry -> entry.getKey() + entry.getValue());
+        Comparator<CellEntry> order = (sortOrder == SortOrder.ASCENDING ? byText : byText.reversed())
+                .thenComparingInt(CellEntry::getRow).thenComparingInt(CellEntry::getColumn);
+        List<CellEntry> expected = allCells(board).stream().sorted(order).limit(limit).collect(Collectors.toList());
+
+        Assertions.assertEquals(expected, new BoardQuery().findTopCells(board, limit, sortOrder), "Top cells should equal the head of a full sort");
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "20, 10, a, m, , false",
+        "20, 10, A, ~, ASCENDING, false",
+        "20, 10, b, d, DESCENDING, true",
+        "20, 10, abcdef, abcdef, ASCENDING, true",
+        "20, 10, z, a, , false"
+    })
+    @DisplayName("Test range query returns exactly the cells within the bounds")
+    public void shouldFindCellsInRange(int rows, int columns, String from, String to, SortOrder sortedIn, boolean packed) {
+        Board board = createBoard(rows, columns, sortedIn, packed);
+        List<CellEntry> expected = allCells(board).stream()
+                .filter(entry -> (entry.getKey() + entry.getValue()).compareTo(from) >= 0 && (entry.getKey() + entry.getValue()).compareTo(to) <= 0)
+                .collect(Collectors.toList());
+
+        Assertions.assertEquals(expected, new BoardQuery().streamCellsInRange(board, from, to).collect(Collectors.toList()), "Range should contain exactly the cells within the bounds");
+    }
+}
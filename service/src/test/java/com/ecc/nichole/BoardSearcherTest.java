@@ -0,0 +1,83 @@
+package com.ecc.nichole.service;
+
+import com.ecc.nichole.model.Board;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class BoardSearcherTest {
+
+    @ParameterizedTest
+    @CsvSource({
+        "1, 5, 2, a",
+        "7, 3, 2, ab",
+        "50, 4, 3, a",
+        "200, 10, 8, b"
+    })
+    @DisplayName("Test parallel search returns the same ordered matches as a sequential search")
+    public void shouldMatchSequentialOrder(int rows, int columns, int parallelism, String stringToFind) {
+        RowService rowService = new RowService();
+        Board board = new BoardService(new CellService(), rowService, new FileService()).createBoard(rowService, rows, columns);
+        BoardSearcher sequential = new BoardSearcher(1, 0);
+        BoardSearcher parallel = new BoardSearcher(parallelism, 0);
+
+        List<SearchMatch> expected = sequential.find(board, stringToFind);
+
+        Assertions.assertEquals(expected, parallel.find(board, stringToFind), "Parallel matches should equal sequential matches");
+    }
+
+    @Test
+    @DisplayName("Test a closed searcher still searches with a new pool")
+    public void shouldSearchAfterClose() {
+        RowService rowService = new RowService();
+        Board board = new BoardService(new CellService(), rowService, new FileService()).createBoard(rowService, 100, 5);
+        BoardSearcher searcher = new BoardSearcher(2, 0);
+        List<SearchMatch> expected = searcher.find(board, "a");
+
+        searcher.close();
+
+        Assertions.assertEquals(expected, searcher.find(board, "a"), "Matches should not change after closing the pool");
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "1, 5, a",
+        "300, 40, a",
+        "3000, 3, b"
+    })
+    @DisplayName("Test streamed matches equal the collected matches")
+    public void shouldStreamSameMatches(int rows, int columns, String stringToFind) {
+        RowService rowService = new RowService();
+        Board board = new BoardService(new CellService(), rowService, new FileService()).createBoard(rowService, rows, columns);
+        BoardSearcher searcher = new BoardSearcher(1, 0);
+
+        Assertions.assertEquals(searcher.find(board, stringToFind), searcher.stream(board, stringToFind).collect(Collectors.toList()),
+                "Streamed matches should equal collected matches");
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "0, 10, true",
+        "5, 3, true",
+        "40, 25, false",
+        "100000, 10, false"
+    })
+    @DisplayName("Test paged matches are slices of the full result")
+    public void shouldReturnPages(int offset, int limit, boolean indexedSearch) {
+        RowService rowService = new RowService();
+        BoardService boardService = new BoardService(new CellService(), rowService, new FileService());
+        boardService.setIndexedSearch(indexedSearch);
+        Board board = boardService.createBoard(rowService, 200, 20);
+
+        List<SearchMatch> all = boardService.findMatches(board, "a");
+        List<SearchMatch> expected = all.subList(Math.min(offset, all.size()), Math.min(offset + limit, all.size()));
+
+        Assertions.assertEquals(expected, boardService.findMatches(board, "a", offset, limit), "Page should be a slice of all matches");
+    }
+}
@@ -177,6 +177,24 @@ public class BoardServiceTest {
 				Assertions.assertTrue(output.contains("String matches for"), "Expected to find matches for the string '" + stringToFind + "'.");
 			}
 			
+			@ParameterizedTest
+			@CsvSource(value = {
+				"2; 4; v,k_",
+				"3; 5; _1,zz,v",
+				"5; 7; k"
+			}, delimiter = ';')
+			@DisplayName("Test batch search should report every string")
+			public void shouldFindBatchMatches(int rows, int columns, String stringsToFind) {
+				mockBoard = createMockBoard(rows, columns);
+				Utils.scanner = new Scanner(new ByteArrayInputStream((stringsToFind).getBytes()));
+				boardService.batchSearch(mockBoard);
+				String output = outContent.toString().trim();
+				for (String stringToFind : stringsToFind.split(",")) {
+					Assertions.assertTrue(output.contains("'" + stringToFind + "'"), "Expected a result for the string '" + stringToFind + "'.");
+				}
+				Assertions.assertTrue(output.contains("Total occurrences of"), "Expected to find matches.");
+			}
+			
 			@ParameterizedTest
 			@CsvSource({
 				"1, 3, 1, 1, abc.txt",
@@ -194,6 +212,23 @@ public class BoardServiceTest {
 				Assertions.assertTrue(output.contains("Successfully updated cell"), "Cell was not updated.");
 			}
 			
+			@ParameterizedTest
+			@CsvSource({
+				"1, 3, 10, abc.txt",
+				"4, 6, 100, def.txt"
+			})
+			@DisplayName("Test batch edit should save the board once")
+			public void shouldEditCellsWithSingleSave(int rows, int columns, int editCount, String fileName) {
+				mockBoard = createMockBoard(rows, columns);
+				List<CellEdit> edits = new ArrayList<>();
+				for (int i = 0; i < editCount; i++) {
+					edits.add(i % 2 == 0 ? CellEdit.set(i % rows, i % columns, "abc") : CellEdit.regenerate(i % rows, i % columns));
+				}
+				
+				Assertions.assertEquals(editCount, boardService.editCells(mockBoard, edits, fileName), "Every edit should be applied.");
+				verify(mockFileService, times(1)).saveBoardToTextFile(mockBoard, fileName);
+			}
+			
 			@ParameterizedTest
 			@CsvSource({
 				"1, 3, 1, 1, abc.txt",
@@ -362,6 +397,26 @@ public class BoardServiceTest {
 				Assertions.assertTrue(output.contains("Value must be greater than"), "Board should not be edited for invalid input.");
 			}
 			
+			@ParameterizedTest
+			@CsvSource({
+				"1, 3, 1, 0, abc",
+				"2, 4, 0, 4, abc",
+				"3, 5, -1, 0, abc",
+				"3, 5, 0, 0, abcd",
+				"3, 5, 0, 0, ab",
+				"3, 5, 2, 4, a\u001Fb",
+				"3, 5, 1, 1, 'a\nb'"
+			})
+			@DisplayName("Test batch edit should reject invalid edits before changing any cell")
+			public void shouldNotEditCells(int rows, int columns, int rowToEdit, int columnToEdit, String value) {
+				mockBoard = createMockBoard(rows, columns);
+				List<CellEdit> edits = List.of(CellEdit.set(0, 0, "abc"), CellEdit.set(rowToEdit, columnToEdit, value));
+				
+				Assertions.assertThrows(RuntimeException.class, () -> boardService.editCells(mockBoard, edits, "abc.txt"), "Invalid edit should be rejected.");
+				verify(mockCell, times(0)).setValue(any());
+				verify(mockFileService, times(0)).saveBoardToTextFile(any(), any());
+			}
+			
 			@ParameterizedTest
 			@CsvSource({
 				"1, 3, 1, -1, abc.txt",
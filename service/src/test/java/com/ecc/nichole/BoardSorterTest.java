@@ -0,0 +1,257 @@
+package com.ecc.nichole.service;
+
+import com.ecc.nichole.model.Board;
+import com.ecc.nichole.model.Cell;
+import com.ecc.nichole.model.PackedBoard;
+import com.ecc.nichole.model.Row;
+import com.ecc.nichole.model.SortOrder;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import com.ecc.nichole.util.Utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.Scanner;
+
+public class BoardSorterTest {
+
+    private static Cell createCell(String key, String value) {
+        Cell cell = new Cell();
+        cell.setKey(key);
+        cell.setValue(value);
+        return cell;
+    }
+
+    private static List<Row> createRows(int rows, int columns, long seed) {
+        Random random = new Random(seed);
+        List<Row> rowList = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            Row row = new Row();
+            for (int j = 0; j < columns; j++) {
+                row.addCell(createCell(randomText(random), randomText(random)));
+            }
+            rowList.add(row);
+        }
+        return rowList;
+    }
+
+    private static String randomText(Random random) {
+        char[] characters = new char[3];
+        for (int i = 0; i < characters.length; i++) {
+            characters[i] = (char) ('a' + random.nextInt(3));
+        }
+        return new String(characters);
+    }
+
+    private static List<String> contentOf(Board board) {
+        List<String> content = new ArrayList<>();
+        for (Row row : board.getRows()) {
+            StringBuilder stringBuilder = new StringBuilder();
+            row.getCells().forEach(cell -> stringBuilder.append(cell.getKey()).append(cell.getValue()).append(' '));
+            content.add(stringBuilder.toString());
+        }
+        return content;
+    }
+
+    private static Board sortWithComparators(List<Row> rows, SortOrder sortOrder) {
+        Board board = new Board();
+        board.setRows(rows);
+        board.getRows().forEach(row -> Collections.sort(row.getCells(), BoardSorter.cellComparator(sortOrder)));
+        Collections.sort(board.getRows(), BoardSorter.rowComparator(sortOrder));
+        return board;
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "1, 1, ASCENDING",
+        "5, 4, DESCENDING",
+        "40, 50, ASCENDING",
+        "300, 3, DESCENDING"
+    })
+    @DisplayName("Test radix sort orders boards exactly like the comparators")
+    public void shouldMatchComparatorOrder(int rows, int columns, SortOrder sortOrder) {
+        Board expected = sortWithComparators(createRows(rows, columns, 7), sortOrder);
+        Board board = new Board();
+        board.setRows(createRows(rows, columns, 7));
+        PackedBoard packedBoard = new PackedBoard(createRows(rows, columns, 7));
+
+        new BoardSorter().sort(board, sortOrder);
+        new BoardSorter().sort(packedBoard, sortOrder);
+
+        Assertions.assertEquals(contentOf(expected), contentOf(board), "Radix sorted board should equal comparator sorted board");
+        Assertions.assertEquals(contentOf(expected), contentOf(packedBoard), "Radix sorted packed board should equal comparator sorted board");
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "2, 3, 2, ASCENDING",
+        "100, 5, 3, DESCENDING",
+        "40000, 2, 4, ASCENDING",
+        "40000, 3, 2, DESCENDING"
+    })
+    @DisplayName("Test parallel sort orders boards exactly like a sequential sort")
+    public void shouldMatchSequentialSort(int rows, int columns, int parallelism, SortOrder sortOrder) {
+        Board expected = new Board();
+        expected.setRows(createRows(rows, columns, 3));
+        Board board = new Board();
+        board.setRows(createRows(rows, columns, 3));
+        PackedBoard packedBoard = new PackedBoard(createRows(rows, columns, 3));
+
+        new BoardSorter(1, 0).sort(expected, sortOrder);
+        new BoardSorter(parallelism, 0).sort(board, sortOrder);
+        new BoardSorter(parallelism, 0).sort(packedBoard, sortOrder);
+
+        Assertions.assertEquals(contentOf(expected), contentOf(board), "Parallel sorted board should equal sequential sorted board");
+        Assertions.assertEquals(contentOf(expected), contentOf(packedBoard), "Parallel sorted packed board should equal sequential sorted board");
+    }
+
+    @Test
+    @DisplayName("Test a closed sorter still sorts with a new pool")
+    public void shouldSortAfterClose() {
+        Board expected = new Board();
+        expected.setRows(createRows(1000, 3, 5));
+        Board board = new Board();
+        board.setRows(createRows(1000, 3, 5));
+        BoardSorter boardSorter = new BoardSorter(2, 0);
+        boardSorter.sort(expected, SortOrder.ASCENDING);
+
+        boardSorter.close();
+        boardSorter.sort(board, SortOrder.ASCENDING);
+
+        Assertions.assertEquals(contentOf(expected), contentOf(board), "Sort after closing the pool should give the same order");
+    }
+
+    @Test
+    @DisplayName("Test equal rows keep their original order")
+    public void shouldBeStable() {
+        Row first = new Row();
+        first.addCell(createCell("abc", "def"));
+        first.addCell(createCell("zzz", "zzz"));
+        Row second = new Row();
+        second.addCell(createCell("abc", "def"));
+        second.addCell(createCell("yyy", "yyy"));
+        Board board = new Board();
+        board.setRows(List.of(first, second));
+
+        new BoardSorter().sort(board, SortOrder.DESCENDING);
+
+        Assertions.assertSame(first, board.getRows().get(0), "Equal rows should keep their order");
+        Assertions.assertSame(second, board.getRows().get(1), "Equal rows should keep their order");
+    }
+
+    @Test
+    @DisplayName("Test cells that cannot be packed fall back to string comparison")
+    public void shouldSortCellsOfAnyLength() {
+        Board expected = sortWithComparators(createIrregularRows(), SortOrder.ASCENDING);
+        Board board = new Board();
+        board.setRows(createIrregularRows());
+
+        new BoardSorter().sort(board, SortOrder.ASCENDING);
+
+        Assertions.assertEquals(contentOf(expected), contentOf(board), "Fallback sort should equal comparator sorted board");
+    }
+
+    private static List<Row> createIrregularRows() {
+        List<Row> rows = createRows(3, 4, 11);
+        rows.get(1).getCells().get(2).setValue("a");
+        rows.get(2).getCells().get(0).setKey("zzzz");
+        return rows;
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "ASCENDING",
+        "DESCENDING"
+    })
+    @DisplayName("Test repositioned cells and rows match a full sort")
+    public void shouldRepositionEditedCells(SortOrder sortOrder) {
+        Random random = new Random(5);
+        Board board = new Board();
+        board.setRows(createRows(30, 6, 5));
+        BoardSorter boardSorter = new BoardSorter(1, 0);
+        boardSorter.sort(board, sortOrder);
+
+        for (int i = 0; i < 200; i++) {
+            int rowIndex = random.nextInt(30);
+            int columnIndex = random.nextInt(6);
+            Row row = board.getRows().get(rowIndex);
+            row.getCells().get(columnIndex).setValue(randomText(random));
+            int newColumn = boardSorter.repositionCell(row, columnIndex, sortOrder);
+            if (columnIndex == 0 || newColumn == 0) {
+                boardSorter.repositionRow(board.getRows(), rowIndex, sortOrder);
+            }
+
+            List<String> content = contentOf(board);
+            boardSorter.sort(board, sortOrder);
+            Assertions.assertEquals(contentOf(board), content, "Repositioned board should already be sorted");
+        }
+    }
+
+    @Test
+    @DisplayName("Test a sorted board stays sorted and searchable through edits and added rows")
+    public void shouldKeepSortedBoardSorted(@TempDir File directory) throws IOException {
+        String fileName = new File(directory, "board.txt").getPath();
+        RowService rowService = new RowService();
+        BoardService boardService = new BoardService(new CellService(), rowService, new FileService());
+        Board board = boardService.createBoard(rowService, 20, 5);
+        boardService.findMatches(board, "a");
+
+        Utils.scanner = new Scanner(new ByteArrayInputStream("2\n".getBytes()));
+        boardService.sort(board, fileName);
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            input.append(i % 20 + 1).append('\n').append(i % 5 + 1).append('\n');
+        }
+        input.append("4\n7\n");
+        Utils.scanner = new Scanner(new ByteArrayInputStream(input.toString().getBytes()));
+        for (int i = 0; i < 20; i++) {
+            boardService.edit(board, fileName);
+        }
+        boardService.add(board, fileName);
+
+        Assertions.assertEquals(SortOrder.DESCENDING, board.getSortOrder(), "Board should still be known as sorted");
+        List<String> content = contentOf(board);
+        new BoardSorter(1, 0).sort(board, SortOrder.DESCENDING);
+        Assertions.assertEquals(contentOf(board), content, "Board should still be sorted");
+        Assertions.assertEquals(new BoardSearcher(1, 0).find(board, "a"), boardService.findMatches(board, "a"), "Index should follow moved cells and rows");
+    }
+
+    @Test
+    @DisplayName("Test a batch edit keeps a sorted board sorted and rolls back rejected edits")
+    public void shouldEditSortedBoardInOneTransaction(@TempDir File directory) {
+        String fileName = new File(directory, "board.txt").getPath();
+        RowService rowService = new RowService();
+        BoardService boardService = new BoardService(new CellService(), rowService, new FileService());
+        PackedBoard board = new PackedBoard(boardService.createBoard(rowService, 50, 6).getRows());
+        new BoardSorter(1, 0).sort(board, SortOrder.ASCENDING);
+        board.setSortOrder(SortOrder.ASCENDING);
+        boardService.findMatches(board, "a");
+
+        List<CellEdit> edits = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            edits.add(i % 3 == 0 ? CellEdit.regenerate(i, i % 6) : CellEdit.set(i, i % 6, i % 2 == 0 ? "  a" : "~~~"));
+        }
+        boardService.editCells(board, edits, fileName);
+
+        List<String> content = contentOf(board);
+        new BoardSorter(1, 0).sort(board, SortOrder.ASCENDING);
+        Assertions.assertEquals(contentOf(board), content, "Board should still be sorted");
+        Assertions.assertEquals(new BoardSearcher(1, 0).find(board, "a"), boardService.findMatches(board, "a"), "Index should follow the edits");
+
+        List<String> beforeRejected = contentOf(board);
+        List<CellEdit> rejected = List.of(CellEdit.set(0, 0, "zzz"), CellEdit.set(1, 0, "\u0100ab"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> boardService.editCells(board, rejected, fileName), "Packed board should reject the value");
+        Assertions.assertEquals(beforeRejected, contentOf(board), "Rejected batch should leave the board unchanged");
+    }
+}
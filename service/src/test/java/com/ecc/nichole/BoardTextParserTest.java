@@ -0,0 +1,89 @@
+package com.ecc.nichole.service;
+
+import com.ecc.nichole.model.Cell;
+import com.ecc.nichole.model.Row;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BoardTextParserTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * The split-based parsing the streaming parser replaces.
+     */
+    private static List<String> splitRow(String line) {
+        List<String> cells = new ArrayList<>();
+        for (String cellValue : line.split("\u001F")) {
+            String[] splitCell = cellValue.split("\u001D");
+            cells.add(splitCell.length == 2 ? splitCell[0] + "=" + splitCell[1] : "invalid");
+        }
+        return cells;
+    }
+
+    private static List<String> parsedRow(Row row) {
+        List<String> cells = new ArrayList<>();
+        for (Cell cell : row.getCells()) {
+            cells.add(cell.getKey() + "=" + cell.getValue());
+        }
+        return cells;
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "abc\u001Ddef\u001F",
+        "abc\u001Ddef\u001Fghi\u001Djkl",
+        "\u001Ddef\u001F",
+        "abc\u001D\u001F",
+        "abc\u001Ddef\u001D\u001F",
+        "abc\u001Ddef\u001Dghi\u001F",
+        "abc\u001Ddef\u001F\u001Fghi\u001Djkl\u001F",
+        "\u001F\u001F",
+        "\u001D\u001F",
+        "abc",
+        "",
+        "é=\u001Dü\u001F"
+    })
+    @DisplayName("Test parsing keeps the cells the split-based parser kept")
+    public void shouldMatchSplitParsing(String line) throws Exception {
+        List<String> expected = splitRow(line);
+        expected.removeIf(cell -> cell.equals("invalid"));
+
+        Assertions.assertEquals(expected, parsedRow(BoardTextParser.parseRow(line)), "Line parsing should match");
+        Path file = directory.resolve("board.txt");
+        Files.write(file, (line + "\n").getBytes(StandardCharsets.UTF_8));
+        Assertions.assertEquals(expected, parsedRow(BoardTextParser.readRows(file).get(0)), "File parsing should match");
+    }
+
+    @Test
+    @DisplayName("Test line terminators and lines longer than the read buffer")
+    public void shouldReadLinesAcrossBuffers() throws Exception {
+        StringBuilder longLine = new StringBuilder();
+        for (int i = 0; i < 30000; i++) {
+            longLine.append(String.format("%03d", i % 1000)).append('\u001D').append("v").append('\u001F');
+        }
+        String content = "a\u001Db\u001F\r\n" + longLine + "\rc\u001Dd\u001F\n\ne\u001Df";
+        Path file = directory.resolve("board.txt");
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+
+        List<Row> rows = BoardTextParser.readRows(file);
+        List<String> lines = Files.readAllLines(file);
+        Assertions.assertEquals(lines.size(), rows.size(), "Every line should become a row");
+        for (int i = 0; i < lines.size(); i++) {
+            Assertions.assertEquals(parsedRow(BoardTextParser.parseRow(lines.get(i))), parsedRow(rows.get(i)), "Row " + i + " should match");
+        }
+        Assertions.assertEquals(30000, rows.get(1).getCells().size(), "Long line should keep every cell");
+    }
+}
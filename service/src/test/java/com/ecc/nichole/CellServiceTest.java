@@ -39,6 +39,24 @@ public class CellServiceTest {
         }
     }
 
+    @RepeatedTest(100)
+    @DisplayName("Test generated values are valid cell values")
+    public void shouldAcceptGeneratedValues() {
+        Assertions.assertTrue(CellService.isValidValue(cellService.generateValue()), "Generated value should be a valid cell value");
+    }
+
+    @Test
+    @DisplayName("Test isValidValue rejects values of the wrong length or alphabet")
+    public void shouldRejectInvalidValues() {
+        Assertions.assertTrue(CellService.isValidValue(" ~a"), "Printable ASCII value should be valid");
+        Assertions.assertFalse(CellService.isValidValue(null), "Null should be invalid");
+        Assertions.assertFalse(CellService.isValidValue("ab"), "Short value should be invalid");
+        Assertions.assertFalse(CellService.isValidValue("abcd"), "Long value should be invalid");
+        Assertions.assertFalse(CellService.isValidValue("a\u001Db"), "Separator characters should be invalid");
+        Assertions.assertFalse(CellService.isValidValue("a\rb"), "Line breaks should be invalid");
+        Assertions.assertFalse(CellService.isValidValue("\u00e9ab"), "Non-ASCII characters should be invalid");
+    }
+
     @RepeatedTest(100)
     @DisplayName("Test createRandomCell functionality")
     public void shouldCreateRandomCell() {
@@ -0,0 +1,166 @@
+package com.ecc.nichole.service;
+
+import com.ecc.nichole.model.Board;
+import com.ecc.nichole.model.Cell;
+import com.ecc.nichole.model.Row;
+import com.ecc.nichole.util.Utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Scanner;
+
+public class CompressedBoardFileTest {
+
+    @TempDir
+    Path directory;
+
+    private static Board createBoard(int rowCount, long seed) {
+        Random random = new Random(seed);
+        List<Row> rows = new ArrayList<>();
+        for (int rowIndex = 0; rowIndex < rowCount; rowIndex++) {
+            Row row = new Row();
+            int columns = 1 + random.nextInt(6);
+            for (int column = 0; column < columns; column++) {
+                Cell cell = new Cell();
+                cell.setKey("k" + random.nextInt(1000));
+                cell.setValue("välue" + random.nextInt(1000));
+                row.getCells().add(cell);
+            }
+            rows.add(row);
+        }
+        Board board = new Board();
+        board.setRows(rows);
+        return board;
+    }
+
+    private static List<String> lines(List<Row> rows) {
+        List<String> lines = new ArrayList<>();
+        for (Row row : rows) {
+            lines.add(FileService.formatRow(row));
+        }
+        return lines;
+    }
+
+    @Test
+    @DisplayName("Test compressed file holds the rows that were written")
+    public void shouldRoundTripBoard() throws IOException {
+        Board board = createBoard(1000, 1);
+        String fileName = directory.resolve("board.nbz").toString();
+
+        CompressedBoardFile.write(board, fileName, 64);
+
+        Assertions.assertTrue(CompressedBoardFile.isCompressedBoardFile(fileName));
+        Assertions.assertEquals(1000, CompressedBoardFile.getRowCount(fileName));
+        Assertions.assertEquals(lines(board.getRows()), lines(CompressedBoardFile.readRows(fileName)));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "0, 1",
+        "63, 65",
+        "64, 128",
+        "100, 400",
+        "990, 2000",
+        "500, 500"
+    })
+    @DisplayName("Test reading a row range returns only the rows of that range")
+    public void shouldReadRowRange(int fromRow, int toRow) throws IOException {
+        Board board = createBoard(1000, 2);
+        String fileName = directory.resolve("board.nbz").toString();
+        CompressedBoardFile.write(board, fileName, 64);
+
+        List<Row> expected = board.getRows().subList(Math.min(fromRow, 1000), Math.min(toRow, 1000));
+        Assertions.assertEquals(lines(expected), lines(CompressedBoardFile.readRows(fileName, fromRow, toRow)));
+    }
+
+    @Test
+    @DisplayName("Test compressed file is smaller than the text file")
+    public void shouldBeSmallerThanTextFile() throws IOException {
+        Board board = createBoard(5000, 3);
+        Path textFile = directory.resolve("board.txt");
+        Path compressedFile = directory.resolve("board.nbz");
+
+        new FileService().saveBoardToTextFile(board, textFile.toString());
+        CompressedBoardFile.write(board, compressedFile.toString());
+
+        Assertions.assertTrue(Files.size(compressedFile) < Files.size(textFile) / 2);
+    }
+
+    @Test
+    @DisplayName("Test text files are not taken for compressed files")
+    public void shouldNotDetectTextFile() throws IOException {
+        Path textFile = directory.resolve("board.txt");
+        new FileService().saveBoardToTextFile(createBoard(10, 4), textFile.toString());
+
+        Assertions.assertFalse(CompressedBoardFile.isCompressedBoardFile(textFile.toString()));
+        Assertions.assertThrows(IOException.class, () -> CompressedBoardFile.readRows(textFile.toString()));
+    }
+
+    @Test
+    @DisplayName("Test corrupt block is reported instead of returning wrong rows")
+    public void shouldRejectCorruptBlock() throws IOException {
+        String fileName = directory.resolve("board.nbz").toString();
+        CompressedBoardFile.write(createBoard(200, 5), fileName, 50);
+        try (RandomAccessFile file = new RandomAccessFile(fileName, "rw")) {
+            for (int position = 8; position < 40; position++) {
+                file.seek(position);
+                file.write(0xFF);
+            }
+        }
+
+        Assertions.assertThrows(IOException.class, () -> CompressedBoardFile.readRows(fileName, 0, 10));
+        Assertions.assertEquals(50, CompressedBoardFile.readRows(fileName, 150, 200).size());
+    }
+
+    @Test
+    @DisplayName("Test board service loads and saves compressed files in the compressed format")
+    public void shouldKeepCompressedFormatThroughBoardService() {
+        String fileName = directory.resolve("board.nbz").toString();
+        FileService fileService = new FileService();
+        fileService.saveBoardToCompressedFile(createBoard(300, 6), fileName);
+        BoardService boardService = new BoardService(new CellService(), new RowService(), fileService);
+
+        Board board = boardService.loadBoard(fileName);
+        board.getRows().remove(0);
+        boardService.saveBoard(board, fileName);
+
+        Assertions.assertTrue(fileService.isCompressedBoardFile(fileName));
+        Assertions.assertEquals(lines(board.getRows()), lines(fileService.loadBoardFromCompressedFile(fileName).getRows()));
+        Assertions.assertEquals(lines(board.getRows().subList(10, 20)), lines(fileService.loadRowsFromCompressedFile(fileName, 10, 20)));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"board.nbz, false", "board.bin, true"})
+    @DisplayName("Test reset keeps the compressed and binary formats of the board file")
+    public void shouldKeepFormatOnReset(String name, boolean binary) {
+        String fileName = directory.resolve(name).toString();
+        FileService fileService = new FileService();
+        Board original = new BoardGenerator().generate(7, 50, 3);
+        if (binary) {
+            fileService.saveBoardToBinaryFile(original, fileName);
+        } else {
+            fileService.saveBoardToCompressedFile(original, fileName);
+        }
+        BoardService boardService = new BoardService(new CellService(), new RowService(), fileService);
+        Utils.scanner = new Scanner(new ByteArrayInputStream("20\n4\n".getBytes()));
+
+        Board board = boardService.reset(fileName);
+
+        Assertions.assertEquals(binary, fileService.isBinaryBoardFile(fileName));
+        Assertions.assertEquals(!binary, fileService.isCompressedBoardFile(fileName));
+        Assertions.assertEquals(lines(board.getRows()), lines(boardService.loadBoard(fileName).getRows()));
+    }
+}
@@ -0,0 +1,158 @@
+package com.ecc.nichole.service;
+
+import com.ecc.nichole.model.Board;
+import com.ecc.nichole.model.Cell;
+import com.ecc.nichole.model.Row;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+public class DeltaBoardSaverTest {
+
+    @TempDir
+    Path directory;
+
+    private static Board createBoard(int rowCount, int columnCount) {
+        List<Row> rows = new ArrayList<>();
+        for (int rowIndex = 0; rowIndex < rowCount; rowIndex++) {
+            Row row = new Row();
+            for (int column = 0; column < columnCount; column++) {
+                row.getCells().add(cell("k" + column, "v0" + rowIndex % 10));
+            }
+            rows.add(row);
+        }
+        Board board = new Board();
+        board.setRows(rows);
+        return board;
+    }
+
+    private static Cell cell(String key, String value) {
+        Cell cell = new Cell();
+        cell.setKey(key);
+        cell.setValue(value);
+        return cell;
+    }
+
+    private static String expectedContent(Board board) {
+        StringBuilder content = new StringBuilder();
+        for (Row row : board.getRows()) {
+            content.append(FileService.formatRow(row)).append(System.lineSeparator());
+        }
+        return content.toString();
+    }
+
+    private static String content(Path file) throws IOException {
+        return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    }
+
+    private FileService deltaFileService() {
+        FileService fileService = new FileService();
+        fileService.setDeltaSaving(true);
+        return fileService;
+    }
+
+    @Test
+    @DisplayName("Test saving a board without dirty rows writes nothing")
+    public void shouldSkipSaveWithoutDirtyRows() throws IOException {
+        Path file = directory.resolve("board.txt");
+        FileService fileService = deltaFileService();
+        fileService.saveBoardToTextFile(createBoard(100, 4), file.toString());
+
+        Board board = fileService.loadBoardFromTextFile(file.toString());
+        fileService.saveBoardToTextFile(board, file.toString());
+
+        Assertions.assertEquals(0, fileService.getLastSaveBytesWritten());
+        Assertions.assertEquals(expectedContent(board), content(file));
+    }
+
+    @Test
+    @DisplayName("Test changed lines of the same length are overwritten in place")
+    public void shouldPatchRowsOfSameLength() throws IOException {
+        Path file = directory.resolve("board.txt");
+        FileService fileService = deltaFileService();
+        BoardService boardService = new BoardService(new CellService(), new RowService(), fileService);
+        Board board = createBoard(1000, 4);
+        fileService.saveBoardToTextFile(board, file.toString());
+        long fileSize = Files.size(file);
+
+        boardService.editCells(board, List.of(CellEdit.set(10, 1, "abc"), CellEdit.set(900, 3, "cde")), file.toString());
+
+        Assertions.assertEquals(2 * FileService.formatRow(board.getRows().get(10)).length(), fileService.getLastSaveBytesWritten());
+        Assertions.assertEquals(fileSize, Files.size(file));
+        Assertions.assertEquals(expectedContent(board), content(file));
+    }
+
+    @Test
+    @DisplayName("Test structural changes rewrite the file from the first dirty row")
+    public void shouldRewriteFromFirstDirtyRow() throws IOException {
+        Path file = directory.resolve("board.txt");
+        FileService fileService = deltaFileService();
+        Board board = createBoard(1000, 4);
+        fileService.saveBoardToTextFile(board, file.toString());
+
+        Row row = new Row();
+        row.getCells().add(cell("new", "row"));
+        board.getRows().add(800, row);
+        board.markRowsDirty(800, board.getRowCount());
+        board.getRows().get(5).getCells().get(0).setValue("longer value");
+        board.markRowDirty(5);
+        fileService.saveBoardToTextFile(board, file.toString());
+        Assertions.assertTrue(fileService.getLastSaveBytesWritten() < Files.size(file));
+        Assertions.assertEquals(expectedContent(board), content(file));
+
+        board.getRows().remove(board.getRowCount() - 1);
+        board.markRowsDirty(board.getRowCount(), board.getRowCount() + 1);
+        fileService.saveBoardToTextFile(board, file.toString());
+        Assertions.assertEquals(0, fileService.getLastSaveBytesWritten());
+        Assertions.assertEquals(expectedContent(board), content(file));
+    }
+
+    @Test
+    @DisplayName("Test the whole file is written when it changed since the last save")
+    public void shouldWriteWholeFileWhenFileChanged() throws IOException {
+        Path file = directory.resolve("board.txt");
+        Path otherFile = directory.resolve("other.txt");
+        FileService fileService = deltaFileService();
+        Board board = createBoard(100, 4);
+        fileService.saveBoardToTextFile(board, file.toString());
+
+        Files.write(file, "k\u001Dv\u001F\n".getBytes(StandardCharsets.UTF_8));
+        board.markRowDirty(0);
+        fileService.saveBoardToTextFile(board, file.toString());
+        Assertions.assertEquals(Files.size(file), fileService.getLastSaveBytesWritten());
+        Assertions.assertEquals(expectedContent(board), content(file));
+
+        board.getRows().get(1).getCells().get(0).setValue("zz");
+        board.markRowDirty(1);
+        fileService.saveBoardToTextFile(board, otherFile.toString());
+        board.markRowDirty(0);
+        fileService.saveBoardToTextFile(board, file.toString());
+        Assertions.assertEquals(Files.size(file), fileService.getLastSaveBytesWritten());
+        Assertions.assertEquals(expectedContent(board), content(file));
+    }
+
+    @Test
+    @DisplayName("Test changes not tied to rows write the whole file")
+    public void shouldWriteWholeFileWhenAllRowsDirty() throws IOException {
+        Path file = directory.resolve("board.txt");
+        FileService fileService = deltaFileService();
+        Board board = createBoard(100, 4);
+        fileService.saveBoardToTextFile(board, file.toString());
+
+        board.getRows().get(50).getCells().get(2).setValue("xy");
+        board.markModified();
+        fileService.saveBoardToTextFile(board, file.toString());
+
+        Assertions.assertEquals(Files.size(file), fileService.getLastSaveBytesWritten());
+        Assertions.assertEquals(expectedContent(board), content(file));
+    }
+}
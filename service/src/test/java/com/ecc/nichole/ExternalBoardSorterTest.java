@@ -0,0 +1,63 @@
+package com.ecc.nichole.service;
+
+import com.ecc.nichole.model.Board;
+import com.ecc.nichole.model.SortOrder;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class ExternalBoardSorterTest {
+
+    @TempDir
+    Path directory;
+
+    @ParameterizedTest
+    @CsvSource({
+        "1, 3, 1048576, ASCENDING",
+        "500, 4, 131072, DESCENDING",
+        "5000, 3, 131072, ASCENDING",
+        "20000, 2, 262144, DESCENDING"
+    })
+    @DisplayName("Test external sort writes the same board as an in-memory sort")
+    public void shouldMatchInMemorySort(int rows, int columns, long memoryBudget, SortOrder sortOrder) throws IOException {
+        RowService rowService = new RowService();
+        FileService fileService = new FileService();
+        Board board = new BoardService(new CellService(), rowService, fileService).createBoard(rowService, rows, columns);
+        String input = directory.resolve("input.txt").toString();
+        String expected = directory.resolve("expected.txt").toString();
+        String output = directory.resolve("output.txt").toString();
+        fileService.saveBoardToTextFile(board, input);
+        new BoardSorter(1, 0).sort(board, sortOrder);
+        fileService.saveBoardToTextFile(board, expected);
+
+        int runs = new ExternalBoardSorter(memoryBudget).sort(input, output, sortOrder);
+
+        Assertions.assertEquals(Files.readAllLines(new File(expected).toPath()), Files.readAllLines(new File(output).toPath()), "Externally sorted file should equal the in-memory sorted file");
+        Assertions.assertTrue(rows < 5000 || runs > 1, "Large boards should be split into several runs");
+        try (Stream<Path> files = Files.list(directory)) {
+            Assertions.assertEquals(3, files.filter(file -> !file.toString().endsWith(BoardFileIndex.INDEX_SUFFIX)).count(), "Temporary run files should be deleted");
+        }
+    }
+
+    @Test
+    @DisplayName("Test external sort can replace the input file")
+    public void shouldSortInPlace() throws IOException {
+        Path file = directory.resolve("board.txt");
+        Files.write(file, List.of("zzz\u001Dzzz\u001Faaa\u001Daaa\u001F", "bbb\u001Dbbb\u001F"));
+
+        new ExternalBoardSorter(1 << 17).sort(file.toString(), file.toString(), SortOrder.ASCENDING);
+
+        Assertions.assertEquals(List.of("aaa\u001Daaa\u001Fzzz\u001Dzzz\u001F", "bbb\u001Dbbb\u001F"), Files.readAllLines(file), "File should be sorted in place");
+    }
+}
@@ -141,6 +141,7 @@ public class FileServiceTest {
 			assertEquals(expectedContent, actualContent, "File content does not match expected board content");
 		} finally {
 			Files.deleteIfExists(filePath);
+			BoardFileIndex.delete(filePath);
 		}
     }
 
@@ -189,4 +190,26 @@ public class FileServiceTest {
             }
         }
     }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"k_1\u001Dv_1\u001Fk_2\u001Dv_2\u001F\nk_3\u001Dv_3\u001F\n"})
+    public void shouldConvertBetweenTextAndBinaryFiles(String fileContent) throws IOException {
+        File textFile = createMockFile(fileContent);
+        File binaryFile = File.createTempFile("testBoard", ".bin");
+        File convertedFile = File.createTempFile("testBoard", ".txt");
+
+        try {
+            fileService.convertTextToBinary(textFile.getAbsolutePath(), binaryFile.getAbsolutePath());
+            assertTrue(fileService.isBinaryBoardFile(binaryFile.getAbsolutePath()), "Converted file should be binary");
+            fileService.convertBinaryToText(binaryFile.getAbsolutePath(), convertedFile.getAbsolutePath());
+
+            assertEquals(fileContent.trim(), FileUtils.readFileToString(convertedFile, StandardCharsets.UTF_8).trim(), "Round trip should keep the board");
+        } finally {
+            Files.deleteIfExists(textFile.toPath());
+            Files.deleteIfExists(binaryFile.toPath());
+            Files.deleteIfExists(convertedFile.toPath());
+            BoardFileIndex.delete(textFile.toPath());
+            BoardFileIndex.delete(convertedFile.toPath());
+        }
+    }
 }
@@ -0,0 +1,39 @@
+package com.ecc.nichole.service;
+
+import com.ecc.nichole.model.Board;
+import com.ecc.nichole.model.PackedBoard;
+import com.ecc.nichole.model.Row;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.List;
+
+public class PackedSearchKernelTest {
+
+    @ParameterizedTest
+    @CsvSource({
+        "3, 4, a",
+        "10, 7, ab",
+        "100, 100, a",
+        "100, 100, ' '",
+        "120, 90, x!",
+        "100, 100, a~b"
+    })
+    @DisplayName("Test packed byte search returns the same matches as the object scan")
+    public void shouldMatchObjectScan(int rows, int columns, String stringToFind) {
+        RowService rowService = new RowService();
+        Board board = new BoardService(new CellService(), rowService, new FileService()).createBoard(rowService, rows, columns);
+        board.getRows().add(rows / 2, new Row());
+        PackedBoard packedBoard = new PackedBoard(board.getRows());
+        BoardSearcher searcher = new BoardSearcher(1, 0);
+
+        List<SearchMatch> expected = searcher.find(board, stringToFind);
+
+        Assertions.assertEquals(expected, searcher.find(packedBoard, stringToFind), "Packed matches should equal object matches");
+        Assertions.assertEquals(expected.subList(0, (int) expected.stream().filter(match -> match.getRow() < rows / 2).count()),
+                PackedSearchKernel.find(packedBoard, stringToFind, 0, rows / 2), "Row range search should stop at the last row");
+    }
+}
@@ -0,0 +1,195 @@
+package com.ecc.nichole.service;
+
+import com.ecc.nichole.model.Board;
+import com.ecc.nichole.model.Cell;
+import com.ecc.nichole.model.Row;
+import com.ecc.nichole.model.SortOrder;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class PagedBoardTest {
+
+    @TempDir
+    Path directory;
+
+    private static List<String> lines(List<Row> rows) {
+        List<String> lines = new ArrayList<>();
+        for (Row row : rows) {
+            lines.add(FileService.formatRow(row));
+        }
+        return lines;
+    }
+
+    private static Row row(String... keysAndValues) {
+        Row row = new Row();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            Cell cell = new Cell();
+            cell.setKey(keysAndValues[i]);
+            cell.setValue(keysAndValues[i + 1]);
+            row.getCells().add(cell);
+        }
+        return row;
+    }
+
+    private Path writeBoardFile(int rowCount, long seed) throws IOException {
+        Random random = new Random(seed);
+        String[] terminators = {"\n", "\r\n", "\r"};
+        StringBuilder content = new StringBuilder();
+        for (int rowIndex = 0; rowIndex < rowCount; rowIndex++) {
+            int columns = 1 + random.nextInt(5);
+            for (int column = 0; column < columns; column++) {
+                content.append("k").append(random.nextInt(100)).append('\u001D')
+                        .append("v").append(random.nextInt(100)).append('\u001F');
+            }
+            content.append(terminators[random.nextInt(terminators.length)]);
+        }
+        Path file = directory.resolve("board.txt");
+        Files.write(file, content.toString().getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    @Test
+    @DisplayName("Test paged board reads the rows of a full load")
+    public void shouldReadRowsOfFullLoad() throws IOException {
+        Path file = writeBoardFile(2000, 1);
+
+        try (PagedBoard board = PagedBoard.open(file.toString(), 2)) {
+            Assertions.assertEquals(2000, board.getRowCount());
+            Assertions.assertEquals(lines(BoardTextParser.readRows(file)), lines(board.getRows()));
+            Assertions.assertTrue(((PagedRowList) board.getRows()).getCachedRowCount() <= 2 * PagedRowList.ROWS_PER_PAGE);
+        }
+    }
+
+    @Test
+    @DisplayName("Test rows changed in place keep their changes after leaving the cache")
+    public void shouldKeepChangedRowsAfterEviction() throws IOException {
+        Path file = writeBoardFile(2000, 2);
+
+        try (PagedBoard board = PagedBoard.open(file.toString(), 1)) {
+            board.getRows().get(3).getCells().get(0).setValue("changed");
+            board.getRows().get(700).getCells().add(row("added", "cell").getCells().get(0));
+            lines(board.getRows());
+
+            PagedRowList rows = (PagedRowList) board.getRows();
+            Assertions.assertEquals(2, rows.getMemoryRowCount());
+            Assertions.assertEquals("changed", board.getRows().get(3).getCells().get(0).getValue());
+            Assertions.assertTrue(FileService.formatRow(board.getRows().get(700)).endsWith("added\u001Dcell\u001F"));
+        }
+    }
+
+    @Test
+    @DisplayName("Test inserting, replacing and removing rows matches an array list")
+    public void shouldMatchArrayListOperations() throws IOException {
+        Path file = writeBoardFile(1500, 3);
+        List<Row> expected = new ArrayList<>(BoardTextParser.readRows(file));
+        Random random = new Random(3);
+
+        try (PagedBoard board = PagedBoard.open(file.toString(), 2)) {
+            List<Row> rows = board.getRows();
+            for (int i = 0; i < 2000; i++) {
+                int operation = random.nextInt(3);
+                if (operation == 0) {
+                    int index = random.nextInt(expected.size() + 1);
+                    Row row = row("n" + i, "v" + i);
+                    expected.add(index, row);
+                    rows.add(index, row);
+                } else if (operation == 1 && !expected.isEmpty()) {
+                    int index = random.nextInt(expected.size());
+                    Row row = row("s" + i, "v" + i);
+                    expected.set(index, row);
+                    rows.set(index, row);
+                } else if (!expected.isEmpty()) {
+                    int index = random.nextInt(expected.size());
+                    Assertions.assertEquals(FileService.formatRow(expected.remove(index)), FileService.formatRow(rows.remove(index)));
+                }
+            }
+            Assertions.assertEquals(lines(expected), lines(rows));
+        }
+    }
+
+    @Test
+    @DisplayName("Test saving over its own file writes the rows and reads from the new file")
+    public void shouldSaveOverOwnFile() throws IOException {
+        Path file = writeBoardFile(1000, 4);
+
+        try (PagedBoard board = PagedBoard.open(file.toString(), 1)) {
+            board.getRows().get(0).getCells().get(0).setValue("first");
+            board.getRows().add(500, row("inserted", "row"));
+            board.getRows().remove(999);
+            List<String> expected = lines(board.getRows());
+
+            board.save(file.toString());
+
+            Assertions.assertEquals(0, ((PagedRowList) board.getRows()).getMemoryRowCount());
+            Assertions.assertEquals(expected, lines(board.getRows()));
+            Assertions.assertEquals(expected, lines(BoardTextParser.readRows(file)));
+        }
+    }
+
+    @Test
+    @DisplayName("Test file service opens text files as paged boards with paged loading")
+    public void shouldLoadPagedBoardWithPagedLoading() throws IOException {
+        Path file = writeBoardFile(600, 5);
+        Path emptyFile = Files.createFile(directory.resolve("empty.txt"));
+        FileService fileService = new FileService();
+        fileService.setPagedLoading(true);
+        BoardService boardService = new BoardService(new CellService(), new RowService(), fileService);
+
+        Board board = boardService.loadBoard(file.toString());
+        Assertions.assertInstanceOf(PagedBoard.class, board);
+        Assertions.assertEquals(0, ((PagedRowList) board.getRows()).getCachedRowCount());
+        board.getRows().get(10).getCells().get(0).setValue("edited");
+        boardService.saveBoard(board, file.toString());
+
+        Assertions.assertEquals(lines(board.getRows()), lines(BoardTextParser.readRows(file)));
+        Assertions.assertNull(fileService.loadBoardFromTextFile(emptyFile.toString()));
+        ((PagedBoard) board).close();
+    }
+
+    @Test
+    @DisplayName("Test a paged board is saved on the calling thread with write-behind")
+    public void shouldSavePagedBoardSynchronouslyWithWriteBehind() throws IOException {
+        Path file = writeBoardFile(600, 5);
+        FileService fileService = new FileService();
+        fileService.setPagedLoading(true);
+        fileService.setWriteBehind(true);
+
+        try (PagedBoard board = (PagedBoard) fileService.loadBoardFromTextFile(file.toString())) {
+            board.getRows().get(500).getCells().get(0).setValue("edited");
+            fileService.saveBoardToTextFile(board, file.toString());
+
+            Assertions.assertEquals("edited", BoardTextParser.readRows(file).get(500).getCells().get(0).getValue());
+        }
+    }
+
+    @Test
+    @DisplayName("Test a paged board opened with keep-sorted reads no rows")
+    public void shouldOpenPagedBoardLazilyWhenKeptSorted() throws IOException {
+        Path file = writeBoardFile(20_000, 6);
+        FileService fileService = new FileService();
+        fileService.setPagedLoading(true);
+        BoardService boardService = new BoardService(new CellService(), new RowService(), fileService);
+        boardService.setKeepSorted(SortOrder.ASCENDING);
+
+        try (PagedBoard board = (PagedBoard) boardService.loadBoard(file.toString())) {
+            PagedRowList rows = (PagedRowList) board.getRows();
+            Assertions.assertEquals(0, rows.getCachedRowCount());
+            Assertions.assertEquals(0, rows.getMemoryRowCount());
+
+            Assertions.assertEquals(lines(BoardTextParser.readRows(file)), lines(rows));
+            Assertions.assertTrue(rows.getCachedRowCount() <= PagedBoard.DEFAULT_CACHED_PAGES * PagedRowList.ROWS_PER_PAGE);
+            Assertions.assertEquals(0, rows.getMemoryRowCount());
+        }
+    }
+}
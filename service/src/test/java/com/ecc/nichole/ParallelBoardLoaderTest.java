@@ -0,0 +1,66 @@
+package com.ecc.nichole.service;
+
+import com.ecc.nichole.model.Cell;
+import com.ecc.nichole.model.Row;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class ParallelBoardLoaderTest {
+
+    @TempDir
+    Path directory;
+
+    private static List<List<String>> texts(List<Row> rows) {
+        List<List<String>> texts = new ArrayList<>();
+        for (Row row : rows) {
+            List<String> cells = new ArrayList<>();
+            for (Cell cell : row.getCells()) {
+                cells.add(cell.getKey() + "=" + cell.getValue());
+            }
+            texts.add(cells);
+        }
+        return texts;
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "2, 3000",
+        "4, 20000",
+        "7, 50000"
+    })
+    @DisplayName("Test parallel load returns the rows of a sequential load")
+    public void shouldMatchSequentialLoad(int parallelism, int rowCount) throws Exception {
+        Random random = new Random(rowCount);
+        String[] terminators = {"\n", "\r\n", "\r", "\n\n"};
+        StringBuilder content = new StringBuilder();
+        for (int row = 0; row < rowCount; row++) {
+            int columns = random.nextInt(40);
+            for (int column = 0; column < columns; column++) {
+                content.append((char) ('a' + random.nextInt(26))).append('\u001D')
+                        .append((char) ('A' + random.nextInt(26))).append('\u001F');
+            }
+            content.append(terminators[random.nextInt(terminators.length)]);
+        }
+        Path file = directory.resolve("board.txt");
+        Files.write(file, content.toString().getBytes(StandardCharsets.UTF_8));
+
+        List<Row> expected = BoardTextParser.readRows(file);
+        ParallelBoardLoader loader = new ParallelBoardLoader(parallelism, 0);
+        List<Row> actual = loader.readRows(file);
+
+        Assertions.assertEquals(texts(expected), texts(actual), "Parallel load should match a sequential load");
+        loader.close();
+        Assertions.assertEquals(texts(expected), texts(loader.readRows(file)), "Load after closing the pool should match");
+    }
+}
@@ -0,0 +1,46 @@
+package com.ecc.nichole.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class PatternAutomatonTest {
+
+    @ParameterizedTest
+    @CsvSource(value = {
+        "aaabaa; a,aa,aaa,b",
+        "abcabc; abc,bca,c,cab,x",
+        "k_1v_1; _,1v,k_1,v_1,_1",
+        "zzzzzz; z,zz,zzz"
+    }, delimiter = ';')
+    @DisplayName("Test automaton finds the same occurrences as indexOf for each pattern")
+    public void shouldFindEveryOccurrence(String text, String patternList) {
+        List<String> patterns = Arrays.asList(patternList.split(","));
+        PatternAutomaton automaton = new PatternAutomaton(patterns);
+        List<List<Integer>> found = new ArrayList<>();
+        patterns.forEach(pattern -> found.add(new ArrayList<>()));
+
+        automaton.scan(text, (patternIndex, start) -> found.get(patternIndex).add(start));
+
+        for (int i = 0; i < patterns.size(); i++) {
+            List<Integer> expected = new ArrayList<>();
+            for (int start = text.indexOf(patterns.get(i)); start != -1; start = text.indexOf(patterns.get(i), start + 1)) {
+                expected.add(start);
+            }
+            Assertions.assertEquals(expected, found.get(i), "Occurrences of '" + patterns.get(i) + "' should match indexOf");
+        }
+    }
+
+    @Test
+    @DisplayName("Test duplicate patterns are compiled once")
+    public void shouldIgnoreDuplicatePatterns() {
+        PatternAutomaton automaton = new PatternAutomaton(Arrays.asList("ab", "a", "ab"));
+        Assertions.assertEquals(Arrays.asList("ab", "a"), automaton.getPatterns(), "Duplicate patterns should be removed");
+    }
+}
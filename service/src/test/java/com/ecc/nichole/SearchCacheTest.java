@@ -0,0 +1,91 @@
+package com.ecc.nichole.service;
+
+import com.ecc.nichole.model.Board;
+import com.ecc.nichole.model.Cell;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+
+public class SearchCacheTest {
+
+    @Test
+    @DisplayName("Test cached results are served until the board is modified")
+    public void shouldInvalidateOnModification() {
+        RowService rowService = new RowService();
+        BoardService boardService = new BoardService(new CellService(), rowService, new FileService());
+        Board board = boardService.createBoard(rowService, 20, 5);
+        SearchCache searchCache = boardService.getSearchCache();
+
+        List<SearchMatch> first = boardService.findMatches(board, "a");
+        Assertions.assertEquals(first, boardService.findMatches(board, "a"), "Cached matches should equal the first result");
+        Assertions.assertEquals(1, searchCache.getHits(), "Second search should hit the cache");
+        Assertions.assertEquals(1, searchCache.getMisses(), "First search should miss the cache");
+
+        Cell cell = board.getRows().get(0).getCells().get(0);
+        cell.setKey("aaa");
+        cell.setValue("aaa");
+        board.markModified();
+
+        List<SearchMatch> afterEdit = boardService.findMatches(board, "a");
+        Assertions.assertEquals(2, searchCache.getMisses(), "Search after a modification should miss the cache");
+        Assertions.assertEquals(new BoardSearcher(1, 0).find(board, "a"), afterEdit, "Matches should reflect the edited cell");
+        Assertions.assertEquals(1, searchCache.getInvalidations(), "Result of the old version should be dropped");
+    }
+
+    @Test
+    @DisplayName("Test least recently used results are evicted first")
+    public void shouldEvictLeastRecentlyUsed() {
+        Board board = new Board();
+        SearchCache searchCache = new SearchCache(2, 100);
+        List<SearchMatch> matches = List.of(new SearchMatch(0, 0, 0, 0));
+
+        searchCache.put(board, "a", matches);
+        searchCache.put(board, "b", matches);
+        searchCache.get(board, "a");
+        searchCache.put(board, "c", matches);
+
+        Assertions.assertEquals(1, searchCache.getEvictions(), "One result should be evicted");
+        Assertions.assertNotNull(searchCache.get(board, "a"), "Recently used result should be kept");
+        Assertions.assertNull(searchCache.get(board, "b"), "Least recently used result should be evicted");
+    }
+
+    @Test
+    @DisplayName("Test cached results do not keep a replaced board in memory")
+    public void shouldReleaseCollectedBoards() throws InterruptedException {
+        SearchCache searchCache = new SearchCache(4, 100);
+        List<SearchMatch> matches = List.of(new SearchMatch(0, 0, 0, 0));
+        Board board = new Board();
+        searchCache.put(board, "a", matches);
+        WeakReference<Board> released = new WeakReference<>(board);
+        board = null;
+
+        for (int attempt = 0; attempt < 50 && released.get() != null; attempt++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        Assertions.assertNull(released.get(), "Cache should not keep the board reachable");
+
+        Board other = new Board();
+        searchCache.put(other, "a", matches);
+        for (int attempt = 0; attempt < 50 && searchCache.size() > 1; attempt++) {
+            Thread.sleep(10);
+            searchCache.get(other, "a");
+        }
+        Assertions.assertEquals(1, searchCache.size(), "Entries of the collected board should be dropped");
+    }
+
+    @Test
+    @DisplayName("Test results larger than the match limit are not cached")
+    public void shouldSkipOversizedResults() {
+        Board board = new Board();
+        SearchCache searchCache = new SearchCache(4, 1);
+
+        searchCache.put(board, "a", List.of(new SearchMatch(0, 0, 0, 0), new SearchMatch(0, 1, 0, 0)));
+
+        Assertions.assertEquals(0, searchCache.size(), "Oversized result should not be cached");
+    }
+}
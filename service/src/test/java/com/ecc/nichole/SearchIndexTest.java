@@ -0,0 +1,136 @@
+package com.ecc.nichole.service;
+
+import com.ecc.nichole.model.Board;
+import com.ecc.nichole.model.Cell;
+import com.ecc.nichole.model.MappedBoard;
+import com.ecc.nichole.model.Row;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+public class SearchIndexTest {
+
+    @TempDir
+    Path directory;
+
+    private Board board;
+
+    @BeforeEach
+    public void setUp() {
+        board = new Board();
+        List<Row> rows = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Row row = new Row();
+            row.addCell(createCell("abc", "aab"));
+            row.addCell(createCell("b" + i + "a", "cab"));
+            row.addCell(createCell("zzz", "aaa"));
+            rows.add(row);
+        }
+        board.setRows(rows);
+    }
+
+    private static Cell createCell(String key, String value) {
+        Cell cell = new Cell();
+        cell.setKey(key);
+        cell.setValue(value);
+        return cell;
+    }
+
+    private static List<SearchMatch> bruteForce(Board board, String stringToFind) {
+        List<SearchMatch> matches = new ArrayList<>();
+        for (int rowIndex = 0; rowIndex < board.getRowCount(); rowIndex++) {
+            List<Cell> cells = board.getRows().get(rowIndex).getCells();
+            for (int colIndex = 0; colIndex < cells.size(); colIndex++) {
+                String text = cells.get(colIndex).getKey() + cells.get(colIndex).getValue();
+                for (int start = text.indexOf(stringToFind); start != -1; start = text.indexOf(stringToFind, start + 1)) {
+                    matches.add(new SearchMatch(rowIndex, colIndex, start, start + stringToFind.length() - 1));
+                }
+            }
+        }
+        return matches;
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"a", "aa", "aaa", "ab", "b2a", "zza", "q", "cab"})
+    @DisplayName("Test index finds the same matches as a full scan")
+    public void shouldFindSameMatchesAsScan(String stringToFind) {
+        SearchIndex searchIndex = new SearchIndex(board);
+        Assertions.assertEquals(bruteForce(board, stringToFind), searchIndex.find(board, stringToFind), "Indexed matches should equal scanned matches");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"a", "aa", "xyz", "b1a", "new"})
+    @DisplayName("Test index stays correct after edits and inserted rows")
+    public void shouldFollowEditsAndInserts(String stringToFind) {
+        SearchIndex searchIndex = new SearchIndex(board);
+
+        Cell cell = board.getRows().get(1).getCells().get(0);
+        String oldText = cell.getKey() + cell.getValue();
+        cell.setValue("xyz");
+        searchIndex.cellChanged(board, 1, 0, oldText, cell.getKey() + cell.getValue());
+
+        Row newRow = new Row();
+        newRow.addCell(createCell("new", "aaa"));
+        board.getRows().add(2, newRow);
+        searchIndex.rowInserted(board, 2);
+        board.getRows().add(0, newRow);
+        searchIndex.rowInserted(board, 0);
+
+        Assertions.assertEquals(bruteForce(board, stringToFind), searchIndex.find(board, stringToFind), "Indexed matches should equal scanned matches");
+    }
+
+    @Test
+    @DisplayName("Test index follows moved rows")
+    public void shouldFollowMovedRows() {
+        SearchIndex searchIndex = new SearchIndex(board);
+
+        board.getRows().add(3, board.getRows().remove(0));
+        searchIndex.rowMoved(board, 0, 3);
+        board.getRows().add(1, board.getRows().remove(2));
+        searchIndex.rowMoved(board, 2, 1);
+
+        Assertions.assertEquals(bruteForce(board, "b0a"), searchIndex.find(board, "b0a"), "Indexed matches should equal scanned matches");
+        Assertions.assertEquals(bruteForce(board, "a"), searchIndex.find(board, "a"), "Indexed matches should equal scanned matches");
+    }
+
+    @Test
+    @DisplayName("Test index compacts itself after many edits")
+    public void shouldStayCorrectAfterRepeatedEdits() {
+        SearchIndex searchIndex = new SearchIndex(board);
+        Cell cell = board.getRows().get(0).getCells().get(2);
+        String[] values = {"abc", "zzz", "abc", "xaa", "aaa"};
+        for (int i = 0; i < 100; i++) {
+            String oldText = cell.getKey() + cell.getValue();
+            cell.setValue(values[i % values.length]);
+            searchIndex.cellChanged(board, 0, 2, oldText, cell.getKey() + cell.getValue());
+        }
+
+        Assertions.assertEquals(bruteForce(board, "a"), searchIndex.find(board, "a"), "Indexed matches should equal scanned matches");
+        Assertions.assertEquals(bruteForce(board, "zza"), searchIndex.find(board, "zza"), "Indexed matches should equal scanned matches");
+    }
+
+    @Test
+    @DisplayName("Test a board mapped from a binary file is indexed on its first search")
+    public void shouldIndexMappedBoardOnFirstSearch() {
+        String fileName = directory.resolve("board.bin").toString();
+        FileService fileService = new FileService();
+        fileService.saveBoardToBinaryFile(board, fileName);
+        BoardService boardService = new BoardService(new CellService(), new RowService(), fileService);
+
+        Board mapped = boardService.loadBoard(fileName);
+        Assertions.assertFalse(boardService.hasSearchIndex(mapped));
+
+        Assertions.assertEquals(bruteForce(board, "ab"), boardService.findMatches(mapped, "ab"));
+        Assertions.assertTrue(boardService.hasSearchIndex(mapped));
+        ((MappedBoard) mapped).close();
+    }
+}
@@ -0,0 +1,92 @@
+package com.ecc.nichole.service;
+
+import com.ecc.nichole.model.Board;
+import com.ecc.nichole.model.Cell;
+import com.ecc.nichole.model.Row;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public class WriteBehindSaverTest {
+
+    @TempDir
+    Path directory;
+
+    private static String formatBoard(Board board) {
+        StringBuilder text = new StringBuilder();
+        for (Row row : board.getRows()) {
+            text.append(FileService.formatRow(row)).append(System.lineSeparator());
+        }
+        return text.toString();
+    }
+
+    @Test
+    @DisplayName("Test a burst of saves ends with the latest board on disk")
+    public void shouldWriteLatestBoardAfterBurst() throws Exception {
+        String fileName = directory.resolve("board.txt").toString();
+        RowService rowService = new RowService();
+        Board board = new BoardService(new CellService(), rowService, new FileService()).createBoard(rowService, 2000, 10);
+
+        try (WriteBehindSaver saver = new WriteBehindSaver()) {
+            for (int i = 0; i < 200; i++) {
+                Cell cell = board.getRows().get(i).getCells().get(i % 10);
+                cell.setValue(String.format("%03d", i));
+                if (i % 50 == 0) {
+                    board.getRows().add(0, rowService.createRow(3));
+                }
+                board.markModified();
+                saver.save(board, fileName);
+            }
+            saver.flush();
+
+            Assertions.assertEquals(formatBoard(board), Files.readString(Path.of(fileName)), "File should hold the latest board");
+            Assertions.assertEquals(200, saver.getRequestedSaves(), "Every save should be counted");
+            Assertions.assertTrue(saver.getCompletedWrites() >= 1 && saver.getCompletedWrites() <= 200, "Saves should be combined into at most one write each");
+        }
+        try (var files = Files.list(directory)) {
+            Assertions.assertEquals(List.of(Path.of(fileName)), files.filter(file -> !file.toString().endsWith(BoardFileIndex.INDEX_SUFFIX)).toList(), "No temporary files should be left behind");
+        }
+    }
+
+    @Test
+    @DisplayName("Test a save writes the board as it was when saved, not as it is changed later")
+    public void shouldWriteBoardAsSaved() throws Exception {
+        String fileName = directory.resolve("board.txt").toString();
+        RowService rowService = new RowService();
+        Board board = new BoardService(new CellService(), rowService, new FileService()).createBoard(rowService, 20000, 10);
+
+        try (WriteBehindSaver saver = new WriteBehindSaver()) {
+            saver.save(board, fileName);
+            String saved = formatBoard(board);
+            for (Row row : board.getRows()) {
+                row.getCells().forEach(cell -> cell.setValue("zzz"));
+            }
+            saver.flush();
+
+            Assertions.assertEquals(saved, Files.readString(Path.of(fileName)), "File should hold the board as it was saved");
+        }
+    }
+
+    @Test
+    @DisplayName("Test write-behind mode saves in the background and flushes before loading")
+    public void shouldFlushBeforeLoading() {
+        String fileName = directory.resolve("board.txt").toString();
+        RowService rowService = new RowService();
+        FileService fileService = new FileService();
+        BoardService boardService = new BoardService(new CellService(), rowService, fileService);
+        Board board = boardService.createBoard(rowService, 50, 4);
+
+        fileService.setWriteBehind(true);
+        boardService.editCells(board, List.of(CellEdit.set(3, 2, "abc")), fileName);
+        Board loaded = fileService.loadBoardFromTextFile(fileName);
+        fileService.setWriteBehind(false);
+
+        Assertions.assertEquals(formatBoard(board), formatBoard(loaded), "Loaded board should include the queued save");
+    }
+}
@@ -1,6 +1,8 @@
 package com.ecc.nichole.util;
 
+import java.util.ArrayList;
 import java.util.InputMismatchException;
+import java.util.List;
 import java.util.Scanner;
 import org.apache.commons.lang3.StringUtils;
 
@@ -9,6 +11,17 @@ import org.apache.commons.lang3.StringUtils;
  */
 public class Utils {
     public static Scanner scanner = new Scanner(System.in);
+    private static final List<Runnable> terminationHooks = new ArrayList<>();
+
+    /**
+     * Registers an action to run when the application terminates, such as writing out pending
+     * changes. Hooks run in the order they were added.
+     * 
+     * @param hook the action to run on termination
+     */
+    public static synchronized void addTerminationHook(Runnable hook) {
+        terminationHooks.add(hook);
+    }
 
     /**
      * Prompts the user for a string input.
@@ -102,11 +115,55 @@ public class Utils {
     }
 
     /**
-     * Closes the scanner and terminates the application.
+     * Prompts the user for a list of strings separated by the given separator and ensures each one
+     * meets the length constraints. Empty entries are ignored.
+     * 
+     * @param prompt the message to display to the user
+     * @param separator the string separating the entries
+     * @param minLength the minimum required length for each entry
+     * @param maxLength the maximum allowed length for each entry
+     * @return the validated entries entered by the user
+     */
+    public static List<String> getValidatedStringList(String prompt, String separator, int minLength, int maxLength) {
+        List<String> entries = new ArrayList<>();
+        boolean valid = false;
+
+        while (!valid) {
+            entries.clear();
+            valid = true;
+            for (String entry : StringUtils.splitByWholeSeparator(getStringInput(prompt), separator)) {
+                if (entry.isEmpty()) {
+                    continue;
+                }
+                if (entry.length() < minLength || entry.length() > maxLength) {
+                    System.out.println("Each entry must be between " + minLength + " and " + maxLength + " characters: '" + entry + "'");
+                    valid = false;
+                    break;
+                }
+                entries.add(entry);
+            }
+            if (valid && entries.isEmpty()) {
+                System.out.println("Enter at least one entry.");
+                valid = false;
+            }
+        }
+
+        return entries;
+    }
+
+    /**
+     * Runs the termination hooks, closes the scanner and terminates the application.
      * 
      * @return true if termination is successful
      */
     public static boolean terminate() {
+        List<Runnable> hooks;
+        synchronized (Utils.class) {
+            hooks = new ArrayList<>(terminationHooks);
+        }
+        for (Runnable hook : hooks) {
+            hook.run();
+        }
         scanner.close();
         return true;
     }